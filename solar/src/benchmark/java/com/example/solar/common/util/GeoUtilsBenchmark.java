@@ -0,0 +1,109 @@
+package com.example.solar.common.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+  Distance kernels over candidateCount professionals around one job in Lagos:
+  scalar Haversine, the distance score, the batch kernel and the box + approximation prefilter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeoUtilsBenchmark {
+
+    private static final double JOB_LATITUDE = 6.5244;
+    private static final double JOB_LONGITUDE = 3.3792;
+
+    @Param({"1000", "10000", "100000"})
+    public int candidateCount;
+
+    private double[] latitudes;
+    private double[] longitudes;
+    private int[] radii;
+    private double[] lonHalfWidths;
+    private double[] distances;
+    private GeoUtils.DistanceQuery query;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        latitudes = new double[candidateCount];
+        longitudes = new double[candidateCount];
+        radii = new int[candidateCount];
+        lonHalfWidths = new double[candidateCount];
+        distances = new double[candidateCount];
+        for (int i = 0; i < candidateCount; i++) {
+            // Spread over roughly +/-2 degrees, so some candidates are in range and most are not
+            latitudes[i] = JOB_LATITUDE + (random.nextDouble() - 0.5) * 4.0;
+            longitudes[i] = JOB_LONGITUDE + (random.nextDouble() - 0.5) * 4.0;
+            radii[i] = 20 + random.nextInt(80);
+            lonHalfWidths[i] = GeoUtils.longitudeHalfWidth(latitudes[i], radii[i]);
+        }
+        query = GeoUtils.distanceQuery(JOB_LATITUDE, JOB_LONGITUDE);
+    }
+
+    @Benchmark
+    public double haversine() {
+        double sum = 0.0;
+        for (int i = 0; i < candidateCount; i++) {
+            sum += GeoUtils.calculateDistance(latitudes[i], longitudes[i], JOB_LATITUDE, JOB_LONGITUDE);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double haversineAndDistanceScore() {
+        double sum = 0.0;
+        for (int i = 0; i < candidateCount; i++) {
+            double distanceKm = GeoUtils.calculateDistance(latitudes[i], longitudes[i], JOB_LATITUDE, JOB_LONGITUDE);
+            sum += GeoUtils.calculateDistanceScore(distanceKm, radii[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double[] batchDistances() {
+        GeoUtils.calculateDistances(JOB_LATITUDE, JOB_LONGITUDE, latitudes, longitudes, distances, candidateCount);
+        return distances;
+    }
+
+    @Benchmark
+    public double[] batchDistancesScalar() {
+        GeoUtils.calculateDistancesScalar(JOB_LATITUDE, JOB_LONGITUDE, latitudes, longitudes, distances, candidateCount);
+        return distances;
+    }
+
+    @Benchmark
+    public int boxAndApproximationCoverage() {
+        int covered = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            if (!GeoUtils.withinBox(latitudes[i], longitudes[i], JOB_LATITUDE, JOB_LONGITUDE,
+                    GeoUtils.latitudeHalfHeight(radii[i]), lonHalfWidths[i])) {
+                continue;
+            }
+            double approximateKm = query.approximateDistance(latitudes[i], longitudes[i]);
+            double errorKm = query.approximationError(approximateKm);
+            if (approximateKm + errorKm <= radii[i]
+                    || (approximateKm - errorKm <= radii[i] && query.distance(latitudes[i], longitudes[i]) <= radii[i])) {
+                covered++;
+            }
+        }
+        return covered;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.solar.dataset;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+  Writes one table as CSV in the format Postgres COPY ... (FORMAT csv, HEADER true) reads:
+  nulls are empty unquoted fields, and text containing separators or quotes is quoted
+ */
+final class CsvTableWriter implements AutoCloseable {
+
+    private final String table;
+    private final String[] columns;
+    private final Path file;
+    private final BufferedWriter writer;
+    private final StringBuilder line = new StringBuilder(256);
+    private int fieldsInLine = 0;
+    private long rows = 0;
+
+    CsvTableWriter(Path directory, String table, String... columns) throws IOException {
+        this.table = table;
+        this.columns = columns;
+        this.file = directory.resolve(table + ".csv");
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        writer.write(String.join(",", columns));
+        writer.write('\n');
+    }
+
+    String table() {
+        return table;
+    }
+
+    String[] columns() {
+        return columns;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    CsvTableWriter value(Object value) {
+        if (fieldsInLine++ > 0) {
+            line.append(',');
+        }
+        if (value == null) {
+            return this;
+        }
+        String text = value.toString();
+        if (value instanceof CharSequence && needsQuotes(text)) {
+            line.append('"').append(text.replace("\"", "\"\"")).append('"');
+        } else {
+            line.append(text);
+        }
+        return this;
+    }
+
+    CsvTableWriter value(long value) {
+        if (fieldsInLine++ > 0) {
+            line.append(',');
+        }
+        line.append(value);
+        return this;
+    }
+
+    void endRow() throws IOException {
+        if (fieldsInLine != columns.length) {
+            throw new IllegalStateException(table + ": expected " + columns.length + " values, got " + fieldsInLine);
+        }
+        line.append('\n');
+        writer.append(line);
+        line.setLength(0);
+        fieldsInLine = 0;
+        rows++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static boolean needsQuotes(String text) {
+        if (text.isEmpty()) {
+            return true; // Empty string, not null
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.solar.dataset;
+
+import com.example.solar.job.domain.JobType;
+import com.example.solar.matching.service.CandidateSnapshot;
+import com.example.solar.matching.service.JobScoringContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+  Reads a dataset dumped by SyntheticDatasetGenerator back into scoring inputs, so benchmarks
+  can run against production-sized data without a database
+ */
+public final class DatasetFiles {
+
+    private DatasetFiles() {
+    }
+
+    /*
+      One snapshot row per professional, with their expertise and availability
+     */
+    public static List<CandidateSnapshot.Row> readSnapshotRows(Path directory) throws IOException {
+        Map<Long, CandidateSnapshot.Row> rows = new LinkedHashMap<>();
+        forEachRecord(directory.resolve("professionals.csv"), record -> {
+            long id = Long.parseLong(record.get("id"));
+            rows.put(id, new CandidateSnapshot.Row(id).profile(
+                    decimal(record.get("latitude")), decimal(record.get("longitude")),
+                    Integer.valueOf(record.get("service_radius_km")), decimal(record.get("hourly_rate")),
+                    decimal(record.get("rating")), Integer.valueOf(record.get("total_jobs_completed")),
+                    Boolean.valueOf(record.get("is_verified"))));
+        });
+        forEachRecord(directory.resolve("professional_expertise.csv"), record -> {
+            CandidateSnapshot.Row row = rows.get(Long.parseLong(record.get("professional_id")));
+            if (row != null) {
+                row.addExpertise(record.get("expertise_type"), Integer.valueOf(record.get("years_experience")),
+                        record.get("certification_name"));
+            }
+        });
+        forEachRecord(directory.resolve("availability_slots.csv"), record -> {
+            CandidateSnapshot.Row row = rows.get(Long.parseLong(record.get("professional_id")));
+            if (row != null) {
+                row.addSlot(LocalDate.parse(record.get("date")), Boolean.valueOf(record.get("is_booked")));
+            }
+        });
+        return new ArrayList<>(rows.values());
+    }
+
+    /*
+      Scoring contexts of up to limit jobs with the given status, in file order
+     */
+    public static List<JobScoringContext> readJobs(Path directory, String status, int limit) throws IOException {
+        List<JobScoringContext> jobs = new ArrayList<>();
+        forEachRecord(directory.resolve("jobs.csv"), record -> {
+            if (jobs.size() >= limit || !status.equals(record.get("status"))) {
+                return;
+            }
+            LocalDate preferredDate = record.get("preferred_date") != null
+                    ? LocalDate.parse(record.get("preferred_date"))
+                    : null;
+            jobs.add(new JobScoringContext(
+                    Long.parseLong(record.get("id")),
+                    Double.parseDouble(record.get("latitude")),
+                    Double.parseDouble(record.get("longitude")),
+                    JobType.valueOf(record.get("job_type")),
+                    preferredDate,
+                    preferredDate != null ? preferredDate.toEpochDay() : 0L,
+                    record.get("budget_max") != null ? Double.parseDouble(record.get("budget_max")) : Double.NaN));
+        });
+        return jobs;
+    }
+
+    private static BigDecimal decimal(String value) {
+        return value != null ? new BigDecimal(value) : null;
+    }
+
+    private static void forEachRecord(Path file, RecordConsumer consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return;
+            }
+            List<String> columns = parse(header);
+            Map<String, String> record = new HashMap<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                List<String> values = parse(line);
+                for (int i = 0; i < columns.size(); i++) {
+                    record.put(columns.get(i), i < values.size() ? values.get(i) : null);
+                }
+                consumer.accept(record);
+            }
+        }
+    }
+
+    /*
+      Splits one CSV line as written by CsvTableWriter: empty unquoted fields are null
+     */
+    private static List<String> parse(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                values.add(value.length() == 0 && !wasQuoted ? null : value.toString());
+                value.setLength(0);
+                wasQuoted = false;
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.length() == 0 && !wasQuoted ? null : value.toString());
+        return values;
+    }
+
+    @FunctionalInterface
+    private interface RecordConsumer {
+        void accept(Map<String, String> record) throws IOException;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.solar.dataset;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/*
+  Streams generated CSV files into Postgres with COPY FROM STDIN, in foreign key order and in
+  one transaction, then moves each table's id sequence past the loaded ids
+ */
+@Slf4j
+final class PostgresBulkLoader {
+
+    private final String jdbcUrl;
+    private final String user;
+    private final String password;
+
+    PostgresBulkLoader(String jdbcUrl, String user, String password) {
+        this.jdbcUrl = jdbcUrl;
+        this.user = user;
+        this.password = password;
+    }
+
+    /*
+      Highest id already in each table, so generated ids can start after existing data
+     */
+    long maxId(String table) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, user, password);
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    void load(List<CsvTableWriter> tables) throws SQLException, IOException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, user, password)) {
+            connection.setAutoCommit(false);
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            for (CsvTableWriter table : tables) {
+                long started = System.nanoTime();
+                String sql = "COPY " + table.table() + " (" + String.join(", ", table.columns())
+                        + ") FROM STDIN WITH (FORMAT csv, HEADER true)";
+                long rows;
+                try (Reader reader = Files.newBufferedReader(table.file(), StandardCharsets.UTF_8)) {
+                    rows = copyManager.copyIn(sql, reader, 1 << 16);
+                }
+                log.info("Loaded {} rows into {} in {} ms", rows, table.table(), (System.nanoTime() - started) / 1_000_000);
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                for (CsvTableWriter table : tables) {
+                    statement.execute("SELECT setval(pg_get_serial_sequence('" + table.table() + "', 'id'), "
+                            + "(SELECT COALESCE(MAX(id), 1) FROM " + table.table() + "))");
+                }
+            }
+            connection.commit();
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package com.example.solar.dataset;
+
+import com.example.solar.common.util.GeoUtils;
+import com.example.solar.job.domain.JobStatus;
+import com.example.solar.job.domain.JobType;
+import com.example.solar.job.domain.PropertyType;
+import com.example.solar.job.domain.UrgencyLevel;
+import com.example.solar.matching.domain.MatchStatus;
+import com.example.solar.professional.domain.ExpertiseType;
+import com.example.solar.quote.domain.QuoteStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/*
+  Generates a synthetic marketplace (customers, professionals with expertise and availability,
+  jobs with requirements, matches and quotes) as one CSV file per table, optionally bulk
+  loading the files into Postgres with COPY.
+
+  Locations cluster around Nigerian metro hotspots with a rural tail, expertise follows job
+  demand, ratings skew high with a tail of new professionals, and availability is dense over
+  the coming weeks. Each table draws from its own random stream split from --seed, so a seed
+  and --start-date always produce identical files.
+
+  Usage (see the benchmark profile in pom.xml):
+    --seed=42 --customers=200000 --professionals=100000 --jobs=500000
+    --availability-days=60 --start-date=2026-11-01 --out=target/dataset
+    [--jdbc-url=jdbc:postgresql://localhost:5432/solar --db-user=... --db-password=...]
+ */
+@Slf4j
+public final class SyntheticDatasetGenerator {
+
+    private static final double RURAL_SHARE = 0.12;
+    private static final double NIGERIA_MIN_LAT = 4.3;
+    private static final double NIGERIA_MAX_LAT = 13.9;
+    private static final double NIGERIA_MIN_LON = 2.7;
+    private static final double NIGERIA_MAX_LON = 14.6;
+
+    private static final List<Metro> METROS = List.of(
+            new Metro("Lagos", 6.5244, 3.3792, 0.30, 25),
+            new Metro("Abuja", 9.0765, 7.3986, 0.14, 20),
+            new Metro("Kano", 12.0022, 8.5920, 0.10, 15),
+            new Metro("Ibadan", 7.3775, 3.9470, 0.08, 15),
+            new Metro("Port Harcourt", 4.8156, 7.0498, 0.08, 15),
+            new Metro("Benin City", 6.3350, 5.6037, 0.05, 12),
+            new Metro("Kaduna", 10.5105, 7.4165, 0.05, 12),
+            new Metro("Enugu", 6.4584, 7.5464, 0.05, 12),
+            new Metro("Onitsha", 6.1450, 6.7850, 0.03, 10));
+
+    // Demand per job type; professionals' primary expertise follows the same mix
+    private static final JobType[] JOB_TYPES = {
+            JobType.INSTALLATION, JobType.MAINTENANCE, JobType.REPAIR,
+            JobType.BATTERY_SETUP, JobType.INSPECTION, JobType.UPGRADE};
+    private static final double[] JOB_TYPE_WEIGHTS = {0.35, 0.20, 0.18, 0.12, 0.08, 0.07};
+
+    private static final JobStatus[] JOB_STATUSES = {
+            JobStatus.PENDING, JobStatus.MATCHED, JobStatus.QUOTED, JobStatus.ASSIGNED,
+            JobStatus.IN_PROGRESS, JobStatus.COMPLETED, JobStatus.CANCELLED};
+    private static final double[] JOB_STATUS_WEIGHTS = {0.35, 0.25, 0.10, 0.08, 0.07, 0.12, 0.03};
+
+    private static final UrgencyLevel[] URGENCY_LEVELS = {
+            UrgencyLevel.LOW, UrgencyLevel.NORMAL, UrgencyLevel.HIGH, UrgencyLevel.URGENT};
+    private static final double[] URGENCY_WEIGHTS = {0.20, 0.55, 0.18, 0.07};
+
+    private static final String[] PANEL_TYPES = {"Monocrystalline", "Polycrystalline", "Thin-film"};
+    private static final String[] ROOF_TYPES = {"Metal", "Concrete", "Tile", "Asbestos"};
+    private static final String[] CERTIFICATIONS = {"NABCEP", "NEMSA", "COREN", "IEC 62446"};
+    private static final String[] STREETS = {
+            "Allen Avenue", "Adeola Odeku Street", "Aminu Kano Crescent", "Ahmadu Bello Way",
+            "Ring Road", "Airport Road", "Independence Avenue", "Market Road"};
+
+    private final Options options;
+    private final Map<String, Long> firstIds = new HashMap<>();
+
+    // Professionals grouped by nearest metro, for picking plausible match candidates
+    private long[][] professionalsByMetro;
+    private int[] professionalsInMetro;
+    private double[] professionalLatitudes;
+    private double[] professionalLongitudes;
+
+    private SyntheticDatasetGenerator(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        new SyntheticDatasetGenerator(options).run();
+    }
+
+    private void run() throws Exception {
+        Files.createDirectories(options.out);
+        PostgresBulkLoader loader = options.jdbcUrl != null
+                ? new PostgresBulkLoader(options.jdbcUrl, options.dbUser, options.dbPassword)
+                : null;
+        for (String table : List.of("customers", "professionals", "professional_expertise",
+                "availability_slots", "jobs", "job_requirements", "matches", "quotes")) {
+            // Start after existing rows when loading, so foreign keys in the files stay valid
+            firstIds.put(table, loader != null ? loader.maxId(table) + 1 : 1L);
+        }
+
+        long started = System.nanoTime();
+        try (CsvTableWriter customers = new CsvTableWriter(options.out, "customers",
+                "id", "user_id", "name", "email", "phone", "address", "latitude", "longitude",
+                "created_at", "updated_at");
+             CsvTableWriter professionals = new CsvTableWriter(options.out, "professionals",
+                     "id", "user_id", "company_name", "email", "phone", "address", "latitude", "longitude",
+                     "service_radius_km", "hourly_rate", "years_experience", "rating", "total_jobs_completed",
+                     "is_verified", "created_at", "updated_at");
+             CsvTableWriter expertise = new CsvTableWriter(options.out, "professional_expertise",
+                     "id", "professional_id", "expertise_type", "years_experience", "certification_name",
+                     "created_at");
+             CsvTableWriter slots = new CsvTableWriter(options.out, "availability_slots",
+                     "id", "professional_id", "date", "start_time", "end_time", "is_booked", "created_at");
+             CsvTableWriter jobs = new CsvTableWriter(options.out, "jobs",
+                     "id", "customer_id", "job_type", "title", "description", "status", "latitude", "longitude",
+                     "preferred_date", "urgency_level", "budget_min", "budget_max", "created_at", "updated_at");
+             CsvTableWriter requirements = new CsvTableWriter(options.out, "job_requirements",
+                     "id", "job_id", "panel_type", "panel_capacity_kw", "battery_required", "battery_capacity_kwh",
+                     "property_type", "roof_type", "additional_notes", "created_at");
+             CsvTableWriter matches = new CsvTableWriter(options.out, "matches",
+                     "id", "job_id", "professional_id", "match_score", "distance_km", "expertise_score",
+                     "availability_score", "rating_score", "price_score", "status", "created_at");
+             CsvTableWriter quotes = new CsvTableWriter(options.out, "quotes",
+                     "id", "job_id", "professional_id", "match_id", "amount", "estimated_hours", "materials_cost",
+                     "labor_cost", "details", "valid_until", "status", "submitted_at", "updated_at")) {
+
+            double[][] customerLocations = writeCustomers(customers);
+            writeProfessionals(professionals, expertise, slots);
+            writeJobs(customerLocations, jobs, requirements, matches, quotes);
+
+            List<CsvTableWriter> tables = List.of(
+                    customers, professionals, expertise, slots, jobs, requirements, matches, quotes);
+            for (CsvTableWriter table : tables) {
+                table.close();
+            }
+            writeManifest(tables);
+            log.info("Generated dataset in {} in {} s", options.out, (System.nanoTime() - started) / 1_000_000_000);
+
+            if (loader != null) {
+                loader.load(tables);
+            }
+        }
+    }
+
+    private double[][] writeCustomers(CsvTableWriter out) throws IOException {
+        SplittableRandom random = stream("customers");
+        long firstId = firstIds.get("customers");
+        double[][] locations = new double[options.customers][];
+        for (int i = 0; i < options.customers; i++) {
+            long id = firstId + i;
+            double[] location = location(random);
+            locations[i] = location;
+            LocalDateTime createdAt = pastTimestamp(random, 720);
+            out.value(id).value(uuid(random)).value("Customer " + id).value("customer" + id + "@seed.example.com")
+                    .value(phone(random)).value(address(random)).value(coordinate(location[0]))
+                    .value(coordinate(location[1])).value(createdAt).value(createdAt);
+            out.endRow();
+        }
+        return locations;
+    }
+
+    private void writeProfessionals(CsvTableWriter out, CsvTableWriter expertiseOut, CsvTableWriter slotsOut)
+            throws IOException {
+        SplittableRandom random = stream("professionals");
+        long firstId = firstIds.get("professionals");
+        long expertiseId = firstIds.get("professional_expertise");
+        long slotId = firstIds.get("availability_slots");
+        ExpertiseType[] expertiseTypes = ExpertiseType.values();
+
+        professionalsByMetro = new long[METROS.size()][16];
+        professionalsInMetro = new int[METROS.size()];
+        professionalLatitudes = new double[options.professionals];
+        professionalLongitudes = new double[options.professionals];
+
+        for (int i = 0; i < options.professionals; i++) {
+            long id = firstId + i;
+            double[] location = location(random);
+            professionalLatitudes[i] = location[0];
+            professionalLongitudes[i] = location[1];
+            addToMetro(nearestMetro(location[0], location[1]), id);
+
+            // Ratings skew towards 4-5 stars; about one in seven has no completed jobs yet
+            boolean isNew = random.nextDouble() < 0.15;
+            double rating = isNew ? 0.0 : Math.max(1.0, Math.min(5.0, 4.9 - Math.abs(random.nextGaussian()) * 0.7));
+            int jobsCompleted = isNew ? 0 : 1 + (int) Math.min(400, Math.abs(random.nextGaussian()) * 40);
+            int yearsExperience = isNew ? random.nextInt(3) : 1 + random.nextInt(20);
+            LocalDateTime createdAt = pastTimestamp(random, 1080);
+
+            out.value(id).value(uuid(random)).value("Solar Pro " + id).value("pro" + id + "@seed.example.com")
+                    .value(phone(random)).value(address(random)).value(coordinate(location[0]))
+                    .value(coordinate(location[1])).value(20 + 5 * random.nextInt(17))
+                    .value(fixed(25 + random.nextInt(176), 2)).value(yearsExperience).value(fixed(rating, 2))
+                    .value(jobsCompleted).value(random.nextDouble() < 0.7).value(createdAt).value(createdAt);
+            out.endRow();
+
+            // Primary expertise follows job demand, plus up to three secondary skills
+            int primary = pick(random, JOB_TYPE_WEIGHTS);
+            int mask = 1 << expertiseFor(JOB_TYPES[primary]).ordinal();
+            int extra = random.nextInt(4);
+            for (int e = 0; e < extra; e++) {
+                mask |= 1 << random.nextInt(expertiseTypes.length);
+            }
+            for (ExpertiseType type : expertiseTypes) {
+                if ((mask & (1 << type.ordinal())) == 0) {
+                    continue;
+                }
+                expertiseOut.value(expertiseId++).value(id).value(type.name())
+                        .value(random.nextInt(yearsExperience + 1))
+                        .value(random.nextDouble() < 0.35 ? CERTIFICATIONS[random.nextInt(CERTIFICATIONS.length)] : null)
+                        .value(createdAt);
+                expertiseOut.endRow();
+            }
+
+            // Dense availability over the coming weeks, a quarter of it already booked
+            double density = 0.45 + random.nextDouble() * 0.45;
+            for (int day = 0; day < options.availabilityDays; day++) {
+                if (random.nextDouble() >= density) {
+                    continue;
+                }
+                int startHour = 7 + random.nextInt(4);
+                slotsOut.value(slotId++).value(id).value(options.startDate.plusDays(day))
+                        .value(LocalTime.of(startHour, 0)).value(LocalTime.of(startHour + 8, 0))
+                        .value(random.nextDouble() < 0.25).value(createdAt);
+                slotsOut.endRow();
+            }
+        }
+    }
+
+    private void writeJobs(double[][] customerLocations, CsvTableWriter out, CsvTableWriter requirementsOut,
+                           CsvTableWriter matchesOut, CsvTableWriter quotesOut) throws IOException {
+        SplittableRandom random = stream("jobs");
+        long firstId = firstIds.get("jobs");
+        long firstCustomerId = firstIds.get("customers");
+        long requirementId = firstIds.get("job_requirements");
+        long matchId = firstIds.get("matches");
+        long quoteId = firstIds.get("quotes");
+        long firstProfessionalId = firstIds.get("professionals");
+
+        int jobCount = options.customers > 0 ? options.jobs : 0; // Every job needs a customer
+        for (int i = 0; i < jobCount; i++) {
+            long id = firstId + i;
+            int customer = random.nextInt(options.customers);
+            // Jobs sit at or near the customer's address
+            double latitude = customerLocations[customer][0] + random.nextGaussian() * 0.005;
+            double longitude = customerLocations[customer][1] + random.nextGaussian() * 0.005;
+            JobType jobType = JOB_TYPES[pick(random, JOB_TYPE_WEIGHTS)];
+            JobStatus status = JOB_STATUSES[pick(random, JOB_STATUS_WEIGHTS)];
+            double budgetMax = 500 + Math.exp(random.nextGaussian() * 0.8 + 7.5);
+            LocalDateTime createdAt = pastTimestamp(random, 90);
+
+            out.value(id).value(firstCustomerId + customer).value(jobType.name())
+                    .value(title(jobType)).value("Synthetic " + jobType.name().toLowerCase() + " request")
+                    .value(status.name()).value(coordinate(latitude)).value(coordinate(longitude))
+                    .value(random.nextDouble() < 0.8 ? options.startDate.plusDays(random.nextInt(45)) : null)
+                    .value(URGENCY_LEVELS[pick(random, URGENCY_WEIGHTS)].name())
+                    .value(fixed(budgetMax * 0.6, 2)).value(fixed(budgetMax, 2))
+                    .value(createdAt).value(createdAt);
+            out.endRow();
+
+            if (random.nextDouble() < 0.7) {
+                boolean battery = jobType == JobType.BATTERY_SETUP || random.nextDouble() < 0.3;
+                requirementsOut.value(requirementId++).value(id)
+                        .value(PANEL_TYPES[random.nextInt(PANEL_TYPES.length)])
+                        .value(fixed(1 + random.nextDouble() * 49, 2)).value(battery)
+                        .value(battery ? fixed(2 + random.nextDouble() * 40, 2) : null)
+                        .value(PropertyType.values()[random.nextInt(PropertyType.values().length)].name())
+                        .value(ROOF_TYPES[random.nextInt(ROOF_TYPES.length)]).value(null).value(createdAt);
+                requirementsOut.endRow();
+            }
+
+            if (status == JobStatus.PENDING || status == JobStatus.CANCELLED || options.professionals == 0) {
+                continue;
+            }
+
+            // Matches come from professionals registered around the same metro
+            int metro = nearestMetro(latitude, longitude);
+            int pool = professionalsInMetro[metro];
+            int matchCount = Math.min(pool, 3 + random.nextInt(8));
+            long[] matched = new long[matchCount];
+            long[] matchIds = new long[matchCount];
+            int taken = 0;
+            for (int attempt = 0; taken < matchCount && attempt < matchCount * 4; attempt++) {
+                long professionalId = professionalsByMetro[metro][random.nextInt(pool)];
+                if (contains(matched, taken, professionalId)) {
+                    continue;
+                }
+                int index = (int) (professionalId - firstProfessionalId);
+                double distanceKm = Math.min(9999.99, GeoUtils.calculateDistance(
+                        professionalLatitudes[index], professionalLongitudes[index], latitude, longitude));
+                double distanceScore = Math.max(0, 100 - distanceKm);
+                double expertiseScore = 25 + random.nextInt(76);
+                double availabilityScore = random.nextInt(101);
+                double ratingScore = 40 + random.nextInt(61);
+                double priceScore = 50 + random.nextInt(51);
+                double total = distanceScore * 0.3 + expertiseScore * 0.25 + availabilityScore * 0.2
+                        + ratingScore * 0.15 + priceScore * 0.1;
+
+                matchesOut.value(matchId).value(id).value(professionalId).value(fixed(total, 2))
+                        .value(fixed(distanceKm, 2)).value(fixed(expertiseScore, 2))
+                        .value(fixed(availabilityScore, 2)).value(fixed(ratingScore, 2)).value(fixed(priceScore, 2))
+                        .value(status == JobStatus.MATCHED ? MatchStatus.SUGGESTED.name() : MatchStatus.CONTACTED.name())
+                        .value(createdAt.plusHours(1));
+                matchesOut.endRow();
+                matched[taken] = professionalId;
+                matchIds[taken] = matchId++;
+                taken++;
+            }
+
+            if (status == JobStatus.MATCHED) {
+                continue;
+            }
+            boolean awarded = status != JobStatus.QUOTED;
+            int quoteCount = Math.min(taken, 1 + random.nextInt(3));
+            for (int q = 0; q < quoteCount; q++) {
+                double labor = budgetMax * (0.2 + random.nextDouble() * 0.3);
+                double materials = budgetMax * (0.3 + random.nextDouble() * 0.4);
+                LocalDateTime submittedAt = createdAt.plusHours(6 + random.nextInt(72));
+                QuoteStatus quoteStatus = !awarded ? QuoteStatus.PENDING
+                        : q == 0 ? QuoteStatus.ACCEPTED : QuoteStatus.REJECTED;
+                quotesOut.value(quoteId++).value(id).value(matched[q]).value(matchIds[q])
+                        .value(fixed(labor + materials, 2)).value(4 + random.nextInt(60))
+                        .value(fixed(materials, 2)).value(fixed(labor, 2)).value(null)
+                        .value(submittedAt.plusDays(14)).value(quoteStatus.name())
+                        .value(submittedAt).value(submittedAt);
+                quotesOut.endRow();
+            }
+        }
+    }
+
+    private void writeManifest(List<CsvTableWriter> tables) throws IOException {
+        // Written by hand rather than with Properties.store, which adds a timestamp
+        try (Writer writer = Files.newBufferedWriter(options.out.resolve("manifest.properties"), StandardCharsets.UTF_8)) {
+            writer.write("seed=" + options.seed + "\n");
+            writer.write("start-date=" + options.startDate + "\n");
+            writer.write("availability-days=" + options.availabilityDays + "\n");
+            for (CsvTableWriter table : tables) {
+                writer.write(table.table() + ".rows=" + table.rows() + "\n");
+                writer.write(table.table() + ".first-id=" + firstIds.get(table.table()) + "\n");
+            }
+        }
+    }
+
+    /*
+      Independent stream per table: changing one table's size never shifts another's values
+     */
+    private SplittableRandom stream(String table) {
+        return new SplittableRandom(options.seed * 31 + table.hashCode());
+    }
+
+    /*
+      A point around a weighted metro (normal spread) or, for the rural share, anywhere in the country
+     */
+    private static double[] location(SplittableRandom random) {
+        if (random.nextDouble() < RURAL_SHARE) {
+            return new double[]{
+                    NIGERIA_MIN_LAT + random.nextDouble() * (NIGERIA_MAX_LAT - NIGERIA_MIN_LAT),
+                    NIGERIA_MIN_LON + random.nextDouble() * (NIGERIA_MAX_LON - NIGERIA_MIN_LON)};
+        }
+        double target = random.nextDouble() * (1.0 - RURAL_SHARE);
+        Metro metro = METROS.get(METROS.size() - 1);
+        double cumulative = 0.0;
+        for (Metro candidate : METROS) {
+            cumulative += candidate.weight();
+            if (target < cumulative) {
+                metro = candidate;
+                break;
+            }
+        }
+        double degreesPerKm = GeoUtils.latitudeHalfHeight(1.0);
+        return new double[]{
+                metro.latitude() + random.nextGaussian() * metro.spreadKm() * degreesPerKm,
+                metro.longitude() + random.nextGaussian() * metro.spreadKm() * degreesPerKm};
+    }
+
+    private static int nearestMetro(double latitude, double longitude) {
+        int nearest = 0;
+        double best = Double.MAX_VALUE;
+        for (int m = 0; m < METROS.size(); m++) {
+            double dLat = METROS.get(m).latitude() - latitude;
+            double dLon = METROS.get(m).longitude() - longitude;
+            double distance = dLat * dLat + dLon * dLon;
+            if (distance < best) {
+                best = distance;
+                nearest = m;
+            }
+        }
+        return nearest;
+    }
+
+    private void addToMetro(int metro, long professionalId) {
+        if (professionalsInMetro[metro] == professionalsByMetro[metro].length) {
+            professionalsByMetro[metro] = Arrays.copyOf(professionalsByMetro[metro],
+                    professionalsByMetro[metro].length * 2);
+        }
+        professionalsByMetro[metro][professionalsInMetro[metro]++] = professionalId;
+    }
+
+    private static ExpertiseType expertiseFor(JobType jobType) {
+        return jobType == JobType.INSTALLATION ? ExpertiseType.PANEL_INSTALLATION : ExpertiseType.valueOf(jobType.name());
+    }
+
+    private static int pick(SplittableRandom random, double[] weights) {
+        double target = random.nextDouble();
+        double cumulative = 0.0;
+        for (int i = 0; i < weights.length; i++) {
+            cumulative += weights[i];
+            if (target < cumulative) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static boolean contains(long[] values, int count, long value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private LocalDateTime pastTimestamp(SplittableRandom random, int maxDaysAgo) {
+        return options.startDate.atStartOfDay()
+                .minusDays(random.nextInt(maxDaysAgo + 1))
+                .plusMinutes(random.nextInt(24 * 60));
+    }
+
+    private static UUID uuid(SplittableRandom random) {
+        return new UUID((random.nextLong() & ~0xF000L) | 0x4000L,
+                (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L);
+    }
+
+    private static String phone(SplittableRandom random) {
+        return "+23480" + (10_000_000 + random.nextInt(90_000_000));
+    }
+
+    private static String address(SplittableRandom random) {
+        return (1 + random.nextInt(200)) + " " + STREETS[random.nextInt(STREETS.length)];
+    }
+
+    private static String title(JobType jobType) {
+        return switch (jobType) {
+            case INSTALLATION -> "Rooftop solar installation";
+            case REPAIR -> "Inverter repair";
+            case MAINTENANCE -> "Panel cleaning and maintenance";
+            case BATTERY_SETUP -> "Battery bank setup";
+            case INSPECTION -> "System inspection";
+            case UPGRADE -> "Capacity upgrade";
+        };
+    }
+
+    private static String coordinate(double degrees) {
+        return fixed(degrees, 8);
+    }
+
+    private static String fixed(double value, int scale) {
+        return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private record Metro(String name, double latitude, double longitude, double weight, double spreadKm) {
+    }
+
+    private record Options(long seed, int customers, int professionals, int jobs, int availabilityDays,
+                           LocalDate startDate, Path out, String jdbcUrl, String dbUser, String dbPassword) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                // --name=value or name=value (the dashes cannot be written inside pom.xml comments)
+                String option = arg.startsWith("--") ? arg.substring(2) : arg;
+                if (option.indexOf('=') <= 0) {
+                    throw new IllegalArgumentException("Expected name=value, got " + arg);
+                }
+                values.put(option.substring(0, option.indexOf('=')), option.substring(option.indexOf('=') + 1));
+            }
+            return new Options(
+                    Long.parseLong(values.getOrDefault("seed", "42")),
+                    Integer.parseInt(values.getOrDefault("customers", "200000")),
+                    Integer.parseInt(values.getOrDefault("professionals", "100000")),
+                    Integer.parseInt(values.getOrDefault("jobs", "500000")),
+                    Integer.parseInt(values.getOrDefault("availability-days", "60")),
+                    LocalDate.parse(values.getOrDefault("start-date", LocalDate.now().toString())),
+                    Path.of(values.getOrDefault("out", "target/dataset")),
+                    values.get("jdbc-url"),
+                    values.getOrDefault("db-user", "postgres"),
+                    values.getOrDefault("db-password", ""));
+        }
+    }
+}
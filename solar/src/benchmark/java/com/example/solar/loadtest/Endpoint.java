@@ -0,0 +1,114 @@
+package com.example.solar.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/*
+  REST endpoints the load test can drive; ids are drawn uniformly from the configured ranges
+ */
+enum Endpoint {
+
+    MATCH_FIND("match-find") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, IdRanges ids, SplittableRandom random) {
+            return post(baseUrl + "/api/matches/find", "{\"jobId\":" + ids.jobId(random) + "}");
+        }
+    },
+    MATCHES_BY_JOB("matches-by-job") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, IdRanges ids, SplittableRandom random) {
+            return get(baseUrl + "/api/matches/job/" + ids.jobId(random));
+        }
+    },
+    JOBS_OPEN("jobs-open") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, IdRanges ids, SplittableRandom random) {
+            return get(baseUrl + "/api/jobs/open");
+        }
+    },
+    JOB("job") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, IdRanges ids, SplittableRandom random) {
+            return get(baseUrl + "/api/jobs/" + ids.jobId(random));
+        }
+    },
+    PROFESSIONALS("professionals") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, IdRanges ids, SplittableRandom random) {
+            return get(baseUrl + "/api/professionals");
+        }
+    },
+    PROFESSIONAL("professional") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, IdRanges ids, SplittableRandom random) {
+            return get(baseUrl + "/api/professionals/" + ids.professionalId(random));
+        }
+    },
+    PROFESSIONAL_AVAILABILITY("professional-availability") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, IdRanges ids, SplittableRandom random) {
+            return get(baseUrl + "/api/professionals/" + ids.professionalId(random) + "/availability");
+        }
+    },
+    QUOTES_COMPARE("quote-compare") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, IdRanges ids, SplittableRandom random) {
+            return get(baseUrl + "/api/quotes/job/" + ids.jobId(random) + "/compare");
+        }
+    },
+    CACHE_STATS("cache-stats") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, IdRanges ids, SplittableRandom random) {
+            return get(baseUrl + "/api/matches/cache/stats");
+        }
+    };
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    abstract HttpRequest.Builder request(String baseUrl, IdRanges ids, SplittableRandom random);
+
+    static Endpoint fromKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint '" + key + "'");
+    }
+
+    private static HttpRequest.Builder get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT).GET();
+    }
+
+    private static HttpRequest.Builder post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    /*
+      Inclusive id ranges requests pick from
+     */
+    record IdRanges(long firstJobId, long lastJobId, long firstProfessionalId, long lastProfessionalId) {
+
+        long jobId(SplittableRandom random) {
+            return random.nextLong(firstJobId, lastJobId + 1);
+        }
+
+        long professionalId(SplittableRandom random) {
+            return random.nextLong(firstProfessionalId, lastProfessionalId + 1);
+        }
+    }
+}
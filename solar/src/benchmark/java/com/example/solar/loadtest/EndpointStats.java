@@ -0,0 +1,55 @@
+package com.example.solar.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+  Latency histogram (microseconds, 3 significant digits) and outcome counters of one endpoint
+ */
+final class EndpointStats {
+
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long latencyMicros, boolean success) {
+        latencies.recordValue(Math.max(0, latencyMicros));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    void add(EndpointStats other) {
+        latencies.add(other.latencies);
+        errors.add(other.errors.sum());
+    }
+
+    long count() {
+        return latencies.getTotalCount();
+    }
+
+    Map<String, Object> report(double measuredSeconds) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", latencies.getTotalCount());
+        report.put("errors", errors.sum());
+        report.put("throughputPerSecond", round(latencies.getTotalCount() / measuredSeconds));
+        report.put("meanMs", round(latencies.getMean() / 1000.0));
+        report.put("p50Ms", millis(50.0));
+        report.put("p90Ms", millis(90.0));
+        report.put("p99Ms", millis(99.0));
+        report.put("p999Ms", millis(99.9));
+        report.put("maxMs", round(latencies.getMaxValue() / 1000.0));
+        return report;
+    }
+
+    private double millis(double percentile) {
+        return round(latencies.getValueAtPercentile(percentile) / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.solar.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+  HTTP load generator for the REST API. Requests are picked from a weighted endpoint mix and
+  either sent open-loop at a fixed arrival rate, or closed-loop by a fixed number of workers.
+
+  In open-loop mode latency is measured from each request's scheduled send time, so time spent
+  waiting for a free connection slot (concurrency) counts, and a slow server cannot hide
+  behind a slower send rate (coordinated omission). Results after the warmup go into one
+  HdrHistogram per endpoint; the report (p50/p90/p99/p99.9, throughput, errors) is printed
+  and written as JSON so runs of different builds can be diffed.
+
+  Options (name=value, see the benchmark profile in pom.xml):
+    base-url=http://localhost:8080  mix=match-find:5,jobs-open:1,quote-compare:2
+    rate=200 (requests/s, 0 = closed loop)  concurrency=64  duration=60  warmup=10
+    job-ids=1-5000  professional-ids=1-3000  or  dataset=target/dataset (reads the manifest)
+    seed=42  label=build-name  out=target/loadtest/report.json
+ */
+public final class LoadTestHarness {
+
+    private final Options options;
+    private final HttpClient client;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+
+    private LoadTestHarness(Options options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(2, options.concurrency / 4)))
+                .build();
+        for (Endpoint endpoint : options.mix.keySet()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        LoadTestHarness harness = new LoadTestHarness(options);
+        Instant startedAt = Instant.now();
+        if (options.rate > 0) {
+            harness.runOpenLoop();
+        } else {
+            harness.runClosedLoop();
+        }
+        harness.report(startedAt);
+        System.exit(0);
+    }
+
+    private void runOpenLoop() throws InterruptedException {
+        Semaphore inFlight = new Semaphore(options.concurrency);
+        SplittableRandom random = new SplittableRandom(options.seed);
+        long intervalNanos = Math.max(1, (long) (1_000_000_000L / options.rate));
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = pickEndpoint(random);
+            HttpRequest request = endpoint.request(options.baseUrl, options.ids, random).build();
+            boolean measured = scheduled >= measureFrom;
+
+            inFlight.acquire(); // Queueing here still counts: latency runs from 'scheduled'
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        inFlight.release();
+                        if (measured) {
+                            stats.get(endpoint).record((System.nanoTime() - scheduled) / 1000,
+                                    error == null && isSuccess(response.statusCode()));
+                        }
+                    });
+        }
+        // Let requests already sent finish, up to the client timeout
+        inFlight.tryAcquire(options.concurrency, 35, TimeUnit.SECONDS);
+    }
+
+    private void runClosedLoop() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency);
+        for (int w = 0; w < options.concurrency; w++) {
+            SplittableRandom random = new SplittableRandom(options.seed + w);
+            workers.execute(() -> {
+                while (true) {
+                    long sent = System.nanoTime();
+                    if (sent >= end) {
+                        return;
+                    }
+                    Endpoint endpoint = pickEndpoint(random);
+                    boolean success;
+                    try {
+                        HttpResponse<Void> response = client.send(
+                                endpoint.request(options.baseUrl, options.ids, random).build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        success = isSuccess(response.statusCode());
+                    } catch (IOException e) {
+                        success = false;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (sent >= measureFrom) {
+                        stats.get(endpoint).record((System.nanoTime() - sent) / 1000, success);
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(options.warmupSeconds + options.durationSeconds + 60L, TimeUnit.SECONDS);
+    }
+
+    private Endpoint pickEndpoint(SplittableRandom random) {
+        int target = random.nextInt(options.totalWeight);
+        for (Map.Entry<Endpoint, Integer> entry : options.mix.entrySet()) {
+            target -= entry.getValue();
+            if (target < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty endpoint mix");
+    }
+
+    private void report(Instant startedAt) throws IOException {
+        double measuredSeconds = options.durationSeconds;
+        EndpointStats total = new EndpointStats();
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            endpoints.put(entry.getKey().key(), entry.getValue().report(measuredSeconds));
+            total.add(entry.getValue());
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", options.label);
+        report.put("startedAt", startedAt.toString());
+        report.put("baseUrl", options.baseUrl);
+        report.put("mode", options.rate > 0 ? "open-loop" : "closed-loop");
+        report.put("targetRatePerSecond", options.rate);
+        report.put("concurrency", options.concurrency);
+        report.put("warmupSeconds", options.warmupSeconds);
+        report.put("durationSeconds", options.durationSeconds);
+        report.put("total", total.report(measuredSeconds));
+        report.put("endpoints", endpoints);
+
+        System.out.printf("%-26s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        endpoints.forEach((name, values) -> printRow(name, (Map<?, ?>) values));
+        printRow("total", (Map<?, ?>) report.get("total"));
+
+        Files.createDirectories(options.out.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.out.toFile(), report);
+        System.out.println("Report written to " + options.out.toAbsolutePath());
+    }
+
+    private static void printRow(String name, Map<?, ?> values) {
+        System.out.printf("%-26s %9s %7s %9s %9s %9s %9s %9s%n", name, values.get("requests"), values.get("errors"),
+                values.get("throughputPerSecond"), values.get("p50Ms"), values.get("p99Ms"),
+                values.get("p999Ms"), values.get("maxMs"));
+    }
+
+    private static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    private record Options(String baseUrl, Map<Endpoint, Integer> mix, int totalWeight, double rate,
+                           int concurrency, int durationSeconds, int warmupSeconds, Endpoint.IdRanges ids,
+                           long seed, String label, Path out) {
+
+        static Options parse(String[] args) throws IOException {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                String option = arg.startsWith("--") ? arg.substring(2) : arg;
+                if (option.indexOf('=') <= 0) {
+                    throw new IllegalArgumentException("Expected name=value, got " + arg);
+                }
+                values.put(option.substring(0, option.indexOf('=')), option.substring(option.indexOf('=') + 1));
+            }
+
+            Map<Endpoint, Integer> mix = new LinkedHashMap<>();
+            int totalWeight = 0;
+            for (String part : values.getOrDefault("mix",
+                    "match-find:4,matches-by-job:2,jobs-open:1,professional:2,quote-compare:1").split(",")) {
+                String[] keyAndWeight = part.trim().split(":");
+                int weight = keyAndWeight.length > 1 ? Integer.parseInt(keyAndWeight[1]) : 1;
+                if (weight > 0) {
+                    mix.merge(Endpoint.fromKey(keyAndWeight[0]), weight, Integer::sum);
+                    totalWeight += weight;
+                }
+            }
+            if (mix.isEmpty()) {
+                throw new IllegalArgumentException("The endpoint mix has no positive weights");
+            }
+
+            return new Options(
+                    values.getOrDefault("base-url", "http://localhost:8080").replaceAll("/+$", ""),
+                    mix,
+                    totalWeight,
+                    Double.parseDouble(values.getOrDefault("rate", "100")),
+                    Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                    Integer.parseInt(values.getOrDefault("duration", "60")),
+                    Integer.parseInt(values.getOrDefault("warmup", "10")),
+                    idRanges(values),
+                    Long.parseLong(values.getOrDefault("seed", "42")),
+                    values.getOrDefault("label", "unlabelled"),
+                    Path.of(values.getOrDefault("out", "target/loadtest/report.json")));
+        }
+
+        /*
+          Id ranges from a generated dataset's manifest, overridable with job-ids / professional-ids
+         */
+        private static Endpoint.IdRanges idRanges(Map<String, String> values) throws IOException {
+            List<long[]> ranges = new ArrayList<>(List.of(new long[]{1, 1000}, new long[]{1, 1000}));
+            if (values.containsKey("dataset")) {
+                Properties manifest = new Properties();
+                try (InputStream in = Files.newInputStream(Path.of(values.get("dataset"), "manifest.properties"))) {
+                    manifest.load(in);
+                }
+                ranges.set(0, manifestRange(manifest, "jobs"));
+                ranges.set(1, manifestRange(manifest, "professionals"));
+            }
+            if (values.containsKey("job-ids")) {
+                ranges.set(0, range(values.get("job-ids")));
+            }
+            if (values.containsKey("professional-ids")) {
+                ranges.set(1, range(values.get("professional-ids")));
+            }
+            return new Endpoint.IdRanges(ranges.get(0)[0], ranges.get(0)[1], ranges.get(1)[0], ranges.get(1)[1]);
+        }
+
+        private static long[] manifestRange(Properties manifest, String table) {
+            long first = Long.parseLong(manifest.getProperty(table + ".first-id"));
+            long rows = Long.parseLong(manifest.getProperty(table + ".rows"));
+            return new long[]{first, first + Math.max(0, rows - 1)};
+        }
+
+        private static long[] range(String value) {
+            String[] bounds = value.split("-");
+            long first = Long.parseLong(bounds[0].trim());
+            return new long[]{first, bounds.length > 1 ? Long.parseLong(bounds[1].trim()) : first};
+        }
+    }
+}
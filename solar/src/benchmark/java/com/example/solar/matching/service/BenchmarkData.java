@@ -0,0 +1,98 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.job.domain.Job;
+import com.example.solar.job.domain.JobStatus;
+import com.example.solar.job.domain.JobType;
+import com.example.solar.professional.domain.AvailabilitySlot;
+import com.example.solar.professional.domain.ExpertiseType;
+import com.example.solar.professional.domain.Professional;
+import com.example.solar.professional.domain.ProfessionalExpertise;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/*
+  Deterministic professionals and jobs around Lagos for the benchmarks
+ */
+final class BenchmarkData {
+
+    static final LocalDate TODAY = LocalDate.of(2026, 11, 1);
+
+    private BenchmarkData() {
+    }
+
+    static List<Professional> professionals(int count, int expertisePerProfessional, int slotsPerProfessional) {
+        Random random = new Random(42);
+        ExpertiseType[] types = ExpertiseType.values();
+        List<Professional> professionals = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Professional professional = Professional.builder()
+                    .id(id)
+                    .companyName("Installer " + id)
+                    .email("installer" + id + "@example.com")
+                    .phone("+234800" + id)
+                    .latitude(coordinate(6.5244 + (random.nextDouble() - 0.5)))
+                    .longitude(coordinate(3.3792 + (random.nextDouble() - 0.5)))
+                    .serviceRadiusKm(20 + random.nextInt(80))
+                    .hourlyRate(BigDecimal.valueOf(30 + random.nextInt(150)))
+                    .rating(BigDecimal.valueOf(random.nextInt(501), 2))
+                    .totalJobsCompleted(random.nextInt(60))
+                    .isVerified(random.nextInt(4) != 0)
+                    .build();
+            for (int e = 0; e < expertisePerProfessional; e++) {
+                professional.addExpertise(ProfessionalExpertise.builder()
+                        .expertiseType(types[random.nextInt(types.length)].name())
+                        .yearsExperience(random.nextInt(15))
+                        .certificationName(random.nextBoolean() ? "NABCEP" : null)
+                        .build());
+            }
+            for (int s = 0; s < slotsPerProfessional; s++) {
+                professional.addAvailabilitySlot(AvailabilitySlot.builder()
+                        .date(TODAY.plusDays(random.nextInt(60)))
+                        .startTime(LocalTime.of(8, 0))
+                        .endTime(LocalTime.of(17, 0))
+                        .isBooked(random.nextInt(4) == 0)
+                        .build());
+            }
+            professionals.add(professional);
+        }
+        return professionals;
+    }
+
+    static CandidateSnapshot snapshot(List<Professional> professionals) {
+        List<CandidateSnapshot.Row> rows = new ArrayList<>(professionals.size());
+        for (Professional professional : professionals) {
+            CandidateSnapshot.Row row = new CandidateSnapshot.Row(professional.getId())
+                    .profile(professional.getLatitude(), professional.getLongitude(),
+                            professional.getServiceRadiusKm(), professional.getHourlyRate(),
+                            professional.getRating(), professional.getTotalJobsCompleted(),
+                            professional.getIsVerified());
+            professional.getExpertiseList().forEach(e ->
+                    row.addExpertise(e.getExpertiseType(), e.getYearsExperience(), e.getCertificationName()));
+            professional.getAvailabilitySlots().forEach(s -> row.addSlot(s.getDate(), s.getIsBooked()));
+            rows.add(row);
+        }
+        return CandidateSnapshot.build(rows);
+    }
+
+    static Job job() {
+        return Job.builder()
+                .id(1L)
+                .jobType(JobType.INSTALLATION)
+                .status(JobStatus.PENDING)
+                .latitude(coordinate(6.5244))
+                .longitude(coordinate(3.3792))
+                .preferredDate(TODAY.plusDays(14))
+                .budgetMax(new BigDecimal("3000"))
+                .build();
+    }
+
+    private static BigDecimal coordinate(double degrees) {
+        return BigDecimal.valueOf(degrees).setScale(8, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.dataset.DatasetFiles;
+import com.example.solar.matching.domain.MatchCriteria;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/*
+  Scores a sample of pending jobs from a SyntheticDatasetGenerator dump against the dumped
+  professionals, each against the professionals whose service radius covers it.
+  Generate the dump first, e.g. into the default target/dataset.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DatasetScoringBenchmark {
+
+    @Param({"target/dataset"})
+    public String datasetDir;
+
+    @Param({"100"})
+    public int jobCount;
+
+    private final MatchCriteria criteria = MatchCriteria.builder().build();
+
+    private CandidateSnapshot snapshot;
+    private List<JobScoringContext> jobs;
+    private List<long[]> candidateIds;
+    private ForkJoinPool pool;
+    private CandidateScorer scorer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path directory = Path.of(datasetDir);
+        snapshot = CandidateSnapshot.build(DatasetFiles.readSnapshotRows(directory));
+        jobs = DatasetFiles.readJobs(directory, "PENDING", jobCount);
+
+        candidateIds = new ArrayList<>(jobs.size());
+        for (JobScoringContext job : jobs) {
+            long[] ids = new long[snapshot.size()];
+            int count = 0;
+            for (int row = 0; row < snapshot.size(); row++) {
+                if (DistanceScorer.covers(snapshot, row, job)) {
+                    ids[count++] = snapshot.id(row);
+                }
+            }
+            candidateIds.add(Arrays.copyOf(ids, count));
+        }
+
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        scorer = new CandidateScorer(new MatchingEngine(), pool, true, 4096, 1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public void scorePendingJobs(Blackhole blackhole) {
+        for (int i = 0; i < jobs.size(); i++) {
+            blackhole.consume(scorer.score(candidateIds.get(i), snapshot, jobs.get(i), criteria));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.job.domain.Job;
+import com.example.solar.matching.domain.Match;
+import com.example.solar.matching.domain.MatchCriteria;
+import com.example.solar.matching.dto.MatchScoreBreakdown;
+import com.example.solar.professional.domain.Professional;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+  Match-to-DTO mapping for a response of matchCount matches, with and without a fresh breakdown
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchMappingBenchmark {
+
+    @Param({"10", "100"})
+    public int matchCount;
+
+    // Mappers only read their arguments, so no repositories are needed
+    private final MatchService matchService = new MatchService(null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+
+    private List<Match> matches;
+    private List<MatchScoreBreakdown> breakdowns;
+
+    @Setup
+    public void setUp() {
+        MatchingEngine engine = new MatchingEngine();
+        MatchCriteria criteria = MatchCriteria.builder().build();
+        Job job = BenchmarkData.job();
+        List<Professional> professionals = BenchmarkData.professionals(matchCount, 3, 30);
+
+        matches = new ArrayList<>(matchCount);
+        breakdowns = new ArrayList<>(matchCount);
+        for (Professional professional : professionals) {
+            MatchScoreBreakdown breakdown = engine.calculateMatchScore(professional, job, criteria);
+            matches.add(Match.builder()
+                    .id(professional.getId())
+                    .job(job)
+                    .professional(professional)
+                    .matchScore(breakdown.getTotalScore())
+                    .distanceKm(breakdown.getDistanceKm())
+                    .expertiseScore(breakdown.getExpertiseScore())
+                    .availabilityScore(breakdown.getAvailabilityScore())
+                    .ratingScore(breakdown.getRatingScore())
+                    .priceScore(breakdown.getPriceScore())
+                    .createdAt(LocalDateTime.of(2026, 11, 1, 9, 0))
+                    .build());
+            breakdowns.add(breakdown);
+        }
+    }
+
+    @Benchmark
+    public void mapStoredMatches(Blackhole blackhole) {
+        for (Match match : matches) {
+            blackhole.consume(matchService.mapToDto(match));
+        }
+    }
+
+    @Benchmark
+    public void mapMatchesWithBreakdown(Blackhole blackhole) {
+        for (int i = 0; i < matches.size(); i++) {
+            blackhole.consume(matchService.mapToDto(matches.get(i), breakdowns.get(i)));
+        }
+    }
+}
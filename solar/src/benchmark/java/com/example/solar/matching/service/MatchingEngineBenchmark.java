@@ -0,0 +1,139 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.job.domain.Job;
+import com.example.solar.matching.domain.MatchCriteria;
+import com.example.solar.professional.domain.Professional;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/*
+  One match run for a job against candidateCount professionals, phase by phase: the entity
+  scoring path, the snapshot breakdown and total-only paths, and top-K selection (both the
+  CandidateScorer pipeline and a plain sort/limit over the same scores for comparison)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchingEngineBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int candidateCount;
+
+    @Param({"3"})
+    public int expertisePerProfessional;
+
+    @Param({"30"})
+    public int slotsPerProfessional;
+
+    private final MatchCriteria criteria = MatchCriteria.builder().build();
+    private final MatchingEngine engine = new MatchingEngine();
+
+    private List<Professional> professionals;
+    private Job job;
+    private JobScoringContext jobContext;
+    private CandidateSnapshot snapshot;
+    private long[] candidateIds;
+    private List<ScoredCandidate> scored;
+    private ForkJoinPool pool;
+    private CandidateScorer sequentialScorer;
+    private CandidateScorer parallelScorer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        professionals = BenchmarkData.professionals(candidateCount, expertisePerProfessional, slotsPerProfessional);
+        job = BenchmarkData.job();
+        jobContext = JobScoringContext.of(job);
+        snapshot = BenchmarkData.snapshot(professionals);
+        candidateIds = professionals.stream().mapToLong(Professional::getId).toArray();
+
+        scored = new ArrayList<>(candidateCount);
+        for (int row = 0; row < snapshot.size(); row++) {
+            scored.add(new ScoredCandidate(snapshot.id(row), row,
+                    engine.calculateTotalScore(snapshot, row, jobContext, criteria)));
+        }
+
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        sequentialScorer = new CandidateScorer(engine, pool, false, Integer.MAX_VALUE, 1024);
+        parallelScorer = new CandidateScorer(engine, pool, true, 4096, 1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public void calculateMatchScoreEntities(Blackhole blackhole) {
+        for (Professional professional : professionals) {
+            blackhole.consume(engine.calculateMatchScore(professional, job, criteria));
+        }
+    }
+
+    @Benchmark
+    public void calculateMatchScoreSnapshot(Blackhole blackhole) {
+        for (int row = 0; row < snapshot.size(); row++) {
+            blackhole.consume(engine.calculateMatchScore(snapshot, row, jobContext, criteria));
+        }
+    }
+
+    @Benchmark
+    public double calculateTotalScore() {
+        double sum = 0.0;
+        for (int row = 0; row < snapshot.size(); row++) {
+            sum += engine.calculateTotalScore(snapshot, row, jobContext, criteria);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public List<ScoredCandidate> scoreAndSelectSequential() {
+        return sequentialScorer.score(candidateIds, snapshot, jobContext, criteria);
+    }
+
+    @Benchmark
+    public List<ScoredCandidate> scoreAndSelectParallel() {
+        return parallelScorer.score(candidateIds, snapshot, jobContext, criteria);
+    }
+
+    @Benchmark
+    public List<ScoredCandidate> selectSortAndLimit() {
+        return scored.stream()
+                .filter(c -> c.totalScore() >= criteria.getMinimumMatchScore())
+                .sorted(Comparator.comparingDouble(ScoredCandidate::totalScore).reversed())
+                .limit(criteria.getMaxMatches())
+                .toList();
+    }
+
+    @Benchmark
+    public List<ScoredCandidate> selectTopK() {
+        TopKSelector<ScoredCandidate> selector = new TopKSelector<>(criteria.getMaxMatches());
+        for (int i = 0; i < scored.size(); i++) {
+            ScoredCandidate candidate = scored.get(i);
+            if (candidate.totalScore() >= criteria.getMinimumMatchScore()) {
+                selector.offer(candidate.totalScore(), i, candidate);
+            }
+        }
+        return selector.toList();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.solar.common.util;
+
+/*
+  Uniform lat/lon grid used by the in-memory spatial indexes.
+  Cells are cellSizeDegrees square; a cell key packs (row, column) into one long
+  and columns wrap around the antimeridian.
+ */
+public class GeoGrid {
+
+    private final double cellSizeDegrees;
+    private final int rows;
+    private final int columns;
+
+    public GeoGrid(double cellSizeDegrees) {
+        if (cellSizeDegrees <= 0.0 || cellSizeDegrees > 90.0) {
+            throw new IllegalArgumentException("Grid cell size must be in (0, 90] degrees");
+        }
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.rows = (int) Math.ceil(180.0 / cellSizeDegrees);
+        this.columns = (int) Math.ceil(360.0 / cellSizeDegrees);
+    }
+
+    public double getCellSizeDegrees() {
+        return cellSizeDegrees;
+    }
+
+    public long cellOf(double latitude, double longitude) {
+        return key(rowOf(latitude), columnOf(longitude));
+    }
+
+    /*
+      Number of cells a bounding box touches, so callers can refuse absurdly large areas
+      before allocating the key array.
+     */
+    public long countCells(GeoUtils.BoundingBox box) {
+        long rowSpan = rowOf(box.maxLat()) - rowOf(box.minLat()) + 1L;
+        return rowSpan * columnSpan(box);
+    }
+
+    public long[] cellsCovering(GeoUtils.BoundingBox box) {
+        int firstRow = rowOf(box.minLat());
+        int lastRow = rowOf(box.maxLat());
+        int columnSpan = columnSpan(box);
+        int firstColumn = box.spansAllLongitudes() ? 0 : unwrappedColumn(box.minLon());
+
+        long[] cells = new long[(lastRow - firstRow + 1) * columnSpan];
+        int i = 0;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int c = 0; c < columnSpan; c++) {
+                cells[i++] = key(row, Math.floorMod(firstColumn + c, columns));
+            }
+        }
+        return cells;
+    }
+
+    private int columnSpan(GeoUtils.BoundingBox box) {
+        if (box.spansAllLongitudes()) {
+            return columns;
+        }
+        int span = unwrappedColumn(box.maxLon()) - unwrappedColumn(box.minLon()) + 1;
+        return Math.min(columns, span);
+    }
+
+    private int rowOf(double latitude) {
+        int row = (int) Math.floor((latitude + 90.0) / cellSizeDegrees);
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+
+    private int columnOf(double longitude) {
+        return Math.floorMod(unwrappedColumn(longitude), columns);
+    }
+
+    private int unwrappedColumn(double longitude) {
+        return (int) Math.floor((longitude + 180.0) / cellSizeDegrees);
+    }
+
+    private long key(int row, int column) {
+        return ((long) row << 32) | column;
+    }
+}
@@ -4,7 +4,31 @@ import java.math.BigDecimal;
 
 public class GeoUtils {
 
-    private static final double EARTH_RADIUS_KM = 6371.0;
+    static final double EARTH_RADIUS_KM = 6371.0;
+
+    /*
+      Largest difference between calculateDistances and calculateDistance for the same pair.
+      The SIMD kernel's sin/cos/atan2 may differ from java.lang.Math by a few ulps, which is
+      far below a metre on an Earth-sized sphere; 1e-6 km (1 mm) leaves plenty of margin.
+     */
+    public static final double BATCH_DISTANCE_TOLERANCE_KM = 1e-6;
+
+    // Below this many points the vector setup costs more than it saves
+    private static final int VECTOR_MIN_BATCH = 16;
+
+    private static final boolean VECTOR_KERNEL_AVAILABLE = detectVectorKernel();
+
+    // Distance up to which calculateDistanceScore gives full marks
+    public static final double FULL_DISTANCE_SCORE_KM = 10.0;
+
+    // The short-range approximation is only trusted this close and this far from the poles
+    static final double APPROXIMATION_MAX_KM = 1000.0;
+    static final double APPROXIMATION_MAX_LATITUDE = 80.0;
+
+    private static final double KM_TO_DEGREES = Math.toDegrees(1.0 / EARTH_RADIUS_KM);
+
+    // Slack on box edges so rounding in the box and in Haversine cannot disagree
+    private static final double BOX_MARGIN_DEGREES = 1e-9;
 
     /*
       Distance btw two points using Haversine formula:
@@ -21,10 +45,18 @@ public class GeoUtils {
             return Double.MAX_VALUE;
         }
 
-        double lat1Rad = Math.toRadians(lat1.doubleValue());
-        double lon1Rad = Math.toRadians(lon1.doubleValue());
-        double lat2Rad = Math.toRadians(lat2.doubleValue());
-        double lon2Rad = Math.toRadians(lon2.doubleValue());
+        return calculateDistance(lat1.doubleValue(), lon1.doubleValue(),
+                lat2.doubleValue(), lon2.doubleValue());
+    }
+
+    /*
+      Same Haversine distance on primitive degrees, for callers that already hold doubles
+     */
+    public static double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
+        double lat1Rad = Math.toRadians(lat1);
+        double lon1Rad = Math.toRadians(lon1);
+        double lat2Rad = Math.toRadians(lat2);
+        double lon2Rad = Math.toRadians(lon2);
 
         double dLat = lat2Rad - lat1Rad;
         double dLon = lon2Rad - lon1Rad;
@@ -38,6 +70,45 @@ public class GeoUtils {
         return EARTH_RADIUS_KM * c;
     }
 
+    /*
+      Distances (km) from one point to many: out[i] = distance to (latitudes[i], longitudes[i])
+      for i < count. Uses the SIMD kernel when the Vector API module is available, otherwise
+      the scalar formula; both agree within BATCH_DISTANCE_TOLERANCE_KM.
+     */
+    public static void calculateDistances(double latitude, double longitude, double[] latitudes,
+                                          double[] longitudes, double[] out, int count) {
+        if (VECTOR_KERNEL_AVAILABLE && count >= VECTOR_MIN_BATCH) {
+            VectorHaversine.distances(latitude, longitude, latitudes, longitudes, out, count);
+        } else {
+            calculateDistancesScalar(latitude, longitude, latitudes, longitudes, out, count);
+        }
+    }
+
+    /*
+      Scalar batch kernel: bit-for-bit the same results as calculateDistance
+     */
+    public static void calculateDistancesScalar(double latitude, double longitude, double[] latitudes,
+                                                double[] longitudes, double[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = calculateDistance(latitude, longitude, latitudes[i], longitudes[i]);
+        }
+    }
+
+    public static boolean isVectorKernelAvailable() {
+        return VECTOR_KERNEL_AVAILABLE;
+    }
+
+    private static boolean detectVectorKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false; // JVM started without --add-modules jdk.incubator.vector
+        }
+        try {
+            return VectorHaversine.lanes() > 1;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
     /*
        dist. score (0-100) based on distance and service radius
       100 if distance <= 10km, decreasing to 0 at service radius
@@ -47,15 +118,154 @@ public class GeoUtils {
             return 0.0;
         }
 
-        if (distanceKm <= 10.0) {
+        if (distanceKm <= FULL_DISTANCE_SCORE_KM) {
             return 100.0;
         }
 
         // Linear decrease from 100 at 10km to 0 at service radius
-        double score = 100.0 - ((distanceKm - 10.0) / (serviceRadiusKm - 10.0) * 100.0);
+        double score = 100.0 - ((distanceKm - FULL_DISTANCE_SCORE_KM)
+                / (serviceRadiusKm - FULL_DISTANCE_SCORE_KM) * 100.0);
         return Math.max(0.0, Math.min(100.0, score));
     }
 
+    /*
+      Smallest lat/lon box containing every point within radiusKm of the centre.
+      Longitudes are left unwrapped (may run past +/-180) so callers can decide how to wrap;
+      a box touching a pole spans all longitudes.
+     */
+    public static BoundingBox boundingBox(double latitude, double longitude, double radiusKm) {
+        double angular = radiusKm / EARTH_RADIUS_KM;
+        double dLat = Math.toDegrees(angular);
+        double minLat = latitude - dLat;
+        double maxLat = latitude + dLat;
+
+        if (minLat <= -90.0 || maxLat >= 90.0) {
+            return new BoundingBox(Math.max(-90.0, minLat), Math.min(90.0, maxLat), -180.0, 180.0);
+        }
+
+        double sinAngular = Math.sin(angular);
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        if (sinAngular >= cosLat) {
+            return new BoundingBox(minLat, maxLat, -180.0, 180.0);
+        }
+
+        double dLon = Math.toDegrees(Math.asin(sinAngular / cosLat));
+        return new BoundingBox(minLat, maxLat, longitude - dLon, longitude + dLon);
+    }
+
+    public record BoundingBox(double minLat, double maxLat, double minLon, double maxLon) {
+
+        public boolean spansAllLongitudes() {
+            return maxLon - minLon >= 360.0;
+        }
+    }
+
+    /*
+      Half-height, in degrees of latitude, of the bounding box of a radiusKm circle
+     */
+    public static double latitudeHalfHeight(double radiusKm) {
+        return radiusKm * KM_TO_DEGREES;
+    }
+
+    /*
+      Half-width, in degrees of longitude, of the bounding box of a radiusKm circle centred at
+      the given latitude; 180 when the box spans all longitudes
+     */
+    public static double longitudeHalfWidth(double latitude, double radiusKm) {
+        return Math.min(180.0, boundingBox(latitude, 0.0, radiusKm).maxLon());
+    }
+
+    /*
+      Two-comparison prefilter: false only if (lat2, lon2) is certainly farther than the box's
+      radius from the centre (lat1, lon1). Half-sizes come from latitudeHalfHeight and
+      longitudeHalfWidth for the centre, so they can be computed once per centre.
+     */
+    public static boolean withinBox(double lat1, double lon1, double lat2, double lon2,
+                                    double latHalfHeight, double lonHalfWidth) {
+        if (Math.abs(lat2 - lat1) > latHalfHeight + BOX_MARGIN_DEGREES) {
+            return false;
+        }
+        double dLon = Math.abs(lon2 - lon1);
+        if (dLon > 180.0) {
+            dLon = 360.0 - dLon;
+        }
+        return dLon <= lonHalfWidth + BOX_MARGIN_DEGREES;
+    }
+
+    public static DistanceQuery distanceQuery(double latitude, double longitude) {
+        return new DistanceQuery(latitude, longitude);
+    }
+
+    /*
+      Distances from one fixed point, with the per-point trigonometry done up front.
+      approximateDistance is an equirectangular estimate with no trig calls, and
+      approximationError bounds how far it can be from the Haversine distance, so callers
+      can fall back to distance() only when the estimate is too close to a decision boundary.
+     */
+    public static final class DistanceQuery {
+
+        private final double latitude;
+        private final double longitude;
+        private final double cosLatitude;
+        private final double sinLatitude;
+        // error <= d^3 * (1 + tan^2(lat)) / R^2; about 8x the worst case measured up to 80 degrees
+        private final double errorFactor;
+
+        private DistanceQuery(double latitude, double longitude) {
+            double latRad = Math.toRadians(latitude);
+            double tan = Math.tan(latRad);
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cosLatitude = Math.cos(latRad);
+            this.sinLatitude = Math.sin(latRad);
+            this.errorFactor = Math.abs(latitude) <= APPROXIMATION_MAX_LATITUDE
+                    ? (1.0 + tan * tan) / (EARTH_RADIUS_KM * EARTH_RADIUS_KM)
+                    : Double.POSITIVE_INFINITY;
+        }
+
+        public double latitude() {
+            return latitude;
+        }
+
+        public double longitude() {
+            return longitude;
+        }
+
+        /*
+          Equirectangular distance (km) using the cosine of the mean latitude, expanded to
+          first order around the query latitude so no trig is needed per point
+         */
+        public double approximateDistance(double lat, double lon) {
+            double dLon = lon - longitude;
+            if (dLon > 180.0) {
+                dLon -= 360.0;
+            } else if (dLon < -180.0) {
+                dLon += 360.0;
+            }
+            double dLatRad = Math.toRadians(lat - latitude);
+            double x = Math.toRadians(dLon) * (cosLatitude - sinLatitude * dLatRad / 2);
+            return EARTH_RADIUS_KM * Math.sqrt(x * x + dLatRad * dLatRad);
+        }
+
+        /*
+          Upper bound (km) on |approximateDistance - distance| for a point at the given
+          approximate distance; infinite where the approximation is not trusted
+         */
+        public double approximationError(double approximateKm) {
+            if (!(approximateKm <= APPROXIMATION_MAX_KM)) {
+                return Double.POSITIVE_INFINITY;
+            }
+            return approximateKm * approximateKm * approximateKm * errorFactor + 1e-9;
+        }
+
+        /*
+          Exact Haversine distance (km), identical to calculateDistance(lat, lon, latitude, longitude)
+         */
+        public double distance(double lat, double lon) {
+            return calculateDistance(lat, lon, latitude, longitude);
+        }
+    }
+
     public static boolean isValidLatitude(BigDecimal latitude) {
         if (latitude == null) return false;
         double lat = latitude.doubleValue();
@@ -0,0 +1,51 @@
+package com.example.solar.common.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+  SIMD Haversine kernel on the JDK Vector API (jdk.incubator.vector).
+  Only touched through GeoUtils, which checks the module is present first, so the application
+  still starts (with the scalar kernel) when the JVM is launched without --add-modules.
+ */
+final class VectorHaversine {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final double DEGREES_TO_RADIANS = Math.PI / 180.0;
+
+    private VectorHaversine() {
+    }
+
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    static void distances(double latitude, double longitude, double[] latitudes, double[] longitudes,
+                          double[] out, int count) {
+        double lat1Rad = Math.toRadians(latitude);
+        double lon1Rad = Math.toRadians(longitude);
+        double cosLat1 = Math.cos(lat1Rad);
+
+        int i = 0;
+        int upperBound = SPECIES.loopBound(count);
+        for (; i < upperBound; i += SPECIES.length()) {
+            DoubleVector lat2Rad = DoubleVector.fromArray(SPECIES, latitudes, i).mul(DEGREES_TO_RADIANS);
+            DoubleVector lon2Rad = DoubleVector.fromArray(SPECIES, longitudes, i).mul(DEGREES_TO_RADIANS);
+
+            DoubleVector sinHalfDLat = lat2Rad.sub(lat1Rad).mul(0.5).lanewise(VectorOperators.SIN);
+            DoubleVector sinHalfDLon = lon2Rad.sub(lon1Rad).mul(0.5).lanewise(VectorOperators.SIN);
+
+            DoubleVector a = sinHalfDLat.mul(sinHalfDLat)
+                    .add(lat2Rad.lanewise(VectorOperators.COS).mul(cosLat1).mul(sinHalfDLon).mul(sinHalfDLon));
+            DoubleVector c = a.sqrt().lanewise(VectorOperators.ATAN2, a.neg().add(1.0).sqrt()).mul(2.0);
+
+            c.mul(GeoUtils.EARTH_RADIUS_KM).intoArray(out, i);
+        }
+
+        // Tail that does not fill a whole vector
+        for (; i < count; i++) {
+            out[i] = GeoUtils.calculateDistance(latitude, longitude, latitudes[i], longitudes[i]);
+        }
+    }
+}
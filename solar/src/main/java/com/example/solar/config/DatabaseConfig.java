@@ -1,12 +1,14 @@
 package com.example.solar.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @Configuration
 @EnableJpaRepositories(basePackages = "com.solarconnect")
 @EnableTransactionManagement
+@EnableJpaAuditing // Fills @CreatedDate / @LastModifiedDate; updated_at is the snapshot change watermark
 public class DatabaseConfig {
 
 }
@@ -0,0 +1,52 @@
+package com.example.solar.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class MatchingConfig {
+
+    /*
+      Dedicated pool for parallel candidate scoring, kept apart from the common pool
+      so matching load cannot starve (or be starved by) other parallel streams
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool matchScoringPool(
+            @Value("${matching.scoring.parallel.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(threads);
+    }
+
+    /*
+      Sends shard scoring requests to the other matching nodes in parallel (partitioned mode)
+     */
+    @Bean
+    public ThreadPoolTaskExecutor shardRequestExecutor(
+            @Value("${matching.sharding.request-threads:16}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("match-shard-");
+        return executor;
+    }
+
+    /*
+      Runs incremental rescoring off the threads that write professionals and jobs; a full
+      queue drops the rescore (the next findMatches run catches up) rather than blocking a write
+     */
+    @Bean
+    public ThreadPoolTaskExecutor matchRescoringExecutor(
+            @Value("${matching.incremental.threads:2}") int threads,
+            @Value("${matching.incremental.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("match-rescore-");
+        return executor;
+    }
+}
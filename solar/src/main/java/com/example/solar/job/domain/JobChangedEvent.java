@@ -0,0 +1,14 @@
+package com.example.solar.job.domain;
+
+/*
+  Published by JobService whenever a job is created, changes status or is removed,
+  so matching can refresh the suggestions it keeps for that job.
+ */
+public record JobChangedEvent(Long jobId, ChangeType changeType) {
+
+    public enum ChangeType {
+        CREATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.solar.job.dto;
+
+import com.example.solar.job.domain.UrgencyLevel;
+
+import java.time.LocalDateTime;
+
+/*
+  Urgency and age of a job, all the match scheduler needs to place its work in the queue
+ */
+public interface JobPriorityView {
+    Long getId();
+    UrgencyLevel getUrgencyLevel();
+    LocalDateTime getCreatedAt();
+}
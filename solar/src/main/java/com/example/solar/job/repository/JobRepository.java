@@ -3,10 +3,15 @@ package com.example.solar.job.repository;
 import com.example.solar.job.domain.Job;
 import com.example.solar.job.domain.JobStatus;
 import com.example.solar.job.domain.JobType;
+import com.example.solar.job.dto.JobPriorityView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface JobRepository extends JpaRepository<Job, Long> {
@@ -17,4 +22,17 @@ public interface JobRepository extends JpaRepository<Job, Long> {
 
     @Query("SELECT j FROM Job j WHERE j.status = 'PENDING' OR j.status = 'MATCHED'")
     List<Job> findOpenJobs();
-}
\ No newline at end of file
+
+    @Query("SELECT j FROM Job j WHERE j.status = :status " +
+            "AND j.latitude BETWEEN :minLat AND :maxLat AND j.longitude BETWEEN :minLon AND :maxLon")
+    List<Job> findByStatusWithinBounds(@Param("status") JobStatus status,
+                                       @Param("minLat") BigDecimal minLat, @Param("maxLat") BigDecimal maxLat,
+                                       @Param("minLon") BigDecimal minLon, @Param("maxLon") BigDecimal maxLon);
+
+    @Query("SELECT j.id AS id, j.urgencyLevel AS urgencyLevel, j.createdAt AS createdAt FROM Job j WHERE j.id = :id")
+    Optional<JobPriorityView> findPriorityViewById(@Param("id") Long id);
+
+    @Query("SELECT j.id AS id, j.urgencyLevel AS urgencyLevel, j.createdAt AS createdAt FROM Job j " +
+            "WHERE j.id IN :ids")
+    List<JobPriorityView> findPriorityViewsByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -11,6 +11,7 @@ import com.example.solar.job.dto.*;
 import com.example.solar.job.repository.JobRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -23,6 +24,7 @@ public class JobService {
 
     private final JobRepository jobRepository;
     private final CustomerRepository customerRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public JobDetailDto createJob(CreateJobRequest request) {
@@ -79,6 +81,7 @@ public class JobService {
 
         Job savedJob = jobRepository.save(job);
         log.info("Job created successfully with ID: {}", savedJob.getId());
+        eventPublisher.publishEvent(new JobChangedEvent(savedJob.getId(), JobChangedEvent.ChangeType.CREATED));
 
         return mapToDetailDto(savedJob);
     }
@@ -139,6 +142,7 @@ public class JobService {
         Job updatedJob = jobRepository.save(job);
 
         log.info("Job status updated successfully for ID: {}", id);
+        eventPublisher.publishEvent(new JobChangedEvent(id, JobChangedEvent.ChangeType.STATUS_CHANGED));
         return mapToDto(updatedJob);
     }
 
@@ -152,6 +156,7 @@ public class JobService {
 
         jobRepository.deleteById(id);
         log.info("Job deleted successfully with ID: {}", id);
+        eventPublisher.publishEvent(new JobChangedEvent(id, JobChangedEvent.ChangeType.DELETED));
     }
 
     private boolean hasRequirementDetails(CreateJobRequest request) {
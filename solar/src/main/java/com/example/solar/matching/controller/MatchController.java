@@ -2,34 +2,170 @@ package com.example.solar.matching.controller;
 
 import com.example.solar.common.dto.ApiResponse;
 import com.example.solar.matching.domain.MatchStatus;
+import com.example.solar.matching.dto.BatchMatchRequest;
+import com.example.solar.matching.dto.BatchMatchResultDto;
+import com.example.solar.matching.dto.JobFeedItemDto;
+import com.example.solar.matching.dto.MatchCacheStatsDto;
 import com.example.solar.matching.dto.MatchDto;
 import com.example.solar.matching.dto.MatchRequest;
+import com.example.solar.matching.dto.MatchTicketDto;
+import com.example.solar.matching.dto.ProvisionalMatchDto;
+import com.example.solar.matching.service.JobFeedService;
+import com.example.solar.matching.service.MatchScheduler;
 import com.example.solar.matching.service.MatchService;
+import com.example.solar.matching.service.MatchStreamListener;
+import com.example.solar.matching.service.MatchTicketService;
+import com.example.solar.matching.service.ShardClient;
+import com.example.solar.matching.service.ShardRouter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/matches")
 @RequiredArgsConstructor
+@Slf4j
 public class MatchController {
 
     private final MatchService matchService;
+    private final MatchTicketService matchTicketService;
+    private final MatchScheduler matchScheduler;
+    private final JobFeedService jobFeedService;
+    private final ShardRouter shardRouter;
+    private final ShardClient shardClient;
 
+    @Value("${matching.stream.timeout-ms:60000}")
+    private long streamTimeoutMs;
+
+    @Value("${matching.async.max-wait-ms:30000}")
+    private long maxTicketWaitMs;
+
+    /*
+      Runs through the MatchScheduler at the job's urgency; the request thread waits for it.
+      In the partitioned mode a job owned by another node is forwarded there. (The async and
+      streaming variants coordinate from whichever node receives them.)
+     */
     @PostMapping("/find")
     public ResponseEntity<ApiResponse<List<MatchDto>>> findMatches(
-            @Valid @RequestBody MatchRequest request) {
-        List<MatchDto> matches = matchService.findMatches(request);
+            @Valid @RequestBody MatchRequest request,
+            @RequestHeader(value = ShardClient.FORWARDED_HEADER, required = false) String forwardedBy) {
+        if (forwardedBy == null) {
+            Optional<String> owner = shardRouter.remoteOwnerOfJob(request.getJobId());
+            if (owner.isPresent()) {
+                return shardClient.forward(owner.get(), HttpMethod.POST, "/api/matches/find", request,
+                        new ParameterizedTypeReference<>() {
+                        });
+            }
+        }
+        List<MatchDto> matches = matchScheduler.call(matchScheduler.priorityOf(request.getJobId()),
+                () -> matchService.findMatches(request));
         return new ResponseEntity<>(
                 ApiResponse.success("Matches found successfully", matches),
                 HttpStatus.OK
         );
     }
 
+    /*
+      Asynchronous variant of /find: 202 with a ticket to poll at /tickets/{ticketId}.
+      An identical request already in flight returns that request's ticket.
+     */
+    @PostMapping(value = "/find", params = "async=true")
+    public ResponseEntity<ApiResponse<MatchTicketDto>> findMatchesAsync(
+            @Valid @RequestBody MatchRequest request) {
+        MatchTicketDto ticket = matchTicketService.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/matches/tickets/" + ticket.getTicketId()))
+                .body(ApiResponse.success("Match computation accepted", ticket));
+    }
+
+    /*
+      Ticket status, with the matches once COMPLETED. With waitMs > 0 this is a long poll:
+      the response is held (without a request thread) until the ticket finishes or waitMs
+      (capped at matching.async.max-wait-ms) passes, then returns the ticket as it stands.
+     */
+    @GetMapping("/tickets/{ticketId}")
+    public DeferredResult<ResponseEntity<ApiResponse<MatchTicketDto>>> getTicket(
+            @PathVariable String ticketId,
+            @RequestParam(defaultValue = "0") long waitMs) {
+        MatchTicketDto ticket = matchTicketService.getTicket(ticketId);
+        long wait = Math.min(Math.max(0, waitMs), maxTicketWaitMs);
+
+        DeferredResult<ResponseEntity<ApiResponse<MatchTicketDto>>> result = new DeferredResult<>(
+                wait > 0 ? wait : null,
+                () -> ResponseEntity.ok(ApiResponse.success(matchTicketService.getTicket(ticketId))));
+        if (wait == 0) {
+            result.setResult(ResponseEntity.ok(ApiResponse.success(ticket)));
+        } else {
+            matchTicketService.whenDone(ticketId)
+                    .thenAccept(done -> result.setResult(ResponseEntity.ok(ApiResponse.success(done))));
+        }
+        return result;
+    }
+
+    /*
+      Server-Sent Events variant of /find. Events, in order:
+        provisional  ranking so far (ProvisionalMatchDto list), zero or more times while scoring
+        match        one saved MatchDto, per new match
+        complete     ApiResponse with the number of matches created
+      or a single error event (ApiResponse) if the request fails.
+     */
+    @PostMapping(value = "/find/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMatches(@Valid @RequestBody MatchRequest request) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        SseMatchStreamListener listener = new SseMatchStreamListener(emitter);
+        try {
+            matchScheduler.submit(matchScheduler.priorityOf(request.getJobId()), () -> {
+                try {
+                    int created = matchService.streamMatches(request, listener);
+                    listener.send("complete", ApiResponse.success("Matches found successfully", created));
+                } catch (Exception e) {
+                    log.warn("Streaming matches for job {} failed: {}", request.getJobId(), e.getMessage());
+                    listener.send("error", ApiResponse.error(e.getMessage()));
+                }
+                emitter.complete();
+                return null;
+            });
+        } catch (TaskRejectedException e) {
+            listener.send("error", ApiResponse.error("Too many streaming requests, try again later"));
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /*
+      Scheduled at the urgency of the most urgent listed job; re-matching all open jobs is LOW
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchMatchResultDto>> findMatchesForJobs(
+            @RequestBody BatchMatchRequest request) {
+        MatchScheduler.Priority priority = Boolean.TRUE.equals(request.getAllOpenJobs())
+                || request.getJobIds() == null || request.getJobIds().isEmpty()
+                ? MatchScheduler.Priority.BULK
+                : matchScheduler.priorityOf(request.getJobIds());
+        BatchMatchResultDto result = matchScheduler.call(priority, () -> matchService.findMatchesForJobs(request));
+        return ResponseEntity.ok(ApiResponse.success("Batch matching completed successfully", result));
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ApiResponse<MatchCacheStatsDto>> getCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success(matchService.getCacheStats()));
+    }
+
     @GetMapping("/job/{jobId}")
     public ResponseEntity<ApiResponse<List<MatchDto>>> getMatchesByJobId(@PathVariable Long jobId) {
         List<MatchDto> matches = matchService.getMatchesByJobId(jobId);
@@ -43,6 +179,26 @@ public class MatchController {
         return ResponseEntity.ok(ApiResponse.success(matches));
     }
 
+    /*
+      "Jobs for me": open jobs inside the professional's service area, best match first
+     */
+    @GetMapping("/professional/{professionalId}/feed")
+    public ResponseEntity<ApiResponse<List<JobFeedItemDto>>> getJobFeed(
+            @PathVariable Long professionalId,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = ShardClient.FORWARDED_HEADER, required = false) String forwardedBy) {
+        if (forwardedBy == null) {
+            Optional<String> home = shardRouter.remoteHomeOfProfessional(professionalId);
+            if (home.isPresent()) {
+                return shardClient.forward(home.get(), HttpMethod.GET, "/api/matches/professional/" + professionalId
+                        + "/feed" + (limit != null ? "?limit=" + limit : ""), null, new ParameterizedTypeReference<>() {
+                });
+            }
+        }
+        List<JobFeedItemDto> feed = jobFeedService.getJobFeed(professionalId, limit);
+        return ResponseEntity.ok(ApiResponse.success(feed));
+    }
+
     @PatchMapping("/{matchId}/status")
     public ResponseEntity<ApiResponse<MatchDto>> updateMatchStatus(
             @PathVariable Long matchId,
@@ -56,4 +212,38 @@ public class MatchController {
         matchService.deleteMatch(matchId);
         return ResponseEntity.ok(ApiResponse.success("Match deleted successfully", null));
     }
-}
\ No newline at end of file
+
+    /*
+      Forwards stream results as SSE events. Once the client has gone away further events are
+      dropped, but the run continues so its matches are still saved and cached.
+     */
+    private static class SseMatchStreamListener implements MatchStreamListener {
+        private final SseEmitter emitter;
+        private volatile boolean disconnected;
+
+        SseMatchStreamListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onProvisionalRanking(List<ProvisionalMatchDto> ranking) {
+            send("provisional", ranking);
+        }
+
+        @Override
+        public void onMatch(MatchDto match) {
+            send("match", match);
+        }
+
+        void send(String event, Object data) {
+            if (disconnected) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                disconnected = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.solar.matching.controller;
+
+import com.example.solar.common.dto.ApiResponse;
+import com.example.solar.common.exception.ForbiddenException;
+import com.example.solar.matching.dto.ShardCandidateDto;
+import com.example.solar.matching.dto.ShardMapDto;
+import com.example.solar.matching.dto.ShardScoreRequest;
+import com.example.solar.matching.service.ProfessionalChangeRelay;
+import com.example.solar.matching.service.ShardClient;
+import com.example.solar.matching.service.ShardMap;
+import com.example.solar.matching.service.ShardScoringService;
+import com.example.solar.professional.domain.ProfessionalChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/*
+  Node-to-node endpoints of the partitioned matching mode; not meant for clients. With sharding
+  enabled, scoring and relayed changes are only served to callers presenting the shared
+  matching.sharding.secret (403 otherwise).
+ */
+@RestController
+@RequestMapping("/internal/matching")
+@RequiredArgsConstructor
+public class ShardController {
+
+    private final ShardMap shardMap;
+    private final ShardScoringService shardScoringService;
+    private final ProfessionalChangeRelay professionalChangeRelay;
+    private final ShardClient shardClient;
+
+    @PostMapping("/score")
+    public ResponseEntity<ApiResponse<List<ShardCandidateDto>>> score(
+            @RequestBody ShardScoreRequest request,
+            @RequestHeader(value = ShardClient.SECRET_HEADER, required = false) String secret) {
+        requireNode(secret);
+        return ResponseEntity.ok(ApiResponse.success(shardScoringService.scoreLocal(request)));
+    }
+
+    /*
+      A professional changed through another node
+     */
+    @PostMapping("/professional-changes")
+    public ResponseEntity<ApiResponse<Void>> professionalChanged(
+            @RequestBody ProfessionalChangedEvent event,
+            @RequestHeader(value = ShardClient.SECRET_HEADER, required = false) String secret) {
+        requireNode(secret);
+        professionalChangeRelay.applyRelayed(event);
+        return ResponseEntity.ok(ApiResponse.success(null));
+    }
+
+    /*
+      This node's view of the shard map; with a point, also who owns it and who may cover it
+     */
+    @GetMapping("/shards")
+    public ResponseEntity<ApiResponse<ShardMapDto>> getShardMap(
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude) {
+        ShardMapDto.ShardMapDtoBuilder builder = ShardMapDto.builder()
+                .enabled(shardMap.isEnabled())
+                .self(shardMap.self())
+                .nodes(shardMap.nodes())
+                .cellSizeDegrees(shardMap.getCellSizeDegrees())
+                .reachKm(shardMap.getReachKm());
+        if (latitude != null && longitude != null) {
+            builder.owner(shardMap.ownerOf(latitude, longitude))
+                    .nodesReaching(shardMap.nodesReaching(latitude, longitude));
+        }
+        return ResponseEntity.ok(ApiResponse.success(builder.build()));
+    }
+
+    private void requireNode(String secret) {
+        if (shardMap.isEnabled() && !shardClient.isTrusted(secret)) {
+            throw new ForbiddenException("Only matching nodes may call this endpoint");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.solar.matching.domain;
+
+
+public enum MatchTicketStatus {
+    PENDING,      // Queued on the matching executor
+    RUNNING,      // Being computed
+    COMPLETED,    // Matches available
+    FAILED        // Computation failed, see the ticket's error
+}
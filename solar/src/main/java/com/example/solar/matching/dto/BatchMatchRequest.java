@@ -0,0 +1,28 @@
+package com.example.solar.matching.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchMatchRequest {
+    // Either the jobs to match, or allOpenJobs to match every PENDING/MATCHED job
+    private List<Long> jobIds;
+    private Boolean allOpenJobs;
+
+    // Optional: Override default matching criteria (applied to every job in the batch)
+    private Double distanceWeight;
+    private Double expertiseWeight;
+    private Double availabilityWeight;
+    private Double ratingWeight;
+    private Double priceWeight;
+    private Double minimumMatchScore;
+    private Integer maxMatches;
+    private Boolean verifiedOnly;
+}
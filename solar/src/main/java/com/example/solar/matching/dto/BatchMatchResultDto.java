@@ -0,0 +1,21 @@
+package com.example.solar.matching.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchMatchResultDto {
+    private Integer jobsRequested;
+    private Integer jobsMatched;
+    private Integer matchesCreated;
+    private List<Long> skippedJobIds;
+    private Map<Long, List<MatchDto>> matchesByJobId;
+}
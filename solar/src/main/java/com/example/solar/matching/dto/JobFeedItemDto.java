@@ -0,0 +1,31 @@
+package com.example.solar.matching.dto;
+
+import com.example.solar.job.domain.JobStatus;
+import com.example.solar.job.domain.JobType;
+import com.example.solar.job.domain.UrgencyLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/*
+  One open job in a professional's "jobs for me" feed, scored from the professional's side
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobFeedItemDto {
+    private Long jobId;
+    private String title;
+    private JobType jobType;
+    private JobStatus status;
+    private UrgencyLevel urgencyLevel;
+    private LocalDate preferredDate;
+    private BigDecimal distanceKm;
+    private BigDecimal matchScore;
+    private MatchScoreBreakdown scoreBreakdown;
+}
@@ -0,0 +1,21 @@
+package com.example.solar.matching.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchCacheStatsDto {
+    private Boolean enabled;
+    private Integer size;
+    private Integer maxEntries;
+    private Long hits;
+    private Long misses;
+    private Long evictions;
+    private Long invalidations;
+    private Double hitRate;
+}
@@ -0,0 +1,26 @@
+package com.example.solar.matching.dto;
+
+import com.example.solar.matching.domain.MatchTicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchTicketDto {
+    private String ticketId;
+    private Long jobId;
+    private MatchTicketStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    // Set once the ticket is COMPLETED / FAILED
+    private List<MatchDto> matches;
+    private String error;
+}
@@ -0,0 +1,21 @@
+package com.example.solar.matching.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/*
+  One entry of a ranking that may still change: scored, but not yet saved as a match
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProvisionalMatchDto {
+    private Integer rank;
+    private Long professionalId;
+    private BigDecimal matchScore;
+}
@@ -0,0 +1,20 @@
+package com.example.solar.matching.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+  One professional selected by a shard for a job, with the breakdown explained on that shard
+  (the only node holding the professional's row)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardCandidateDto {
+    private Long professionalId;
+    private double totalScore;
+    private MatchScoreBreakdown scoreBreakdown;
+}
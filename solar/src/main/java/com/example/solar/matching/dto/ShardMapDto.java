@@ -0,0 +1,25 @@
+package com.example.solar.matching.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardMapDto {
+    private boolean enabled;
+    private String self;
+    private Map<String, String> nodes;
+    private double cellSizeDegrees;
+    private double reachKm;
+
+    // Only when a point was asked about
+    private String owner;
+    private Set<String> nodesReaching;
+}
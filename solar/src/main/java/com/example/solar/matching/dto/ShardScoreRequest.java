@@ -0,0 +1,28 @@
+package com.example.solar.matching.dto;
+
+import com.example.solar.job.domain.JobType;
+import com.example.solar.matching.domain.MatchCriteria;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/*
+  Node-to-node request: score this job against the professionals the receiving shard holds.
+  Carries the job's scoring inputs, so the shard does not have to load the job itself.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardScoreRequest {
+    private Long jobId;
+    private double latitude;
+    private double longitude;
+    private JobType jobType;
+    private LocalDate preferredDate;
+    private Double budgetMax;
+    private MatchCriteria criteria;
+}
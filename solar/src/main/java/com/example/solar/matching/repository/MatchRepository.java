@@ -9,7 +9,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface MatchRepository extends JpaRepository<Match, Long> {
+public interface MatchRepository extends JpaRepository<Match, Long>, MatchRepositoryCustom {
     List<Match> findByJobId(Long jobId);
     List<Match> findByProfessionalId(Long professionalId);
     List<Match> findByJobIdAndStatus(Long jobId, MatchStatus status);
@@ -0,0 +1,14 @@
+package com.example.solar.matching.repository;
+
+import com.example.solar.matching.domain.Match;
+
+import java.util.List;
+
+public interface MatchRepositoryCustom {
+
+    /*
+      Inserts the matches in one statement per chunk, skipping (job, professional) pairs that
+      already exist. Returns the inserted matches, in input order, with id and createdAt set.
+     */
+    List<Match> insertIgnoringExisting(List<Match> matches);
+}
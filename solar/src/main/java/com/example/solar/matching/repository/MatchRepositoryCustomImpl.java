@@ -0,0 +1,76 @@
+package com.example.solar.matching.repository;
+
+import com.example.solar.matching.domain.Match;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+  Set-based match persistence. Match ids are IDENTITY columns, so Hibernate cannot batch
+  their inserts; a multi-row INSERT ... ON CONFLICT DO NOTHING RETURNING writes a whole
+  result set, skips existing pairs and hands back the generated ids in one round trip.
+ */
+@RequiredArgsConstructor
+public class MatchRepositoryCustomImpl implements MatchRepositoryCustom {
+
+    // Postgres allows 65535 bind parameters per statement
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private static final String INSERT = "INSERT INTO matches (job_id, professional_id, match_score, " +
+            "distance_km, expertise_score, availability_score, rating_score, price_score, status, created_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ON_CONFLICT = " ON CONFLICT (job_id, professional_id) DO NOTHING " +
+            "RETURNING id, job_id, professional_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Match> insertIgnoringExisting(List<Match> matches) {
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime createdAt = LocalDateTime.now();
+        Map<List<Long>, Long> generatedIds = new HashMap<>();
+
+        for (int from = 0; from < matches.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Match> chunk = matches.subList(from, Math.min(matches.size(), from + MAX_ROWS_PER_STATEMENT));
+            String sql = INSERT + String.join(", ", Collections.nCopies(chunk.size(), ROW)) + ON_CONFLICT;
+
+            List<Object> args = new ArrayList<>(chunk.size() * 10);
+            for (Match match : chunk) {
+                args.add(match.getJob().getId());
+                args.add(match.getProfessional().getId());
+                args.add(match.getMatchScore());
+                args.add(match.getDistanceKm());
+                args.add(match.getExpertiseScore());
+                args.add(match.getAvailabilityScore());
+                args.add(match.getRatingScore());
+                args.add(match.getPriceScore());
+                args.add(match.getStatus().name());
+                args.add(Timestamp.valueOf(createdAt));
+            }
+
+            jdbcTemplate.query(sql, rs -> {
+                generatedIds.put(List.of(rs.getLong("job_id"), rs.getLong("professional_id")), rs.getLong("id"));
+            }, args.toArray());
+        }
+
+        List<Match> inserted = new ArrayList<>(generatedIds.size());
+        for (Match match : matches) {
+            Long id = generatedIds.get(List.of(match.getJob().getId(), match.getProfessional().getId()));
+            if (id != null) {
+                match.setId(id);
+                match.setCreatedAt(createdAt);
+                inserted.add(match);
+            }
+        }
+        return inserted;
+    }
+}
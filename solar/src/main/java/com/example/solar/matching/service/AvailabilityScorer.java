@@ -0,0 +1,85 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.matching.domain.MatchCriteria;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/*
+  Score availability based on:
+ 1. Has slots on preferred date (60 points)
+ 2. Number of available slots (30 points)
+ 3. Flexibility (slots within +/- 7 days) (10 points)
+ */
+@Component
+@Order(30)
+public class AvailabilityScorer implements MatchScorer {
+
+    public static final String NAME = "availability";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int cost() {
+        return 3;
+    }
+
+    @Override
+    public double weight(MatchCriteria criteria) {
+        return criteria.getAvailabilityWeight();
+    }
+
+    @Override
+    public Scope scope() {
+        return Scope.JOB;
+    }
+
+    @Override
+    public double score(CandidateSnapshot candidates, int row, JobScoringContext job) {
+        if (candidates.slotCount(row) == 0) {
+            return 20.0; // Base score for being in the system
+        }
+
+        int totalAvailable = candidates.freeSlotCount(row);
+
+        if (!job.hasPreferredDate()) {
+            // No preferred date - just check if they have any available slots
+            return totalAvailable > 0 ? 70.0 : 20.0;
+        }
+
+        double score = 0.0;
+        long preferredDay = job.preferredEpochDay();
+
+        // Check for slots on preferred date
+        boolean preferredDateFree = candidates.hasFreeDayBetween(row, preferredDay, preferredDay);
+        if (preferredDateFree) {
+            score += 60.0;
+        }
+
+        // Number of available slots (normalized to 30 points max)
+        score += Math.min(30.0, totalAvailable * 5.0);
+
+        // Flexibility: has slots within +/- 7 days of preferred date
+        if (!preferredDateFree && candidates.hasFreeDayBetween(row, job.flexibleFromDay(), job.flexibleToDay())) {
+            score += 10.0;
+        }
+
+        return Math.min(100.0, score);
+    }
+
+    @Override
+    public String reason(CandidateSnapshot candidates, int row, JobScoringContext job) {
+        if (!job.hasPreferredDate()) {
+            return "Available for scheduling";
+        }
+
+        long preferredDay = job.preferredEpochDay();
+        if (candidates.hasFreeDayBetween(row, preferredDay, preferredDay)) {
+            return "Available on preferred date (" + job.preferredDate() + ")";
+        } else {
+            return "Available for alternative dates";
+        }
+    }
+}
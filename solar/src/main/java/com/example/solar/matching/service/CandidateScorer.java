@@ -0,0 +1,281 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.matching.domain.MatchCriteria;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/*
+  Runs the per-candidate scoring loop, either inline or split across the matching ForkJoinPool,
+  and keeps only the best MatchCriteria.maxMatches candidates above the minimum score.
+  Ties are broken by candidate order, so the parallel result is identical to the sequential one.
+ */
+@Component
+@Slf4j
+public class CandidateScorer {
+
+    private final MatchingEngine matchingEngine;
+    private final ForkJoinPool scoringPool;
+    private final boolean parallelEnabled;
+    private final int parallelThreshold;
+    private final int leafSize;
+    private final MatchMetrics metrics;
+
+    public CandidateScorer(MatchingEngine matchingEngine, ForkJoinPool scoringPool, boolean parallelEnabled,
+                           int parallelThreshold, int leafSize) {
+        this(matchingEngine, scoringPool, parallelEnabled, parallelThreshold, leafSize, MatchMetrics.noop());
+    }
+
+    @Autowired
+    public CandidateScorer(MatchingEngine matchingEngine,
+                           @Qualifier("matchScoringPool") ForkJoinPool scoringPool,
+                           @Value("${matching.scoring.parallel.enabled:true}") boolean parallelEnabled,
+                           @Value("${matching.scoring.parallel.threshold:4096}") int parallelThreshold,
+                           @Value("${matching.scoring.parallel.leaf-size:1024}") int leafSize,
+                           MatchMetrics metrics) {
+        this.matchingEngine = matchingEngine;
+        this.metrics = metrics;
+        this.scoringPool = scoringPool;
+        this.parallelEnabled = parallelEnabled;
+        this.parallelThreshold = parallelThreshold;
+        this.leafSize = Math.max(1, leafSize);
+    }
+
+    /*
+      Top candidates for the job, best first
+     */
+    public List<ScoredCandidate> score(long[] candidateIds, CandidateSnapshot candidates,
+                                       JobScoringContext job, MatchCriteria criteria) {
+        // Best cutoff any leaf has reached so far; scores are non-negative so raw bits order like doubles
+        AtomicLong sharedCutoff = new AtomicLong(Double.doubleToLongBits(0.0));
+
+        TopKSelector<ScoredCandidate> selected;
+        if (!parallelEnabled || candidateIds.length < parallelThreshold) {
+            selected = scoreRange(candidateIds, 0, candidateIds.length, candidates, job, criteria, sharedCutoff);
+        } else {
+            log.debug("Scoring {} candidates for job {} in parallel", candidateIds.length, job.jobId());
+            selected = scoringPool.invoke(new ScoringTask(
+                    candidateIds, 0, candidateIds.length, candidates, job, criteria, sharedCutoff));
+        }
+        return selected.toList();
+    }
+
+    /*
+      Same result as score(...), computed in chunks that double in size from firstChunkSize.
+      After every chunk but the last, onProgress gets the best candidates so far (best first),
+      so a caller can show a provisional ranking long before a large pool is fully scored.
+     */
+    public List<ScoredCandidate> scoreProgressively(long[] candidateIds, CandidateSnapshot candidates,
+                                                    JobScoringContext job, MatchCriteria criteria,
+                                                    int firstChunkSize, Consumer<List<ScoredCandidate>> onProgress) {
+        AtomicLong sharedCutoff = new AtomicLong(Double.doubleToLongBits(0.0));
+        TopKSelector<ScoredCandidate> selected = new TopKSelector<>(criteria.getMaxMatches());
+
+        int chunkSize = Math.max(1, firstChunkSize);
+        for (int from = 0; from < candidateIds.length; ) {
+            int to = (int) Math.min(candidateIds.length, (long) from + chunkSize);
+            // Sequence numbers are positions in candidateIds, so chunking does not affect ties
+            selected.addAll(!parallelEnabled || to - from < parallelThreshold
+                    ? scoreRange(candidateIds, from, to, candidates, job, criteria, sharedCutoff)
+                    : scoringPool.invoke(new ScoringTask(candidateIds, from, to, candidates, job, criteria,
+                    sharedCutoff)));
+            if (selected.isFull()) {
+                publishCutoff(sharedCutoff, selected.cutoff());
+            }
+
+            from = to;
+            chunkSize = (int) Math.min(Integer.MAX_VALUE, 2L * chunkSize);
+            if (from < candidateIds.length) {
+                onProgress.accept(selected.toList());
+            }
+        }
+        return selected.toList();
+    }
+
+    /*
+      Shared pass for a batch: each group holds jobs of one type in one grid cell, so a
+      candidate row is read once and its expertise and rating scores computed once for all of
+      them. Returns each job's top candidates, best first, keyed by job ID.
+     */
+    public Map<Long, List<ScoredCandidate>> scoreGroups(List<JobGroup> groups, CandidateSnapshot candidates,
+                                                        MatchCriteria criteria) {
+        Map<Long, List<ScoredCandidate>> results = new ConcurrentHashMap<>();
+        if (parallelEnabled && groups.size() > 1) {
+            scoringPool.submit(() -> groups.parallelStream()
+                    .forEach(group -> scoreGroup(group, candidates, criteria, results))).join();
+        } else {
+            groups.forEach(group -> scoreGroup(group, candidates, criteria, results));
+        }
+        return results;
+    }
+
+    private void scoreGroup(JobGroup group, CandidateSnapshot candidates, MatchCriteria criteria,
+                            Map<Long, List<ScoredCandidate>> results) {
+        List<JobScoringContext> jobs = group.jobs();
+        List<TopKSelector<ScoredCandidate>> selectors = new ArrayList<>(jobs.size());
+        for (int j = 0; j < jobs.size(); j++) {
+            selectors.add(new TopKSelector<>(criteria.getMaxMatches()));
+        }
+        long[] memberIds = group.memberIds();
+        ScoringPlan plan = matchingEngine.planFor(criteria);
+        long evaluated = 0;
+        long pruned = 0;
+        long aboveThreshold = 0;
+
+        for (int i = 0; i < memberIds.length; i++) {
+            long professionalId = memberIds[i];
+            int row = candidates.rowOf(professionalId);
+            if (row < 0) {
+                continue; // Not in the snapshot yet
+            }
+            try {
+                // Dimensions shared by every job in the group (same professional, same job type)
+                double[] sharedScores = plan.sharedScores(candidates, row, jobs.get(0));
+
+                for (int j = 0; j < jobs.size(); j++) {
+                    JobScoringContext job = jobs.get(j);
+                    if (!DistanceScorer.covers(candidates, row, job)) {
+                        continue; // Same coverage rule as the geo index
+                    }
+                    if (metrics.sampleDimensions(i)) {
+                        matchingEngine.timeDimensions(candidates, row, job, metrics);
+                    }
+                    evaluated++;
+                    TopKSelector<ScoredCandidate> selector = selectors.get(j);
+                    double threshold = Math.max(criteria.getMinimumMatchScore(), selector.cutoff());
+                    double totalScore = plan.totalScore(candidates, row, job, sharedScores, threshold);
+                    if (totalScore == MatchingEngine.PRUNED) {
+                        pruned++;
+                    } else if (totalScore >= criteria.getMinimumMatchScore()) {
+                        aboveThreshold++;
+                        if (selector.accepts(totalScore, i)) {
+                            selector.offer(totalScore, i, new ScoredCandidate(professionalId, row, totalScore));
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Error calculating match score for professional {}: {}",
+                        professionalId, e.getMessage());
+            }
+        }
+
+        metrics.recordScoring(evaluated, pruned, aboveThreshold);
+        for (int j = 0; j < jobs.size(); j++) {
+            results.put(jobs.get(j).jobId(), selectors.get(j).toList());
+        }
+    }
+
+    private TopKSelector<ScoredCandidate> scoreRange(long[] candidateIds, int from, int to,
+                                                     CandidateSnapshot candidates, JobScoringContext job,
+                                                     MatchCriteria criteria, AtomicLong sharedCutoff) {
+        TopKSelector<ScoredCandidate> selector = new TopKSelector<>(criteria.getMaxMatches());
+        ScoringPlan plan = matchingEngine.planFor(criteria);
+        long evaluated = 0;
+        long pruned = 0;
+        long aboveThreshold = 0;
+
+        for (int i = from; i < to; i++) {
+            long professionalId = candidateIds[i];
+            int row = candidates.rowOf(professionalId);
+            if (row < 0) {
+                continue; // Not in the snapshot yet
+            }
+            try {
+                if (metrics.sampleDimensions(i)) {
+                    matchingEngine.timeDimensions(candidates, row, job, metrics);
+                }
+                evaluated++;
+
+                // Stop scoring early once the minimum score or the top K cutoff is out of reach
+                double threshold = Math.max(criteria.getMinimumMatchScore(),
+                        Math.max(Double.longBitsToDouble(sharedCutoff.get()), selector.cutoff()));
+                double totalScore = plan.totalScore(candidates, row, job, threshold);
+
+                if (totalScore == MatchingEngine.PRUNED) {
+                    pruned++;
+                    continue;
+                }
+                // Only include if meets minimum score threshold and can still make the top K
+                if (totalScore < criteria.getMinimumMatchScore()) {
+                    continue;
+                }
+                aboveThreshold++;
+                if (totalScore < Double.longBitsToDouble(sharedCutoff.get())) {
+                    continue;
+                }
+                if (!selector.accepts(totalScore, i)) {
+                    continue;
+                }
+                selector.offer(totalScore, i, new ScoredCandidate(professionalId, row, totalScore));
+                if (selector.isFull()) {
+                    publishCutoff(sharedCutoff, selector.cutoff());
+                }
+            } catch (Exception e) {
+                log.warn("Error calculating match score for professional {}: {}",
+                        professionalId, e.getMessage());
+            }
+        }
+        metrics.recordScoring(evaluated, pruned, aboveThreshold);
+        return selector;
+    }
+
+    private static void publishCutoff(AtomicLong sharedCutoff, double cutoff) {
+        long bits = Double.doubleToLongBits(cutoff);
+        sharedCutoff.accumulateAndGet(bits, Math::max);
+    }
+
+    private class ScoringTask extends RecursiveTask<TopKSelector<ScoredCandidate>> {
+        private final long[] candidateIds;
+        private final int from;
+        private final int to;
+        private final CandidateSnapshot candidates;
+        private final JobScoringContext job;
+        private final MatchCriteria criteria;
+        private final AtomicLong sharedCutoff;
+
+        ScoringTask(long[] candidateIds, int from, int to, CandidateSnapshot candidates,
+                    JobScoringContext job, MatchCriteria criteria, AtomicLong sharedCutoff) {
+            this.candidateIds = candidateIds;
+            this.from = from;
+            this.to = to;
+            this.candidates = candidates;
+            this.job = job;
+            this.criteria = criteria;
+            this.sharedCutoff = sharedCutoff;
+        }
+
+        @Override
+        protected TopKSelector<ScoredCandidate> compute() {
+            if (to - from <= leafSize) {
+                return scoreRange(candidateIds, from, to, candidates, job, criteria, sharedCutoff);
+            }
+            int mid = (from + to) >>> 1;
+            ScoringTask left = new ScoringTask(candidateIds, from, mid, candidates, job, criteria, sharedCutoff);
+            ScoringTask right = new ScoringTask(candidateIds, mid, to, candidates, job, criteria, sharedCutoff);
+            left.fork();
+            TopKSelector<ScoredCandidate> rightResult = right.compute();
+            TopKSelector<ScoredCandidate> leftResult = left.join();
+
+            // Sequence numbers are candidate positions, so merge order does not affect ties
+            leftResult.addAll(rightResult);
+            return leftResult;
+        }
+    }
+
+    /*
+      Jobs of one type in one grid cell, and the professionals registered in that cell
+     */
+    public record JobGroup(long[] memberIds, List<JobScoringContext> jobs) {
+    }
+}
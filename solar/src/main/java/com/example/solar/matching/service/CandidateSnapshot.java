@@ -0,0 +1,525 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.common.util.GeoUtils;
+import com.example.solar.professional.domain.AvailabilitySlot;
+import com.example.solar.professional.domain.ExpertiseType;
+import com.example.solar.professional.domain.Professional;
+import com.example.solar.professional.domain.ProfessionalExpertise;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/*
+  Immutable, read-optimised copy of every matchable professional, laid out as parallel
+  primitive arrays (one row per professional, rows ordered by id).
+  The scoring loop reads rows by index, so it never touches Hibernate, BigDecimal or the
+  expertise/availability collections.
+
+  Expertise is packed per ExpertiseType ordinal: a bit in expertiseMask / certifiedMask and the
+  max years for that code in expertiseYears[row * EXPERTISE_TYPES + ordinal].
+  Free availability days live in a per-row calendar bitset (one bit per day, calendarWords
+  longs per row) covering [calendarStartDay, calendarStartDay + calendarDays), so date and
+  date-window checks are a few word masks. The rare free days outside that horizon are kept
+  as sorted epoch days, rows sliced by overflowDayOffsets, so answers stay exact.
+ */
+public final class CandidateSnapshot {
+
+    static final int EXPERTISE_TYPES = ExpertiseType.values().length;
+
+    // Default calendar: a week back (the flexibility window) and a year ahead
+    static final int DEFAULT_LOOKBACK_DAYS = 7;
+    static final int DEFAULT_HORIZON_DAYS = 365;
+
+    public static final CandidateSnapshot EMPTY = build(List.of());
+
+    private final long[] ids;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final int[] serviceRadiusKm;
+    private final double[] coverageLonDegrees;
+    private final double[] hourlyRates;
+    private final short[] ratingHundredths;
+    private final int[] jobsCompleted;
+    private final boolean[] verified;
+    private final int[] expertiseMasks;
+    private final int[] certifiedMasks;
+    private final byte[] expertiseYears;
+    private final int[] slotCounts;
+    private final int[] freeSlotCounts;
+    private final long calendarStartDay;
+    private final int calendarDays;
+    private final int calendarWords;
+    private final long[] calendars;
+    private final int[] overflowDayOffsets;
+    private final int[] overflowDays;
+
+    private CandidateSnapshot(int size, int totalOverflowDays, long calendarStartDay, int calendarDays) {
+        ids = new long[size];
+        latitudes = new double[size];
+        longitudes = new double[size];
+        serviceRadiusKm = new int[size];
+        coverageLonDegrees = new double[size];
+        hourlyRates = new double[size];
+        ratingHundredths = new short[size];
+        jobsCompleted = new int[size];
+        verified = new boolean[size];
+        expertiseMasks = new int[size];
+        certifiedMasks = new int[size];
+        expertiseYears = new byte[size * EXPERTISE_TYPES];
+        slotCounts = new int[size];
+        freeSlotCounts = new int[size];
+        this.calendarStartDay = calendarStartDay;
+        this.calendarDays = calendarDays;
+        this.calendarWords = (calendarDays + 63) >>> 6;
+        calendars = new long[size * calendarWords];
+        overflowDayOffsets = new int[size + 1];
+        overflowDays = new int[totalOverflowDays];
+    }
+
+    public static CandidateSnapshot build(Collection<Row> rows) {
+        return build(rows, LocalDate.now().toEpochDay() - DEFAULT_LOOKBACK_DAYS,
+                DEFAULT_LOOKBACK_DAYS + DEFAULT_HORIZON_DAYS);
+    }
+
+    /*
+      Builds a snapshot whose availability calendars cover calendarDays days from calendarStartDay
+     */
+    public static CandidateSnapshot build(Collection<Row> rows, long calendarStartDay, int calendarDays) {
+        Row[] sorted = rows.toArray(new Row[0]);
+        Arrays.sort(sorted, Comparator.comparingLong(r -> r.id));
+        long calendarEndDay = calendarStartDay + Math.max(0, calendarDays);
+
+        int totalOverflowDays = 0;
+        for (Row row : sorted) {
+            for (int day : row.freeDays()) {
+                if (day < calendarStartDay || day >= calendarEndDay) {
+                    totalOverflowDays++;
+                }
+            }
+        }
+
+        CandidateSnapshot snapshot = new CandidateSnapshot(
+                sorted.length, totalOverflowDays, calendarStartDay, Math.max(0, calendarDays));
+        int dayCursor = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            dayCursor = snapshot.fill(i, sorted[i], dayCursor);
+        }
+        snapshot.overflowDayOffsets[sorted.length] = dayCursor;
+        return snapshot;
+    }
+
+    /*
+      Copy of this snapshot with one professional's row replaced, added (not present yet) or
+      removed (replacement null), on the same calendar. The columns are copied in bulk around
+      the changed position and only that row is encoded, so a single change costs a few array
+      copies instead of re-encoding and re-sorting every row.
+     */
+    public CandidateSnapshot withRow(long professionalId, Row replacement) {
+        if (replacement != null && replacement.id != professionalId) {
+            throw new IllegalArgumentException("Row " + replacement.id + " does not belong to " + professionalId);
+        }
+        int pos = rowOf(professionalId);
+        if (pos < 0 && replacement == null) {
+            return this;
+        }
+        int index = pos >= 0 ? pos : -pos - 1;
+        int sourceAfter = pos >= 0 ? pos + 1 : index;
+        int targetAfter = replacement != null ? index + 1 : index;
+        int afterRows = ids.length - sourceAfter;
+        int size = targetAfter + afterRows;
+
+        long calendarEndDay = calendarStartDay + calendarDays;
+        int newOverflow = 0;
+        if (replacement != null) {
+            for (int day : replacement.freeDays()) {
+                if (day < calendarStartDay || day >= calendarEndDay) {
+                    newOverflow++;
+                }
+            }
+        }
+        int dayDelta = newOverflow - (overflowDayOffsets[sourceAfter] - overflowDayOffsets[index]);
+
+        CandidateSnapshot snapshot = new CandidateSnapshot(size, overflowDays.length + dayDelta,
+                calendarStartDay, calendarDays);
+        copyAround(ids, snapshot.ids, 1, index, sourceAfter, targetAfter, afterRows);
+        copyAround(latitudes, snapshot.latitudes, 1, index, sourceAfter, targetAfter, afterRows);
+        copyAround(longitudes, snapshot.longitudes, 1, index, sourceAfter, targetAfter, afterRows);
+        copyAround(serviceRadiusKm, snapshot.serviceRadiusKm, 1, index, sourceAfter, targetAfter, afterRows);
+        copyAround(coverageLonDegrees, snapshot.coverageLonDegrees, 1, index, sourceAfter, targetAfter, afterRows);
+        copyAround(hourlyRates, snapshot.hourlyRates, 1, index, sourceAfter, targetAfter, afterRows);
+        copyAround(ratingHundredths, snapshot.ratingHundredths, 1, index, sourceAfter, targetAfter, afterRows);
+        copyAround(jobsCompleted, snapshot.jobsCompleted, 1, index, sourceAfter, targetAfter, afterRows);
+        copyAround(verified, snapshot.verified, 1, index, sourceAfter, targetAfter, afterRows);
+        copyAround(expertiseMasks, snapshot.expertiseMasks, 1, index, sourceAfter, targetAfter, afterRows);
+        copyAround(certifiedMasks, snapshot.certifiedMasks, 1, index, sourceAfter, targetAfter, afterRows);
+        copyAround(expertiseYears, snapshot.expertiseYears, EXPERTISE_TYPES, index, sourceAfter, targetAfter, afterRows);
+        copyAround(slotCounts, snapshot.slotCounts, 1, index, sourceAfter, targetAfter, afterRows);
+        copyAround(freeSlotCounts, snapshot.freeSlotCounts, 1, index, sourceAfter, targetAfter, afterRows);
+        copyAround(calendars, snapshot.calendars, calendarWords, index, sourceAfter, targetAfter, afterRows);
+
+        // Overflow days: unchanged before the row, shifted by dayDelta after it
+        int dayCursor = overflowDayOffsets[index];
+        System.arraycopy(overflowDays, 0, snapshot.overflowDays, 0, dayCursor);
+        System.arraycopy(overflowDayOffsets, 0, snapshot.overflowDayOffsets, 0, index);
+        if (replacement != null) {
+            dayCursor = snapshot.fill(index, replacement, dayCursor);
+        }
+        System.arraycopy(overflowDays, overflowDayOffsets[sourceAfter], snapshot.overflowDays, dayCursor,
+                overflowDays.length - overflowDayOffsets[sourceAfter]);
+        for (int i = 0; i <= afterRows; i++) {
+            snapshot.overflowDayOffsets[targetAfter + i] = overflowDayOffsets[sourceAfter + i] + dayDelta;
+        }
+        return snapshot;
+    }
+
+    /*
+      Encodes row into position i (whose calendar words are still zero), appending its
+      out-of-calendar free days at dayCursor. Returns the new cursor.
+     */
+    private int fill(int i, Row row, int dayCursor) {
+        ids[i] = row.id;
+        latitudes[i] = row.latitude;
+        longitudes[i] = row.longitude;
+        serviceRadiusKm[i] = row.serviceRadiusKm;
+        coverageLonDegrees[i] = Double.isNaN(row.latitude)
+                ? 0.0
+                : GeoUtils.longitudeHalfWidth(row.latitude, row.serviceRadiusKm);
+        hourlyRates[i] = row.hourlyRate;
+        ratingHundredths[i] = row.ratingHundredths;
+        jobsCompleted[i] = row.jobsCompleted;
+        verified[i] = row.verified;
+        expertiseMasks[i] = row.expertiseMask;
+        certifiedMasks[i] = row.certifiedMask;
+        System.arraycopy(row.expertiseYears, 0, expertiseYears, i * EXPERTISE_TYPES, EXPERTISE_TYPES);
+        slotCounts[i] = row.slotCount;
+        freeSlotCounts[i] = row.freeSlotCount;
+
+        overflowDayOffsets[i] = dayCursor;
+        long calendarEndDay = calendarStartDay + calendarDays;
+        int calendarBase = i * calendarWords;
+        for (int day : row.freeDays()) {
+            if (day < calendarStartDay || day >= calendarEndDay) {
+                overflowDays[dayCursor++] = day;
+            } else {
+                int offset = (int) (day - calendarStartDay);
+                calendars[calendarBase + (offset >>> 6)] |= 1L << offset;
+            }
+        }
+        return dayCursor;
+    }
+
+    /*
+      Copies the rows before index and the afterRows rows from sourceAfter (to targetAfter) of
+      a column holding stride values per row
+     */
+    private static void copyAround(Object source, Object target, int stride, int index,
+                                   int sourceAfter, int targetAfter, int afterRows) {
+        System.arraycopy(source, 0, target, 0, index * stride);
+        System.arraycopy(source, sourceAfter * stride, target, targetAfter * stride, afterRows * stride);
+    }
+
+    /*
+      Single-row snapshot of a hydrated entity, so entity callers share the row scoring path
+     */
+    public static CandidateSnapshot of(Professional professional) {
+        Row row = new Row(professional.getId() != null ? professional.getId() : 0L)
+                .profile(professional.getLatitude(), professional.getLongitude(),
+                        professional.getServiceRadiusKm(), professional.getHourlyRate(),
+                        professional.getRating(), professional.getTotalJobsCompleted(),
+                        professional.getIsVerified());
+        if (professional.getExpertiseList() != null) {
+            for (ProfessionalExpertise expertise : professional.getExpertiseList()) {
+                row.addExpertise(expertise.getExpertiseType(), expertise.getYearsExperience(),
+                        expertise.getCertificationName());
+            }
+        }
+        if (professional.getAvailabilitySlots() != null) {
+            for (AvailabilitySlot slot : professional.getAvailabilitySlots()) {
+                row.addSlot(slot.getDate(), slot.getIsBooked());
+            }
+        }
+        return build(List.of(row));
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /*
+      Row of the given professional, or a negative value if they are not in this snapshot
+     */
+    public int rowOf(long professionalId) {
+        return Arrays.binarySearch(ids, professionalId);
+    }
+
+    public long id(int row) {
+        return ids[row];
+    }
+
+    public double latitude(int row) {
+        return latitudes[row];
+    }
+
+    public double longitude(int row) {
+        return longitudes[row];
+    }
+
+    public int serviceRadiusKm(int row) {
+        return serviceRadiusKm[row];
+    }
+
+    /*
+      Bounding-box prefilter for the row's service area: false only if the point is certainly
+      outside it. The box half-width is precomputed per row, so this is a few comparisons.
+     */
+    public boolean coverageBoxContains(int row, double latitude, double longitude) {
+        return GeoUtils.withinBox(latitudes[row], longitudes[row], latitude, longitude,
+                GeoUtils.latitudeHalfHeight(serviceRadiusKm[row]), coverageLonDegrees[row]);
+    }
+
+    /*
+      Hourly rate, NaN when the professional has not set one
+     */
+    public double hourlyRate(int row) {
+        return hourlyRates[row];
+    }
+
+    /*
+      Rating in stars (0-5); 0 for professionals without reviews
+     */
+    public double rating(int row) {
+        return ratingHundredths[row] / 100.0;
+    }
+
+    public int jobsCompleted(int row) {
+        return jobsCompleted[row];
+    }
+
+    public boolean verified(int row) {
+        return verified[row];
+    }
+
+    public int expertiseMask(int row) {
+        return expertiseMasks[row];
+    }
+
+    public int certifiedMask(int row) {
+        return certifiedMasks[row];
+    }
+
+    public int expertiseYears(int row, int expertiseOrdinal) {
+        return expertiseYears[row * EXPERTISE_TYPES + expertiseOrdinal];
+    }
+
+    public int slotCount(int row) {
+        return slotCounts[row];
+    }
+
+    public int freeSlotCount(int row) {
+        return freeSlotCounts[row];
+    }
+
+    /*
+      Whether the row has at least one unbooked slot on a day in [fromEpochDay, toEpochDay]
+     */
+    public boolean hasFreeDayBetween(int row, long fromEpochDay, long toEpochDay) {
+        long calendarEndDay = calendarStartDay + calendarDays;
+        long from = Math.max(fromEpochDay, calendarStartDay);
+        long to = Math.min(toEpochDay, calendarEndDay - 1);
+        if (from <= to && anyCalendarBit(row, (int) (from - calendarStartDay), (int) (to - calendarStartDay))) {
+            return true;
+        }
+        if (fromEpochDay >= calendarStartDay && toEpochDay < calendarEndDay) {
+            return false; // Window fully inside the calendar
+        }
+        return hasOverflowDayBetween(row, fromEpochDay, toEpochDay);
+    }
+
+    public long calendarStartDay() {
+        return calendarStartDay;
+    }
+
+    public int calendarDays() {
+        return calendarDays;
+    }
+
+    private boolean anyCalendarBit(int row, int firstOffset, int lastOffset) {
+        int base = row * calendarWords;
+        int firstWord = firstOffset >>> 6;
+        int lastWord = lastOffset >>> 6;
+        long firstMask = -1L << firstOffset;
+        long lastMask = -1L >>> (63 - (lastOffset & 63));
+
+        if (firstWord == lastWord) {
+            return (calendars[base + firstWord] & firstMask & lastMask) != 0;
+        }
+        if ((calendars[base + firstWord] & firstMask) != 0) {
+            return true;
+        }
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            if (calendars[base + word] != 0) {
+                return true;
+            }
+        }
+        return (calendars[base + lastWord] & lastMask) != 0;
+    }
+
+    private boolean hasOverflowDayBetween(int row, long fromEpochDay, long toEpochDay) {
+        int from = overflowDayOffsets[row];
+        int to = overflowDayOffsets[row + 1];
+        if (from == to) {
+            return false;
+        }
+        int pos = Arrays.binarySearch(overflowDays, from, to, (int) Math.max(Integer.MIN_VALUE, fromEpochDay));
+        int insertion = pos >= 0 ? pos : -pos - 1;
+        return insertion < to && overflowDays[insertion] <= toEpochDay;
+    }
+
+    /*
+      Mutable per-professional accumulator the snapshot is built from
+     */
+    public static final class Row {
+        private final long id;
+        private double latitude = Double.NaN;
+        private double longitude = Double.NaN;
+        private int serviceRadiusKm;
+        private double hourlyRate = Double.NaN;
+        private short ratingHundredths;
+        private int jobsCompleted;
+        private boolean verified;
+        private int expertiseMask;
+        private int certifiedMask;
+        private final byte[] expertiseYears = new byte[EXPERTISE_TYPES];
+        private int slotCount;
+        private int freeSlotCount;
+        private int[] freeDays = new int[0];
+        private int freeDayCount;
+        private boolean freeDaysCompact = true;
+
+        public Row(long id) {
+            this.id = id;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public Row profile(BigDecimal latitude, BigDecimal longitude, Integer serviceRadiusKm,
+                           BigDecimal hourlyRate, BigDecimal rating, Integer jobsCompleted, Boolean verified) {
+            this.latitude = latitude != null ? latitude.doubleValue() : Double.NaN;
+            this.longitude = longitude != null ? longitude.doubleValue() : Double.NaN;
+            this.serviceRadiusKm = serviceRadiusKm != null ? serviceRadiusKm : 0;
+            this.hourlyRate = hourlyRate != null ? hourlyRate.doubleValue() : Double.NaN;
+            this.ratingHundredths = rating != null ? (short) rating.movePointRight(2).intValue() : 0;
+            this.jobsCompleted = jobsCompleted != null ? jobsCompleted : 0;
+            this.verified = Boolean.TRUE.equals(verified);
+            return this;
+        }
+
+        public Row addExpertise(String expertiseType, Integer yearsExperience, String certificationName) {
+            ExpertiseType type = ExpertiseType.fromCode(expertiseType);
+            if (type == null) {
+                return this; // Legacy free-text value; never contributes to any job type's score
+            }
+            int ordinal = type.ordinal();
+            int bit = type.bit();
+            expertiseMask |= bit;
+            if (yearsExperience != null) {
+                int years = Math.min(Byte.MAX_VALUE, Math.max(expertiseYears[ordinal], yearsExperience));
+                expertiseYears[ordinal] = (byte) years;
+            }
+            if (certificationName != null && !certificationName.isEmpty()) {
+                certifiedMask |= bit;
+            }
+            return this;
+        }
+
+        public Row addSlot(LocalDate date, Boolean booked) {
+            slotCount++;
+            if (Boolean.TRUE.equals(booked)) {
+                return this;
+            }
+            freeSlotCount++;
+            if (date == null) {
+                return this;
+            }
+            if (freeDayCount == freeDays.length) {
+                freeDays = Arrays.copyOf(freeDays, Math.max(4, freeDayCount * 2));
+            }
+            freeDays[freeDayCount++] = (int) date.toEpochDay();
+            freeDaysCompact = false;
+            return this;
+        }
+
+        int[] freeDays() {
+            if (!freeDaysCompact) {
+                int[] days = Arrays.copyOf(freeDays, freeDayCount);
+                Arrays.sort(days);
+                int distinct = 0;
+                for (int i = 0; i < days.length; i++) {
+                    if (i == 0 || days[i] != days[i - 1]) {
+                        days[distinct++] = days[i];
+                    }
+                }
+                freeDays = Arrays.copyOf(days, distinct);
+                freeDayCount = distinct;
+                freeDaysCompact = true;
+            }
+            return freeDays;
+        }
+
+        /*
+          Bytes written by writeTo; see CandidateSnapshotFile for the layout
+         */
+        int encodedSize() {
+            return 8 + 8 + 8 + 4 + 8 + 2 + 4 + 1 + 4 + 4 + EXPERTISE_TYPES + 4 + 4 + 4 + 4 * freeDays().length;
+        }
+
+        void writeTo(ByteBuffer out) {
+            int[] days = freeDays();
+            out.putLong(id)
+                    .putDouble(latitude)
+                    .putDouble(longitude)
+                    .putInt(serviceRadiusKm)
+                    .putDouble(hourlyRate)
+                    .putShort(ratingHundredths)
+                    .putInt(jobsCompleted)
+                    .put((byte) (verified ? 1 : 0))
+                    .putInt(expertiseMask)
+                    .putInt(certifiedMask)
+                    .put(expertiseYears)
+                    .putInt(slotCount)
+                    .putInt(freeSlotCount)
+                    .putInt(days.length);
+            for (int day : days) {
+                out.putInt(day);
+            }
+        }
+
+        static Row readFrom(ByteBuffer in) {
+            Row row = new Row(in.getLong());
+            row.latitude = in.getDouble();
+            row.longitude = in.getDouble();
+            row.serviceRadiusKm = in.getInt();
+            row.hourlyRate = in.getDouble();
+            row.ratingHundredths = in.getShort();
+            row.jobsCompleted = in.getInt();
+            row.verified = in.get() != 0;
+            row.expertiseMask = in.getInt();
+            row.certifiedMask = in.getInt();
+            in.get(row.expertiseYears);
+            row.slotCount = in.getInt();
+            row.freeSlotCount = in.getInt();
+            row.freeDays = new int[in.getInt()];
+            in.asIntBuffer().get(row.freeDays);
+            in.position(in.position() + 4 * row.freeDays.length);
+            row.freeDayCount = row.freeDays.length;
+            return row;
+        }
+    }
+}
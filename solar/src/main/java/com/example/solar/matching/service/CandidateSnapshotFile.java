@@ -0,0 +1,161 @@
+package com.example.solar.matching.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/*
+  On-disk copy of the snapshot rows, so a restarting pod can skip the full table load.
+
+  Layout (little endian):
+    header   magic, format version, EXPERTISE_TYPES, shard layout (ShardMap.layoutHash),
+             watermark (3 longs), row count, payload length, CRC32C of the payload
+    payload  rows as written by CandidateSnapshot.Row.writeTo
+
+  Files are written to a temporary file in the same directory, mapped read-write, and moved
+  into place atomically, so a crash never leaves a half-written snapshot behind. Reading maps
+  the file, verifies the checksum over the mapped payload and decodes the rows; any mismatch
+  (other format version, other expertise layout, rows kept or radii capped for another shard
+  layout, corrupt or truncated file) reads as absent.
+ */
+final class CandidateSnapshotFile {
+
+    private static final int MAGIC = 0x534F4C53; // "SOLS"
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 4 + 3 * 8 + 4 + 8 + 8;
+
+    // Watermark value for "no rows" / "no timestamp"
+    private static final long NONE = Long.MIN_VALUE;
+
+    private CandidateSnapshotFile() {
+    }
+
+    /*
+      How far the database had got when the rows were read: the latest professional update and
+      the highest expertise and availability slot ids. Rows changed after it need a top-up.
+     */
+    record Watermark(LocalDateTime maxUpdatedAt, Long maxExpertiseId, Long maxSlotId) {
+    }
+
+    record Contents(Watermark watermark, List<CandidateSnapshot.Row> rows) {
+    }
+
+    static void write(Path path, int shardLayout, Watermark watermark, Collection<CandidateSnapshot.Row> rows) throws IOException {
+        long payloadBytes = 0;
+        for (CandidateSnapshot.Row row : rows) {
+            payloadBytes += row.encodedSize();
+        }
+        if (HEADER_BYTES + payloadBytes > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of " + payloadBytes + " bytes exceeds a single mapping");
+        }
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + payloadBytes);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+                ByteBuffer payload = buffer.slice(HEADER_BYTES, (int) payloadBytes).order(ByteOrder.LITTLE_ENDIAN);
+                for (CandidateSnapshot.Row row : rows) {
+                    row.writeTo(payload);
+                }
+                CRC32C crc = new CRC32C();
+                crc.update(payload.flip());
+
+                buffer.putInt(MAGIC)
+                        .putInt(FORMAT_VERSION)
+                        .putInt(CandidateSnapshot.EXPERTISE_TYPES)
+                        .putInt(shardLayout)
+                        .putLong(toLong(watermark.maxUpdatedAt()))
+                        .putLong(watermark.maxExpertiseId() != null ? watermark.maxExpertiseId() : NONE)
+                        .putLong(watermark.maxSlotId() != null ? watermark.maxSlotId() : NONE)
+                        .putInt(rows.size())
+                        .putLong(payloadBytes)
+                        .putLong(crc.getValue());
+                buffer.force();
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    static Optional<Contents> read(Path path, int shardLayout) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                return Optional.empty();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION
+                    || buffer.getInt() != CandidateSnapshot.EXPERTISE_TYPES || buffer.getInt() != shardLayout) {
+                return Optional.empty();
+            }
+            Watermark watermark = new Watermark(toDateTime(buffer.getLong()), toId(buffer.getLong()),
+                    toId(buffer.getLong()));
+            int rowCount = buffer.getInt();
+            long payloadBytes = buffer.getLong();
+            long checksum = buffer.getLong();
+            if (rowCount < 0 || payloadBytes != size - HEADER_BYTES) {
+                return Optional.empty();
+            }
+
+            ByteBuffer payload = buffer.slice(HEADER_BYTES, (int) payloadBytes).order(ByteOrder.LITTLE_ENDIAN);
+            CRC32C crc = new CRC32C();
+            crc.update(payload.duplicate());
+            if (crc.getValue() != checksum) {
+                return Optional.empty();
+            }
+
+            List<CandidateSnapshot.Row> rows = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                rows.add(CandidateSnapshot.Row.readFrom(payload));
+            }
+            return Optional.of(new Contents(watermark, rows));
+        } catch (RuntimeException e) {
+            return Optional.empty(); // Checksum passed but the rows do not decode: treat as corrupt
+        }
+    }
+
+    private static long toLong(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return NONE;
+        }
+        // Microseconds, the precision Postgres keeps for timestamps
+        return dateTime.toLocalDate().toEpochDay() * 86_400_000_000L + dateTime.toLocalTime().toNanoOfDay() / 1000;
+    }
+
+    private static LocalDateTime toDateTime(long micros) {
+        if (micros == NONE) {
+            return null;
+        }
+        return LocalDateTime.of(LocalDate.ofEpochDay(Math.floorDiv(micros, 86_400_000_000L)),
+                LocalTime.ofNanoOfDay(Math.floorMod(micros, 86_400_000_000L) * 1000));
+    }
+
+    private static Long toId(long value) {
+        return value == NONE ? null : value;
+    }
+}
@@ -0,0 +1,377 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.professional.domain.ProfessionalChangedEvent;
+import com.example.solar.professional.dto.AvailabilityScoringView;
+import com.example.solar.professional.dto.ExpertiseScoringView;
+import com.example.solar.professional.dto.ProfessionalLocationView;
+import com.example.solar.professional.dto.ProfessionalScoringView;
+import com.example.solar.professional.repository.AvailabilitySlotRepository;
+import com.example.solar.professional.repository.ProfessionalExpertiseRepository;
+import com.example.solar.professional.repository.ProfessionalRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+  Owns the current CandidateSnapshot.
+  The first read loads every professional with three flat projection queries; afterwards each
+  ProfessionalChangedEvent reloads only that professional's row and publishes a copy of the
+  snapshot with just that row replaced (CandidateSnapshot.withRow), so readers always see a
+  complete, immutable view and a write costs a few column copies rather than a full rebuild.
+
+  With matching.snapshot.file set, the rows are saved to that file together with a database
+  watermark (see CandidateSnapshotFile): after every load, every save-interval-seconds while
+  professionals keep changing, and at shutdown. On restart the rows come from the file instead,
+  and only professionals created, updated or deleted since the watermark are reloaded.
+    - Transactions commit after they stamp updated_at, so the top-up looks watermark-overlap
+      back from the saved timestamp to catch those that committed after the watermark was read.
+    - Expertise and availability rows have no timestamp of their own: every change to them
+      (added, deleted, slot booked or freed) must touch the professional's updated_at, as
+      ProfessionalService does. Their highest ids additionally catch rows added by writers
+      that do not.
+
+  In the partitioned mode only the professionals this node owns (see ShardMap) are kept, with
+  service radii capped at the shard reach, and changes made through other nodes arrive through
+  ProfessionalChangeRelay.
+ */
+@Component
+@Slf4j
+public class CandidateSnapshotService {
+
+    // Beyond this share of changed professionals, reloading everything beats topping up
+    private static final double MAX_TOP_UP_FRACTION = 0.25;
+    private static final int TOP_UP_BATCH_SIZE = 1000;
+
+    private final ProfessionalRepository professionalRepository;
+    private final ProfessionalExpertiseRepository expertiseRepository;
+    private final AvailabilitySlotRepository availabilitySlotRepository;
+    private final int calendarHorizonDays;
+    private final Path snapshotFile;
+    private final boolean preload;
+    private final ShardMap shardMap;
+    private final Duration watermarkOverlap;
+    private final ScheduledExecutorService saver;
+
+    private final Map<Long, CandidateSnapshot.Row> rows = new HashMap<>();
+    private volatile CandidateSnapshot current;
+    // Whether rows changed since the last save
+    private boolean unsaved;
+
+    public CandidateSnapshotService(ProfessionalRepository professionalRepository,
+                                    ProfessionalExpertiseRepository expertiseRepository,
+                                    AvailabilitySlotRepository availabilitySlotRepository,
+                                    @Value("${matching.availability.horizon-days:365}") int calendarHorizonDays,
+                                    @Value("${matching.snapshot.file:}") String snapshotFile,
+                                    @Value("${matching.snapshot.preload:false}") boolean preload,
+                                    @Value("${matching.snapshot.watermark-overlap-seconds:300}") long watermarkOverlapSeconds,
+                                    @Value("${matching.snapshot.save-interval-seconds:600}") long saveIntervalSeconds,
+                                    ShardMap shardMap) {
+        this.professionalRepository = professionalRepository;
+        this.expertiseRepository = expertiseRepository;
+        this.availabilitySlotRepository = availabilitySlotRepository;
+        this.calendarHorizonDays = calendarHorizonDays;
+        this.snapshotFile = snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+        this.preload = preload;
+        this.shardMap = shardMap;
+        this.watermarkOverlap = Duration.ofSeconds(Math.max(0, watermarkOverlapSeconds));
+
+        if (this.snapshotFile != null && saveIntervalSeconds > 0) {
+            saver = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "candidate-snapshot-saver");
+                thread.setDaemon(true);
+                return thread;
+            });
+            saver.scheduleWithFixedDelay(this::save, saveIntervalSeconds, saveIntervalSeconds, TimeUnit.SECONDS);
+        } else {
+            saver = null;
+        }
+    }
+
+    /*
+      Builds the snapshot at startup rather than on the first match request
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        if (preload) {
+            current();
+        }
+    }
+
+    public CandidateSnapshot current() {
+        CandidateSnapshot snapshot = current;
+        if (snapshot == null) {
+            synchronized (this) {
+                if (current == null) {
+                    reload();
+                }
+                snapshot = current;
+            }
+        }
+        return snapshot;
+    }
+
+    /*
+      Rebuilds the snapshot from scratch, or from the snapshot file plus the changes since it
+     */
+    public synchronized void reload() {
+        if (snapshotFile == null) {
+            loadAll();
+            current = buildSnapshot();
+            log.info("Candidate snapshot built with {} professionals", current.size());
+            return;
+        }
+
+        int refreshed = loadFromFile();
+        if (refreshed < 0) {
+            loadAll();
+        }
+        current = buildSnapshot();
+        log.info("Candidate snapshot built with {} professionals{}", current.size(),
+                refreshed < 0 ? "" : " from " + snapshotFile + ", " + refreshed + " refreshed");
+
+        unsaved = refreshed != 0;
+        save();
+    }
+
+    /*
+      Writes the rows to the snapshot file if they changed since it was last written, with the
+      watermark read just before the rows are copied, so a restart after days of uptime only
+      tops up what changed since the last save. Changes committed by then whose events have not
+      been applied yet are stamped before the watermark and caught by the overlap on restart.
+     */
+    public void save() {
+        CandidateSnapshotFile.Watermark savedWatermark;
+        List<CandidateSnapshot.Row> savedRows;
+        synchronized (this) {
+            if (snapshotFile == null || current == null || !unsaved) {
+                return;
+            }
+            try {
+                savedWatermark = new CandidateSnapshotFile.Watermark(professionalRepository.findMaxUpdatedAt(),
+                        expertiseRepository.findMaxId(), availabilitySlotRepository.findMaxId());
+            } catch (RuntimeException e) {
+                log.warn("Could not read the candidate snapshot watermark, not saving: {}", e.getMessage());
+                return;
+            }
+            // Rows are replaced, never modified, so a copy of the references is a consistent view
+            savedRows = new ArrayList<>(rows.values());
+            unsaved = false;
+        }
+        try {
+            CandidateSnapshotFile.write(snapshotFile, shardMap.layoutHash(), savedWatermark, savedRows);
+            log.info("Candidate snapshot saved to {}", snapshotFile);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not save the candidate snapshot to {}: {}", snapshotFile, e.getMessage());
+            synchronized (this) {
+                unsaved = true;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (saver != null) {
+            saver.shutdownNow();
+        }
+        save();
+    }
+
+    @TransactionalEventListener
+    @Order(0) // Refresh before MatchRescoringService reads it
+    public void onProfessionalChanged(ProfessionalChangedEvent event) {
+        synchronized (this) {
+            if (current == null) {
+                return; // Picked up by the initial load (checked under the lock, as in OpenJobIndex)
+            }
+            Long id = event.professionalId();
+            CandidateSnapshot.Row row = event.changeType() == ProfessionalChangedEvent.ChangeType.DELETED
+                    ? null
+                    : professionalRepository.findScoringViewById(id)
+                            .filter(this::isLocal)
+                            .map(this::loadRow)
+                            .orElse(null);
+            if (row != null) {
+                rows.put(id, row);
+            } else {
+                rows.remove(id);
+            }
+            // The calendar moves with the date: re-encode everything once it is a day behind
+            current = current.calendarStartDay() == calendarStartDay()
+                    ? current.withRow(id, row)
+                    : buildSnapshot();
+            unsaved = true;
+        }
+    }
+
+    private void loadAll() {
+        rows.clear();
+        for (ProfessionalScoringView professional : professionalRepository.findAllScoringViews()) {
+            if (isLocal(professional)) {
+                rows.put(professional.getId(), toRow(professional));
+            }
+        }
+        addExpertiseAndSlots(rows, expertiseRepository.findAllScoringViews(),
+                availabilitySlotRepository.findAllScoringViews());
+    }
+
+    /*
+      Rows from the snapshot file, topped up with everything that changed after its watermark.
+      Returns the number of professionals reloaded, or -1 if the file is missing, unreadable or
+      so far behind that a full load is cheaper.
+     */
+    private int loadFromFile() {
+        Optional<CandidateSnapshotFile.Contents> contents;
+        try {
+            contents = CandidateSnapshotFile.read(snapshotFile, shardMap.layoutHash());
+        } catch (IOException e) {
+            log.warn("Could not read the candidate snapshot file {}: {}", snapshotFile, e.getMessage());
+            return -1;
+        }
+        if (contents.isEmpty()) {
+            log.info("No usable candidate snapshot file at {}, loading from the database", snapshotFile);
+            return -1;
+        }
+        CandidateSnapshotFile.Watermark saved = contents.get().watermark();
+        if (saved.maxUpdatedAt() == null && professionalRepository.findMaxUpdatedAt() != null) {
+            return -1; // Written before any update timestamps existed
+        }
+
+        rows.clear();
+        for (CandidateSnapshot.Row row : contents.get().rows()) {
+            rows.put(row.getId(), row);
+        }
+
+        // Deleted professionals drop out; new ones and those changed since the file are reloaded
+        Set<Long> existing = existingIds();
+        rows.keySet().retainAll(existing);
+        Set<Long> changed = new HashSet<>();
+        for (Long id : existing) {
+            if (!rows.containsKey(id)) {
+                changed.add(id);
+            }
+        }
+        if (saved.maxUpdatedAt() != null) {
+            changed.addAll(professionalRepository.findIdsUpdatedAfter(saved.maxUpdatedAt().minus(watermarkOverlap)));
+        }
+        changed.addAll(expertiseRepository.findProfessionalIdsWithIdAfter(
+                saved.maxExpertiseId() != null ? saved.maxExpertiseId() : 0L));
+        changed.addAll(availabilitySlotRepository.findProfessionalIdsWithIdAfter(
+                saved.maxSlotId() != null ? saved.maxSlotId() : 0L));
+
+        if (changed.size() > existing.size() * MAX_TOP_UP_FRACTION) {
+            log.info("{} of {} professionals changed since the snapshot file, loading from the database",
+                    changed.size(), existing.size());
+            return -1;
+        }
+        List<Long> ids = new ArrayList<>(changed);
+        for (int from = 0; from < ids.size(); from += TOP_UP_BATCH_SIZE) {
+            topUp(ids.subList(from, Math.min(ids.size(), from + TOP_UP_BATCH_SIZE)));
+        }
+        return changed.size();
+    }
+
+    private void topUp(List<Long> ids) {
+        Map<Long, CandidateSnapshot.Row> fresh = new HashMap<>();
+        for (ProfessionalScoringView professional : professionalRepository.findScoringViewsByIdIn(ids)) {
+            if (isLocal(professional)) {
+                fresh.put(professional.getId(), toRow(professional));
+            }
+        }
+        addExpertiseAndSlots(fresh, expertiseRepository.findScoringViewsByProfessionalIdIn(ids),
+                availabilitySlotRepository.findScoringViewsByProfessionalIdIn(ids));
+        ids.forEach(rows::remove); // Deleted in the meantime if missing from fresh
+        rows.putAll(fresh);
+    }
+
+    /*
+      Ids of the professionals this node should hold
+     */
+    private Set<Long> existingIds() {
+        if (!shardMap.isEnabled()) {
+            return new HashSet<>(professionalRepository.findAllIds());
+        }
+        Set<Long> ids = new HashSet<>();
+        for (ProfessionalLocationView location : professionalRepository.findAllLocations()) {
+            if (shardMap.ownsProfessional(location.getLatitude(), location.getLongitude())) {
+                ids.add(location.getId());
+            }
+        }
+        return ids;
+    }
+
+    private boolean isLocal(ProfessionalScoringView professional) {
+        return shardMap.ownsProfessional(professional.getLatitude(), professional.getLongitude());
+    }
+
+    private static void addExpertiseAndSlots(Map<Long, CandidateSnapshot.Row> target,
+                                             List<ExpertiseScoringView> expertiseViews,
+                                             List<AvailabilityScoringView> slots) {
+        for (ExpertiseScoringView expertise : expertiseViews) {
+            CandidateSnapshot.Row row = target.get(expertise.getProfessionalId());
+            if (row != null) {
+                row.addExpertise(expertise.getExpertiseType(), expertise.getYearsExperience(),
+                        expertise.getCertificationName());
+            }
+        }
+        for (AvailabilityScoringView slot : slots) {
+            CandidateSnapshot.Row row = target.get(slot.getProfessionalId());
+            if (row != null) {
+                row.addSlot(slot.getDate(), slot.getIsBooked());
+            }
+        }
+    }
+
+    /*
+      Availability calendars start a week back, so today's flexibility window stays in range
+     */
+    private CandidateSnapshot buildSnapshot() {
+        return CandidateSnapshot.build(rows.values(), calendarStartDay(),
+                CandidateSnapshot.DEFAULT_LOOKBACK_DAYS + calendarHorizonDays);
+    }
+
+    private static long calendarStartDay() {
+        return LocalDate.now().toEpochDay() - CandidateSnapshot.DEFAULT_LOOKBACK_DAYS;
+    }
+
+    private CandidateSnapshot.Row loadRow(ProfessionalScoringView professional) {
+        CandidateSnapshot.Row row = toRow(professional);
+        List<ExpertiseScoringView> expertise =
+                expertiseRepository.findScoringViewsByProfessionalId(professional.getId());
+        for (ExpertiseScoringView e : expertise) {
+            row.addExpertise(e.getExpertiseType(), e.getYearsExperience(), e.getCertificationName());
+        }
+        for (AvailabilityScoringView slot :
+                availabilitySlotRepository.findScoringViewsByProfessionalId(professional.getId())) {
+            row.addSlot(slot.getDate(), slot.getIsBooked());
+        }
+        return row;
+    }
+
+    private CandidateSnapshot.Row toRow(ProfessionalScoringView professional) {
+        return new CandidateSnapshot.Row(professional.getId())
+                .profile(professional.getLatitude(), professional.getLongitude(),
+                        shardMap.effectiveRadiusKm(professional.getServiceRadiusKm()), professional.getHourlyRate(),
+                        professional.getRating(), professional.getTotalJobsCompleted(),
+                        professional.getIsVerified());
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.common.util.GeoUtils;
+import com.example.solar.matching.domain.MatchCriteria;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/*
+  Score distance: 100 if <= 10km, linearly decreasing to 0 at service radius.
+  Returns 0 if outside service radius
+
+  Most candidates are settled without Haversine: the service-area bounding box rejects far
+  ones, and the cheap equirectangular estimate plus its error bound settles the flat parts of
+  the curve (full marks within 10km, zero outside the radius). The sloped part uses the
+  estimate only if its error bound is within maxApproximationErrorKm, otherwise Haversine.
+ */
+@Component
+@Order(10)
+public class DistanceScorer implements MatchScorer {
+
+    public static final String NAME = "distance";
+
+    private final double maxApproximationErrorKm;
+
+    public DistanceScorer() {
+        this(0.0);
+    }
+
+    @Autowired
+    public DistanceScorer(@Value("${matching.distance.max-approximation-error-km:0.0}") double maxApproximationErrorKm) {
+        this.maxApproximationErrorKm = maxApproximationErrorKm;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int cost() {
+        return 1;
+    }
+
+    @Override
+    public double weight(MatchCriteria criteria) {
+        return criteria.getDistanceWeight();
+    }
+
+    @Override
+    public Scope scope() {
+        return Scope.JOB;
+    }
+
+    @Override
+    public double score(CandidateSnapshot candidates, int row, JobScoringContext job) {
+        int serviceRadiusKm = candidates.serviceRadiusKm(row);
+        if (!hasLocations(candidates, row, job)
+                || !candidates.coverageBoxContains(row, job.latitude(), job.longitude())) {
+            return 0.0;
+        }
+
+        GeoUtils.DistanceQuery query = job.distanceQuery();
+        double latitude = candidates.latitude(row);
+        double longitude = candidates.longitude(row);
+        double approximateKm = query.approximateDistance(latitude, longitude);
+        double errorKm = query.approximationError(approximateKm);
+        if (approximateKm - errorKm > serviceRadiusKm) {
+            return 0.0;
+        }
+        if (approximateKm + errorKm <= Math.min(GeoUtils.FULL_DISTANCE_SCORE_KM, serviceRadiusKm)) {
+            return 100.0;
+        }
+        if (errorKm <= maxApproximationErrorKm
+                && approximateKm - errorKm > GeoUtils.FULL_DISTANCE_SCORE_KM
+                && approximateKm + errorKm <= serviceRadiusKm) {
+            return GeoUtils.calculateDistanceScore(approximateKm, serviceRadiusKm);
+        }
+        return GeoUtils.calculateDistanceScore(query.distance(latitude, longitude), serviceRadiusKm);
+    }
+
+    @Override
+    public String reason(CandidateSnapshot candidates, int row, JobScoringContext job) {
+        double distanceKm = distanceKm(candidates, row, job);
+        int serviceRadiusKm = candidates.serviceRadiusKm(row);
+        if (distanceKm <= 10) {
+            return "Very close - within 10km";
+        } else if (distanceKm <= serviceRadiusKm * 0.5) {
+            return String.format("Close - %.1fkm away", distanceKm);
+        } else if (distanceKm <= serviceRadiusKm) {
+            return String.format("Within service area - %.1fkm away", distanceKm);
+        } else {
+            return String.format("Outside service area - %.1fkm away", distanceKm);
+        }
+    }
+
+    /*
+      Haversine distance between professional and job, or Double.MAX_VALUE if either has no location
+     */
+    static double distanceKm(CandidateSnapshot candidates, int row, JobScoringContext job) {
+        if (!hasLocations(candidates, row, job)) {
+            return Double.MAX_VALUE;
+        }
+        return GeoUtils.calculateDistance(candidates.latitude(row), candidates.longitude(row),
+                job.latitude(), job.longitude());
+    }
+
+    /*
+      Same answer as distanceKm(...) <= serviceRadiusKm, with Haversine only near the radius
+     */
+    static boolean covers(CandidateSnapshot candidates, int row, JobScoringContext job) {
+        int serviceRadiusKm = candidates.serviceRadiusKm(row);
+        if (!hasLocations(candidates, row, job)
+                || !candidates.coverageBoxContains(row, job.latitude(), job.longitude())) {
+            return false;
+        }
+
+        GeoUtils.DistanceQuery query = job.distanceQuery();
+        double latitude = candidates.latitude(row);
+        double longitude = candidates.longitude(row);
+        double approximateKm = query.approximateDistance(latitude, longitude);
+        double errorKm = query.approximationError(approximateKm);
+        if (approximateKm + errorKm <= serviceRadiusKm) {
+            return true;
+        }
+        return approximateKm - errorKm <= serviceRadiusKm && query.distance(latitude, longitude) <= serviceRadiusKm;
+    }
+
+    /*
+      Coverage for a distance from the batch kernel (GeoUtils.calculateDistances), which may
+      differ from the scalar formula by BATCH_DISTANCE_TOLERANCE_KM: within that band of the
+      radius the scalar distance decides, so the answer is always the one covers gives
+     */
+    static boolean coversAtBatchDistance(double batchDistanceKm, double latitude, double longitude,
+                                         double jobLatitude, double jobLongitude, int serviceRadiusKm) {
+        if (Math.abs(batchDistanceKm - serviceRadiusKm) > GeoUtils.BATCH_DISTANCE_TOLERANCE_KM) {
+            return batchDistanceKm <= serviceRadiusKm;
+        }
+        return GeoUtils.calculateDistance(latitude, longitude, jobLatitude, jobLongitude) <= serviceRadiusKm;
+    }
+
+    private static boolean hasLocations(CandidateSnapshot candidates, int row, JobScoringContext job) {
+        return !Double.isNaN(candidates.latitude(row)) && !Double.isNaN(candidates.longitude(row))
+                && !Double.isNaN(job.latitude()) && !Double.isNaN(job.longitude());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.job.domain.JobType;
+import com.example.solar.professional.domain.ExpertiseType;
+
+import java.util.Arrays;
+
+/*
+  Precomputed JobType x ExpertiseType relation matrix.
+  DIRECT expertise earns full expertise credit (plus experience and certification points),
+  RELATED expertise earns half credit. Each job type's row is flattened into bitmasks over
+  ExpertiseType ordinals, so the scoring loop only ANDs them with a candidate's expertise mask.
+ */
+final class ExpertiseMatrix {
+
+    enum Relation {
+        NONE,
+        RELATED,
+        DIRECT
+    }
+
+    private static final Relation[][] RELATIONS =
+            new Relation[JobType.values().length][ExpertiseType.values().length];
+    private static final int[] DIRECT_MASKS = new int[JobType.values().length];
+    private static final int[] RELATED_MASKS = new int[JobType.values().length];
+
+    static {
+        for (Relation[] row : RELATIONS) {
+            Arrays.fill(row, Relation.NONE);
+        }
+
+        relate(JobType.INSTALLATION, ExpertiseType.PANEL_INSTALLATION, Relation.DIRECT);
+        relate(JobType.BATTERY_SETUP, ExpertiseType.BATTERY_SETUP, Relation.DIRECT);
+        relate(JobType.MAINTENANCE, ExpertiseType.MAINTENANCE, Relation.DIRECT);
+        relate(JobType.REPAIR, ExpertiseType.REPAIR, Relation.DIRECT);
+        relate(JobType.INSPECTION, ExpertiseType.INSPECTION, Relation.DIRECT);
+        relate(JobType.UPGRADE, ExpertiseType.UPGRADE, Relation.DIRECT);
+
+        // INSTALLATION relates to UPGRADE and INSPECTION
+        relate(JobType.INSTALLATION, ExpertiseType.UPGRADE, Relation.RELATED);
+        relate(JobType.INSTALLATION, ExpertiseType.INSPECTION, Relation.RELATED);
+        // MAINTENANCE relates to REPAIR and INSPECTION
+        relate(JobType.MAINTENANCE, ExpertiseType.REPAIR, Relation.RELATED);
+        relate(JobType.MAINTENANCE, ExpertiseType.INSPECTION, Relation.RELATED);
+        // REPAIR relates to MAINTENANCE
+        relate(JobType.REPAIR, ExpertiseType.MAINTENANCE, Relation.RELATED);
+
+        for (JobType jobType : JobType.values()) {
+            for (ExpertiseType expertiseType : ExpertiseType.values()) {
+                switch (RELATIONS[jobType.ordinal()][expertiseType.ordinal()]) {
+                    case DIRECT -> DIRECT_MASKS[jobType.ordinal()] |= expertiseType.bit();
+                    case RELATED -> RELATED_MASKS[jobType.ordinal()] |= expertiseType.bit();
+                    default -> { }
+                }
+            }
+        }
+    }
+
+    private ExpertiseMatrix() {
+    }
+
+    private static void relate(JobType jobType, ExpertiseType expertiseType, Relation relation) {
+        RELATIONS[jobType.ordinal()][expertiseType.ordinal()] = relation;
+    }
+
+    static Relation relation(JobType jobType, ExpertiseType expertiseType) {
+        return RELATIONS[jobType.ordinal()][expertiseType.ordinal()];
+    }
+
+    /*
+      Expertise bits that fully qualify for the job type
+     */
+    static int directMask(JobType jobType) {
+        return DIRECT_MASKS[jobType.ordinal()];
+    }
+
+    /*
+      Expertise bits that earn partial credit for the job type
+     */
+    static int relatedMask(JobType jobType) {
+        return RELATED_MASKS[jobType.ordinal()];
+    }
+
+    /*
+      Whether any of the given expertise bits earns credit (full or partial) for the job type
+     */
+    static boolean isRelevant(int expertiseMask, JobType jobType) {
+        return (expertiseMask & (DIRECT_MASKS[jobType.ordinal()] | RELATED_MASKS[jobType.ordinal()])) != 0;
+    }
+}
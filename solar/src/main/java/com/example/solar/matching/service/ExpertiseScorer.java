@@ -0,0 +1,84 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.matching.domain.MatchCriteria;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/*
+  Score expertise match based on:
+  1. Exact job type match (50 points)
+  2. Years of experience (30 points)
+  3. Certifications (20 points)
+  Related expertise (per ExpertiseMatrix) earns 25 points instead.
+ */
+@Component
+@Order(20)
+public class ExpertiseScorer implements MatchScorer {
+
+    public static final String NAME = "expertise";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int cost() {
+        return 2;
+    }
+
+    @Override
+    public double weight(MatchCriteria criteria) {
+        return criteria.getExpertiseWeight();
+    }
+
+    @Override
+    public Scope scope() {
+        return Scope.JOB_TYPE;
+    }
+
+    @Override
+    public double score(CandidateSnapshot candidates, int row, JobScoringContext job) {
+        int expertiseMask = candidates.expertiseMask(row);
+        int direct = expertiseMask & job.directExpertiseMask();
+
+        double score = 0.0;
+
+        // Exact match: 50 points, experience and certification only count for direct expertise
+        if (direct != 0) {
+            score += 50.0;
+
+            // Years of experience: up to 30 points (capped at 10+ years)
+            int maxExperienceYears = 0;
+            for (int bits = direct; bits != 0; bits &= bits - 1) {
+                maxExperienceYears = Math.max(maxExperienceYears,
+                        candidates.expertiseYears(row, Integer.numberOfTrailingZeros(bits)));
+            }
+            if (maxExperienceYears > 0) {
+                score += Math.min(30.0, maxExperienceYears * 3.0);
+            }
+
+            // Certification: 20 points
+            if ((candidates.certifiedMask(row) & direct) != 0) {
+                score += 20.0;
+            }
+        } else if ((expertiseMask & job.relatedExpertiseMask()) != 0) {
+            score += 25.0; // Half credit for related expertise
+        }
+
+        return Math.min(100.0, score);
+    }
+
+    @Override
+    public String reason(CandidateSnapshot candidates, int row, JobScoringContext job) {
+        int expertiseMask = candidates.expertiseMask(row);
+
+        if ((expertiseMask & job.directExpertiseMask()) != 0) {
+            return "Direct expertise match for " + job.jobType();
+        } else if ((expertiseMask & job.relatedExpertiseMask()) != 0) {
+            return "Related expertise in solar systems";
+        } else {
+            return "General solar experience";
+        }
+    }
+}
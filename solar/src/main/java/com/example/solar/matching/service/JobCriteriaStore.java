@@ -0,0 +1,48 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.matching.domain.MatchCriteria;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+  The MatchCriteria each job was last matched with, so incremental rescoring judges its
+  matches by the same weights, minimum score, verification rule and match count.
+
+  Bounded LRU kept in memory: the schema is validated against the database, not owned by this
+  service, so there is no column to persist it in. A job missing from the store (evicted, or
+  matched before a restart or on another node) has unknown criteria, and MatchRescoringService
+  then leaves its matches as they are.
+ */
+@Component
+public class JobCriteriaStore {
+
+    private final int maxJobs;
+    private final Map<Long, MatchCriteria> criteriaByJob;
+
+    public JobCriteriaStore(@Value("${matching.incremental.remembered-jobs:10000}") int maxJobs) {
+        this.maxJobs = Math.max(1, maxJobs);
+        this.criteriaByJob = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, MatchCriteria> eldest) {
+                return size() > JobCriteriaStore.this.maxJobs;
+            }
+        };
+    }
+
+    public synchronized void remember(Long jobId, MatchCriteria criteria) {
+        // Copy, so later changes to the caller's instance do not leak in
+        criteriaByJob.put(jobId, criteria.toBuilder().build());
+    }
+
+    public synchronized Optional<MatchCriteria> criteriaOf(Long jobId) {
+        return Optional.ofNullable(criteriaByJob.get(jobId)).map(criteria -> criteria.toBuilder().build());
+    }
+
+    public synchronized void forget(Long jobId) {
+        criteriaByJob.remove(jobId);
+    }
+}
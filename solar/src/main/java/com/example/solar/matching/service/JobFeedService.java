@@ -0,0 +1,92 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.common.exception.ResourceNotFoundException;
+import com.example.solar.matching.domain.MatchCriteria;
+import com.example.solar.matching.dto.JobFeedItemDto;
+import com.example.solar.matching.dto.MatchScoreBreakdown;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+  Reverse matching: the open jobs inside a professional's service area, ranked by the same
+  MatchingEngine dimensions a match run uses. Served entirely from memory (the candidate
+  snapshot for the professional, OpenJobIndex for the jobs), so polling clients never reach the
+  jobs table. A job is in the feed exactly when the professional would be a candidate for it
+  under the default criteria: the job lies within their service radius, they are verified
+  (default verifiedOnly), and it scores at least the default minimum match score.
+ */
+@Service
+@Slf4j
+public class JobFeedService {
+
+    private final CandidateSnapshotService candidateSnapshotService;
+    private final OpenJobIndex openJobIndex;
+    private final MatchingEngine matchingEngine;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public JobFeedService(CandidateSnapshotService candidateSnapshotService,
+                          OpenJobIndex openJobIndex,
+                          MatchingEngine matchingEngine,
+                          @Value("${matching.feed.default-limit:20}") int defaultLimit,
+                          @Value("${matching.feed.max-limit:100}") int maxLimit) {
+        this.candidateSnapshotService = candidateSnapshotService;
+        this.openJobIndex = openJobIndex;
+        this.matchingEngine = matchingEngine;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public List<JobFeedItemDto> getJobFeed(Long professionalId, Integer limit) {
+        CandidateSnapshot candidates = candidateSnapshotService.current();
+        int row = candidates.rowOf(professionalId);
+        if (row < 0) {
+            throw new ResourceNotFoundException("Professional", "id", professionalId);
+        }
+        int radiusKm = candidates.serviceRadiusKm(row);
+        int k = Math.min(limit != null && limit > 0 ? limit : defaultLimit, maxLimit);
+        MatchCriteria criteria = MatchCriteria.builder().maxMatches(k).build();
+        if (criteria.isVerifiedOnly() && !candidates.verified(row)) {
+            log.debug("Job feed for professional {}: not verified, no jobs", professionalId);
+            return List.of(); // A default match run would never consider them
+        }
+        ScoringPlan plan = matchingEngine.planFor(criteria);
+
+        // Jobs arrive in ascending id order, which breaks score ties like a match run does
+        TopKSelector<OpenJobIndex.OpenJob> top = new TopKSelector<>(k);
+        long sequence = 0;
+        for (OpenJobIndex.OpenJob job : openJobIndex.findNear(candidates.latitude(row), candidates.longitude(row), radiusKm)) {
+            if (!DistanceScorer.covers(candidates, row, job.scoring())) {
+                continue;
+            }
+            double threshold = Math.max(criteria.getMinimumMatchScore(), top.cutoff());
+            double score = plan.totalScore(candidates, row, job.scoring(), threshold);
+            if (score != MatchingEngine.PRUNED && score >= criteria.getMinimumMatchScore()) {
+                top.offer(score, sequence, job);
+            }
+            sequence++;
+        }
+
+        List<JobFeedItemDto> feed = new ArrayList<>(top.size());
+        for (OpenJobIndex.OpenJob job : top.toList()) {
+            MatchScoreBreakdown breakdown = matchingEngine.calculateMatchScore(candidates, row, job.scoring(), criteria);
+            feed.add(JobFeedItemDto.builder()
+                    .jobId(job.jobId())
+                    .title(job.title())
+                    .jobType(job.scoring().jobType())
+                    .status(job.status())
+                    .urgencyLevel(job.urgencyLevel())
+                    .preferredDate(job.scoring().preferredDate())
+                    .distanceKm(breakdown.getDistanceKm())
+                    .matchScore(breakdown.getTotalScore())
+                    .scoreBreakdown(breakdown)
+                    .build());
+        }
+        log.debug("Job feed for professional {}: {} jobs", professionalId, feed.size());
+        return feed;
+    }
+}
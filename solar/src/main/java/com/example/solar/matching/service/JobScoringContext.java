@@ -0,0 +1,62 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.common.util.GeoUtils;
+import com.example.solar.job.domain.Job;
+import com.example.solar.job.domain.JobType;
+
+import java.time.LocalDate;
+
+/*
+  Job-side inputs of the scoring loop, unpacked once per match run instead of per candidate,
+  together with the constants the dimensions derive from them (expertise masks of the job
+  type, budget breakpoints, the availability flexibility window)
+ */
+public record JobScoringContext(
+        Long jobId,
+        double latitude,
+        double longitude,
+        JobType jobType,
+        LocalDate preferredDate,
+        long preferredEpochDay,
+        double budgetMax,
+        GeoUtils.DistanceQuery distanceQuery,
+        int directExpertiseMask,
+        int relatedExpertiseMask,
+        double budgetComfortable,
+        double budgetStretch,
+        double budgetCeiling,
+        long flexibleFromDay,
+        long flexibleToDay) {
+
+    // Days either side of the preferred date that still count as flexible availability
+    static final int FLEXIBILITY_DAYS = 7;
+
+    public JobScoringContext(Long jobId, double latitude, double longitude, JobType jobType,
+                             LocalDate preferredDate, long preferredEpochDay, double budgetMax) {
+        this(jobId, latitude, longitude, jobType, preferredDate, preferredEpochDay, budgetMax,
+                GeoUtils.distanceQuery(latitude, longitude),
+                jobType != null ? ExpertiseMatrix.directMask(jobType) : 0,
+                jobType != null ? ExpertiseMatrix.relatedMask(jobType) : 0,
+                budgetMax * 0.7, budgetMax * 1.2, budgetMax * 1.5,
+                preferredEpochDay - FLEXIBILITY_DAYS, preferredEpochDay + FLEXIBILITY_DAYS);
+    }
+
+    public static JobScoringContext of(Job job) {
+        return new JobScoringContext(
+                job.getId(),
+                job.getLatitude() != null ? job.getLatitude().doubleValue() : Double.NaN,
+                job.getLongitude() != null ? job.getLongitude().doubleValue() : Double.NaN,
+                job.getJobType(),
+                job.getPreferredDate(),
+                job.getPreferredDate() != null ? job.getPreferredDate().toEpochDay() : 0L,
+                job.getBudgetMax() != null ? job.getBudgetMax().doubleValue() : Double.NaN);
+    }
+
+    public boolean hasPreferredDate() {
+        return preferredDate != null;
+    }
+
+    public boolean hasBudget() {
+        return !Double.isNaN(budgetMax);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.job.domain.JobType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+  Meters of the match pipeline, scraped from /actuator/prometheus:
+
+    matching.stage.duration{stage}        load, score, explain, persist, map
+    matching.dimension.duration{dimension} one MatchScorer.score call, sampled
+    matching.candidates{outcome}          evaluated, pruned, above-threshold, persisted
+    matching.score{job_type}              total score of every selected match
+
+  Top-K selection runs inside the scoring loop (it supplies the pruning cutoff), so it is part
+  of the score stage. Timing each dimension call would cost more than the call itself, so one
+  candidate in dimensionSampleRate is re-scored dimension by dimension under a timer instead.
+ */
+@Component
+public class MatchMetrics {
+
+    public enum Stage {
+        LOAD, SCORE, EXPLAIN, PERSIST, MAP
+    }
+
+    private final MeterRegistry registry;
+    private final int dimensionSampleRate;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<String, Timer> dimensionTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> scoreSummaries = new ConcurrentHashMap<>();
+    private final Counter evaluated;
+    private final Counter pruned;
+    private final Counter aboveThreshold;
+    private final Counter persisted;
+
+    public MatchMetrics(MeterRegistry registry,
+                        @Value("${matching.metrics.dimension-sample-rate:64}") int dimensionSampleRate) {
+        this.registry = registry;
+        this.dimensionSampleRate = Math.max(0, dimensionSampleRate);
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("matching.stage.duration")
+                    .description("Time spent in one stage of a match run")
+                    .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        this.evaluated = candidateCounter("evaluated");
+        this.pruned = candidateCounter("pruned");
+        this.aboveThreshold = candidateCounter("above-threshold");
+        this.persisted = candidateCounter("persisted");
+    }
+
+    /*
+      Meters that go nowhere, for engines built outside Spring (tests, benchmarks)
+     */
+    public static MatchMetrics noop() {
+        return new MatchMetrics(new CompositeMeterRegistry(), 0);
+    }
+
+    public Timer.Sample startTimer() {
+        return Timer.start(registry);
+    }
+
+    public void stop(Timer.Sample sample, Stage stage) {
+        sample.stop(stageTimers.get(stage));
+    }
+
+    /*
+      Whether the candidate at this position should have its dimensions timed
+     */
+    public boolean sampleDimensions(int position) {
+        return dimensionSampleRate > 0 && position % dimensionSampleRate == 0;
+    }
+
+    public void recordDimension(String dimension, long nanos) {
+        dimensionTimers.computeIfAbsent(dimension, name -> Timer.builder("matching.dimension.duration")
+                        .description("Time of one scoring call of a match dimension (sampled)")
+                        .tag("dimension", name)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /*
+      Outcome counts of one scoring pass, added once per pass rather than per candidate
+     */
+    public void recordScoring(long evaluatedCount, long prunedCount, long aboveThresholdCount) {
+        evaluated.increment(evaluatedCount);
+        pruned.increment(prunedCount);
+        aboveThreshold.increment(aboveThresholdCount);
+    }
+
+    public void recordPersisted(int count) {
+        persisted.increment(count);
+    }
+
+    public void recordScore(JobType jobType, double totalScore) {
+        String tag = jobType != null ? jobType.name() : "UNKNOWN";
+        scoreSummaries.computeIfAbsent(tag, name -> DistributionSummary.builder("matching.score")
+                        .description("Total score of selected matches")
+                        .tag("job_type", name)
+                        .minimumExpectedValue(1.0)
+                        .maximumExpectedValue(100.0)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(totalScore);
+    }
+
+    private Counter candidateCounter(String outcome) {
+        return Counter.builder("matching.candidates")
+                .description("Candidates seen by the match pipeline, by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
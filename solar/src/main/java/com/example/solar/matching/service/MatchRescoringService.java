@@ -0,0 +1,312 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.common.util.GeoUtils;
+import com.example.solar.job.domain.Job;
+import com.example.solar.job.domain.JobChangedEvent;
+import com.example.solar.job.domain.JobStatus;
+import com.example.solar.job.repository.JobRepository;
+import com.example.solar.matching.domain.Match;
+import com.example.solar.matching.domain.MatchCriteria;
+import com.example.solar.matching.domain.MatchStatus;
+import com.example.solar.matching.dto.MatchScoreBreakdown;
+import com.example.solar.matching.repository.MatchRepository;
+import com.example.solar.professional.domain.ProfessionalChangedEvent;
+import com.example.solar.professional.repository.ProfessionalRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/*
+  Incremental matching: keeps the suggestions of already-matched jobs fresh when a
+  professional or job changes, by rescoring only the affected (professional, job) pairs.
+
+  Existing Match rows only ever have their scores refreshed in place: rescoring never deletes
+  or evicts a match, whatever its status, since it cannot know every run that created the
+  job's matches. A professional who now qualifies is added as a SUGGESTED match while the job
+  has fewer suggestions than its maxMatches.
+
+  Scores and eligibility use the criteria the job was last matched with (JobCriteriaStore).
+  A job whose criteria are unknown (matched before a restart, evicted, or matched on another
+  node) is left alone: its stored scores were computed with weights this node does not have.
+  In the partitioned mode only the professionals this node holds are rescored.
+
+  Events are handed to a background executor, so writes do not wait for rescoring. Each
+  rescore runs in its own transaction; if it fails it rolls back on its own and the next
+  findMatches run catches up.
+ */
+@Service
+@Slf4j
+public class MatchRescoringService {
+
+    private final MatchRepository matchRepository;
+    private final JobRepository jobRepository;
+    private final ProfessionalRepository professionalRepository;
+    private final MatchingEngine matchingEngine;
+    private final CandidateScorer candidateScorer;
+    private final ProfessionalGeoIndex professionalGeoIndex;
+    private final CandidateSnapshotService candidateSnapshotService;
+    private final ShardMap shardMap;
+    private final JobCriteriaStore jobCriteriaStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor executor;
+    private final boolean enabled;
+
+    public MatchRescoringService(MatchRepository matchRepository,
+                                 JobRepository jobRepository,
+                                 ProfessionalRepository professionalRepository,
+                                 MatchingEngine matchingEngine,
+                                 CandidateScorer candidateScorer,
+                                 ProfessionalGeoIndex professionalGeoIndex,
+                                 CandidateSnapshotService candidateSnapshotService,
+                                 ShardMap shardMap,
+                                 JobCriteriaStore jobCriteriaStore,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Qualifier("matchRescoringExecutor") TaskExecutor executor,
+                                 @Value("${matching.incremental.enabled:true}") boolean enabled) {
+        this.matchRepository = matchRepository;
+        this.jobRepository = jobRepository;
+        this.professionalRepository = professionalRepository;
+        this.matchingEngine = matchingEngine;
+        this.candidateScorer = candidateScorer;
+        this.professionalGeoIndex = professionalGeoIndex;
+        this.candidateSnapshotService = candidateSnapshotService;
+        this.shardMap = shardMap;
+        this.jobCriteriaStore = jobCriteriaStore;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.enabled = enabled;
+    }
+
+    @TransactionalEventListener
+    public void onProfessionalChanged(ProfessionalChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        runInBackground("professional " + event.professionalId(),
+                () -> rescoreProfessional(event.professionalId(), event.changeType()));
+    }
+
+    @TransactionalEventListener
+    public void onJobChanged(JobChangedEvent event) {
+        if (event.changeType() == JobChangedEvent.ChangeType.DELETED) {
+            jobCriteriaStore.forget(event.jobId());
+            return;
+        }
+        if (!enabled) {
+            return;
+        }
+        runInBackground("job " + event.jobId(), () -> rescoreJob(event.jobId()));
+    }
+
+    /*
+      The transaction is opened inside the try: a failure rolls back this rescore alone
+      instead of surfacing as an UnexpectedRollbackException after the caller's commit
+     */
+    private void runInBackground(String subject, Runnable rescore) {
+        try {
+            executor.execute(() -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> rescore.run());
+                } catch (RuntimeException e) {
+                    // The change itself is committed; the next full findMatches run catches up
+                    log.warn("Incremental rescoring failed for {}: {}", subject, e.getMessage());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("Incremental rescoring queue full, skipped {}", subject);
+        }
+    }
+
+    /*
+      Rescores the professional against the open jobs with known criteria that they already
+      match or that lie inside their service area; returns the number of jobs touched
+     */
+    @Transactional
+    public int rescoreProfessional(Long professionalId, ProfessionalChangedEvent.ChangeType changeType) {
+        CandidateSnapshot candidates = candidateSnapshotService.current();
+        int row = candidates.rowOf(professionalId);
+
+        // Jobs the professional is already matched to, wherever they are now
+        Map<Long, Job> affectedJobs = new LinkedHashMap<>();
+        for (Match match : matchRepository.findByProfessionalId(professionalId)) {
+            Job job = match.getJob();
+            if (isOpen(job) && jobCriteriaStore.criteriaOf(job.getId()).isPresent()) {
+                affectedJobs.put(job.getId(), job);
+            }
+        }
+
+        // Matched jobs the professional may now qualify for
+        if (row >= 0 && !Double.isNaN(candidates.latitude(row)) && !Double.isNaN(candidates.longitude(row))) {
+            GeoUtils.BoundingBox box = GeoUtils.boundingBox(
+                    candidates.latitude(row), candidates.longitude(row), candidates.serviceRadiusKm(row));
+            boolean wraps = box.minLon() < -180.0 || box.maxLon() > 180.0;
+            List<Job> nearbyJobs = jobRepository.findByStatusWithinBounds(JobStatus.MATCHED,
+                    BigDecimal.valueOf(box.minLat()), BigDecimal.valueOf(box.maxLat()),
+                    BigDecimal.valueOf(wraps ? -180.0 : box.minLon()), BigDecimal.valueOf(wraps ? 180.0 : box.maxLon()));
+
+            for (Job job : nearbyJobs) {
+                if (jobCriteriaStore.criteriaOf(job.getId()).isEmpty()) {
+                    continue; // Its scores cannot be judged without the job's criteria
+                }
+                // New expertise only changes scores for job types it earns credit on
+                if (changeType == ProfessionalChangedEvent.ChangeType.EXPERTISE_ADDED
+                        && !ExpertiseMatrix.isRelevant(candidates.expertiseMask(row), job.getJobType())) {
+                    continue;
+                }
+                affectedJobs.putIfAbsent(job.getId(), job);
+            }
+        }
+
+        for (Job job : affectedJobs.values()) {
+            // Forgotten since it was collected: leave it alone
+            jobCriteriaStore.criteriaOf(job.getId())
+                    .ifPresent(criteria -> reconcile(job, List.of(professionalId), candidates, criteria));
+        }
+        log.debug("Rescored professional {} against {} jobs", professionalId, affectedJobs.size());
+        return affectedJobs.size();
+    }
+
+    /*
+      Rescores an open job with known criteria that already has matches, against everyone it
+      is matched to and its current candidates; returns the number of pairs rescored
+     */
+    @Transactional
+    public int rescoreJob(Long jobId) {
+        Job job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || !isOpen(job)) {
+            return 0;
+        }
+        List<Match> existing = matchRepository.findByJobId(jobId);
+        if (existing.isEmpty()) {
+            return 0; // Never matched; findMatches owns the first pass
+        }
+        Optional<MatchCriteria> known = jobCriteriaStore.criteriaOf(jobId);
+        if (known.isEmpty()) {
+            return 0; // Matched with weights this node does not know: leave its scores alone
+        }
+        MatchCriteria criteria = known.get();
+        CandidateSnapshot candidates = candidateSnapshotService.current();
+
+        Set<Long> professionalIds = new LinkedHashSet<>();
+        long[] candidateIds = professionalGeoIndex.findCandidateIds(
+                job.getLatitude(), job.getLongitude(), criteria.isVerifiedOnly());
+        for (ScoredCandidate candidate : candidateScorer.score(
+                candidateIds, candidates, JobScoringContext.of(job), criteria)) {
+            professionalIds.add(candidate.professionalId());
+        }
+        for (Match match : existing) {
+            professionalIds.add(match.getProfessional().getId());
+        }
+
+        reconcile(job, professionalIds, candidates, criteria);
+        return professionalIds.size();
+    }
+
+    private void reconcile(Job job, Iterable<Long> professionalIds, CandidateSnapshot candidates,
+                           MatchCriteria criteria) {
+        JobScoringContext jobContext = JobScoringContext.of(job);
+        List<Match> existing = matchRepository.findByJobId(job.getId());
+        Map<Long, Match> matchesByProfessional = new HashMap<>();
+        for (Match match : existing) {
+            matchesByProfessional.put(match.getProfessional().getId(), match);
+        }
+
+        List<ScoredCandidate> additions = new ArrayList<>();
+        Map<Long, MatchScoreBreakdown> additionBreakdowns = new HashMap<>();
+
+        for (Long professionalId : professionalIds) {
+            int row = candidates.rowOf(professionalId);
+            if (row < 0 && shardMap.isEnabled()) {
+                continue; // Held by another shard, which cannot be judged from here
+            }
+            MatchScoreBreakdown breakdown = row >= 0
+                    ? matchingEngine.calculateMatchScore(candidates, row, jobContext, criteria)
+                    : null;
+            boolean eligible = breakdown != null
+                    && (!criteria.isVerifiedOnly() || candidates.verified(row))
+                    && DistanceScorer.covers(candidates, row, jobContext)
+                    && breakdown.getTotalScore().doubleValue() >= criteria.getMinimumMatchScore();
+
+            Match match = matchesByProfessional.get(professionalId);
+            if (match != null) {
+                if (breakdown != null) {
+                    applyScores(match, breakdown);
+                    matchRepository.save(match);
+                }
+            } else if (eligible) {
+                additions.add(new ScoredCandidate(professionalId, row, breakdown.getTotalScore().doubleValue()));
+                additionBreakdowns.put(professionalId, breakdown);
+            }
+        }
+
+        if (additions.isEmpty()) {
+            return;
+        }
+
+        // Best newcomers first, into whatever room the job's suggestions leave
+        int suggested = 0;
+        for (Match match : existing) {
+            if (match.getStatus() == MatchStatus.SUGGESTED) {
+                suggested++;
+            }
+        }
+        additions.sort(Comparator.comparingDouble(ScoredCandidate::totalScore).reversed());
+
+        List<Match> newMatches = new ArrayList<>();
+        for (ScoredCandidate addition : additions) {
+            if (suggested + newMatches.size() >= criteria.getMaxMatches()) {
+                break;
+            }
+            Match match = Match.builder()
+                    .job(job)
+                    .professional(professionalRepository.getReferenceById(addition.professionalId()))
+                    .status(MatchStatus.SUGGESTED)
+                    .build();
+            applyScores(match, additionBreakdowns.get(addition.professionalId()));
+            newMatches.add(match);
+        }
+        // A concurrent findMatches may insert the same pairs: skip those rather than fail
+        int added = matchRepository.insertIgnoringExisting(newMatches).size();
+
+        if (added > 0 && job.getStatus() == JobStatus.PENDING) {
+            job.setStatus(JobStatus.MATCHED);
+            jobRepository.save(job);
+            eventPublisher.publishEvent(new JobChangedEvent(job.getId(), JobChangedEvent.ChangeType.STATUS_CHANGED));
+        }
+    }
+
+    private static void applyScores(Match match, MatchScoreBreakdown breakdown) {
+        match.setMatchScore(breakdown.getTotalScore());
+        match.setDistanceKm(breakdown.getDistanceKm());
+        match.setExpertiseScore(breakdown.getExpertiseScore());
+        match.setAvailabilityScore(breakdown.getAvailabilityScore());
+        match.setRatingScore(breakdown.getRatingScore());
+        match.setPriceScore(breakdown.getPriceScore());
+    }
+
+    private static boolean isOpen(Job job) {
+        return job.getStatus() == JobStatus.PENDING || job.getStatus() == JobStatus.MATCHED;
+    }
+}
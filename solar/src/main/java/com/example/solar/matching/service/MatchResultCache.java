@@ -0,0 +1,190 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.job.domain.Job;
+import com.example.solar.job.domain.JobChangedEvent;
+import com.example.solar.matching.domain.MatchCriteria;
+import com.example.solar.matching.dto.MatchCacheStatsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+  Bounded LRU cache of ranked match results, keyed by job ID plus the canonical form of
+  the MatchCriteria used.
+  Every entry carries the version stamp it was computed under: the job's own version (bumped
+  on JobChangedEvent) and the geo index version of the job's cell (bumped whenever a
+  professional who covers that cell changes). A lookup only hits if both still match, so a
+  write invalidates exactly the results it can affect.
+
+  Results are stored as professional IDs and resolved to rows of the current snapshot on
+  read, since snapshot row numbers shift as professionals are added elsewhere.
+ */
+@Component
+@Slf4j
+public class MatchResultCache {
+
+    private final ProfessionalGeoIndex professionalGeoIndex;
+    private final boolean enabled;
+    private final int maxEntries;
+
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final Map<Long, Long> jobVersions = new ConcurrentHashMap<>();
+    private final Map<Key, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public MatchResultCache(ProfessionalGeoIndex professionalGeoIndex,
+                            @Value("${matching.cache.enabled:true}") boolean enabled,
+                            @Value("${matching.cache.max-entries:10000}") int maxEntries) {
+        this.professionalGeoIndex = professionalGeoIndex;
+        this.enabled = enabled;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > MatchResultCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /*
+      Current version of the job; read it before loading the job, so a job write that lands
+      after the load leaves the stored entry already stale
+     */
+    public long jobVersion(Long jobId) {
+        return jobVersions.getOrDefault(jobId, 0L);
+    }
+
+    /*
+      Version stamp for the job's results. Take it before computing, so a professional write
+      that lands mid-computation leaves the stored entry already stale.
+     */
+    public Stamp stampOf(Job job, long jobVersion) {
+        long candidateVersion = job.getLatitude() != null && job.getLongitude() != null
+                ? professionalGeoIndex.versionAt(job.getLatitude().doubleValue(), job.getLongitude().doubleValue())
+                : professionalGeoIndex.globalVersion();
+        return new Stamp(jobVersion, candidateVersion);
+    }
+
+    /*
+      Cached ranking (best first) if one was computed under this stamp, else null
+     */
+    public List<ScoredCandidate> get(Long jobId, MatchCriteria criteria, Stamp stamp, CandidateSnapshot candidates) {
+        if (!enabled) {
+            return null;
+        }
+        Key key = Key.of(jobId, criteria);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && !entry.stamp.equals(stamp)) {
+                entries.remove(key);
+                invalidations.increment();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        List<ScoredCandidate> ranked = new ArrayList<>(entry.professionalIds.length);
+        for (int i = 0; i < entry.professionalIds.length; i++) {
+            int row = candidates.rowOf(entry.professionalIds[i]);
+            if (row < 0) {
+                misses.increment(); // Professional no longer in the snapshot
+                return null;
+            }
+            ranked.add(new ScoredCandidate(entry.professionalIds[i], row, entry.totalScores[i]));
+        }
+        hits.increment();
+        return ranked;
+    }
+
+    public void put(Long jobId, MatchCriteria criteria, Stamp stamp, List<ScoredCandidate> ranked) {
+        if (!enabled) {
+            return;
+        }
+        long[] professionalIds = new long[ranked.size()];
+        double[] totalScores = new double[ranked.size()];
+        for (int i = 0; i < ranked.size(); i++) {
+            professionalIds[i] = ranked.get(i).professionalId();
+            totalScores[i] = ranked.get(i).totalScore();
+        }
+        synchronized (entries) {
+            entries.put(Key.of(jobId, criteria), new Entry(stamp, professionalIds, totalScores));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onJobChanged(JobChangedEvent event) {
+        jobVersions.put(event.jobId(), versionSequence.incrementAndGet());
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public MatchCacheStatsDto getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return MatchCacheStatsDto.builder()
+                .enabled(enabled)
+                .size(size)
+                .maxEntries(maxEntries)
+                .hits(hitCount)
+                .misses(missCount)
+                .evictions(evictions.sum())
+                .invalidations(invalidations.sum())
+                .hitRate(hitCount + missCount > 0 ? (double) hitCount / (hitCount + missCount) : 0.0)
+                .build();
+    }
+
+    public record Stamp(long jobVersion, long candidateVersion) {
+    }
+
+    private record Entry(Stamp stamp, long[] professionalIds, double[] totalScores) {
+    }
+
+    /*
+      Canonical criteria key; -0.0 is folded into 0.0 so equal weights always hash alike
+     */
+    private record Key(long jobId, double distanceWeight, double expertiseWeight, double availabilityWeight,
+                       double ratingWeight, double priceWeight, double minimumMatchScore,
+                       int maxMatches, boolean verifiedOnly) {
+
+        static Key of(long jobId, MatchCriteria criteria) {
+            return new Key(jobId,
+                    criteria.getDistanceWeight() + 0.0,
+                    criteria.getExpertiseWeight() + 0.0,
+                    criteria.getAvailabilityWeight() + 0.0,
+                    criteria.getRatingWeight() + 0.0,
+                    criteria.getPriceWeight() + 0.0,
+                    criteria.getMinimumMatchScore() + 0.0,
+                    criteria.getMaxMatches(),
+                    criteria.isVerifiedOnly());
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.job.domain.UrgencyLevel;
+import com.example.solar.job.dto.JobPriorityView;
+import com.example.solar.job.repository.JobRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/*
+  Runs match computations (synchronous, streamed, ticketed and batch) on one bounded worker
+  pool, ordered by the job's urgency and then its age, instead of first come first served.
+
+    - Each urgency level has its own queue, oldest job first. A free worker takes the head of
+      the most urgent queue it is allowed to run.
+    - maxRunning caps the work running at an urgency level or below: with 2,4,6,8 on 8 workers
+      LOW work holds at most 2 workers, LOW and NORMAL together at most 4, and so on, so 2
+      workers are always left for URGENT jobs however much lower-priority work piles up.
+    - Starvation protection: every agingMs in the queue lifts a task one level (up to URGENT)
+      when competing for a worker; on equal footing the task queued first wins. Aging goes by
+      enqueue time, not job age: once the task that has waited longest at a level is lifted, it
+      competes in place of that level's oldest job, so work for newer jobs and BULK work cannot
+      starve behind a stream of older jobs. The caps keep using the task's own level, so aging
+      reorders work but never takes reserved workers.
+    - The queue is bounded; a full queue rejects with TaskRejectedException (a 503).
+
+  Meters: matching.scheduler.queue.depth{urgency}, matching.scheduler.running{urgency} and
+  matching.scheduler.wait{urgency}, the time from submit to a worker picking the task up.
+ */
+@Component
+@Slf4j
+public class MatchScheduler {
+
+    /*
+      Place of a piece of match work in the queue. jobCreatedAt may be null (treated as newest).
+     */
+    public record Priority(UrgencyLevel urgency, LocalDateTime jobCreatedAt) {
+
+        public Priority {
+            urgency = urgency != null ? urgency : UrgencyLevel.NORMAL;
+        }
+
+        // Work not tied to one job, like re-matching every open job
+        public static final Priority BULK = new Priority(UrgencyLevel.LOW, null);
+    }
+
+    private static final UrgencyLevel[] LEVELS = UrgencyLevel.values();
+
+    private static final Comparator<Task<?>> OLDEST_JOB_FIRST = Comparator
+            .comparing((Task<?> task) -> task.priority.jobCreatedAt(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(task -> task.sequence);
+
+    private final JobRepository jobRepository;
+    private final int capacity;
+    private final long agingNanos;
+    private final int[] maxRunning = new int[LEVELS.length];
+    private final int[] running = new int[LEVELS.length];
+    private final List<PriorityQueue<Task<?>>> queues = new ArrayList<>();
+    // The same tasks per level in submit order; tasks already taken are skipped when peeking
+    private final List<ArrayDeque<Task<?>>> arrivals = new ArrayList<>();
+    private final Timer[] waitTimers = new Timer[LEVELS.length];
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition dispatchable = lock.newCondition();
+    private long sequence;
+    private int queued;
+    private boolean shutdown;
+
+    public MatchScheduler(JobRepository jobRepository,
+                          MeterRegistry registry,
+                          @Value("${matching.scheduler.threads:8}") int threads,
+                          @Value("${matching.scheduler.queue-capacity:500}") int capacity,
+                          @Value("${matching.scheduler.aging-ms:5000}") long agingMs,
+                          @Value("${matching.scheduler.max-running:2,4,6,8}") int[] maxRunning) {
+        if (threads < 1 || maxRunning.length != LEVELS.length) {
+            throw new IllegalArgumentException("matching.scheduler needs at least one thread and one max-running "
+                    + "value per urgency level (LOW, NORMAL, HIGH, URGENT)");
+        }
+        this.jobRepository = jobRepository;
+        this.capacity = capacity;
+        this.agingNanos = TimeUnit.MILLISECONDS.toNanos(agingMs);
+
+        for (int level = 0; level < LEVELS.length; level++) {
+            // URGENT may always use every worker
+            this.maxRunning[level] = level == LEVELS.length - 1 ? threads : Math.max(1, Math.min(threads, maxRunning[level]));
+            PriorityQueue<Task<?>> queue = new PriorityQueue<>(OLDEST_JOB_FIRST);
+            queues.add(queue);
+            arrivals.add(new ArrayDeque<>());
+
+            String urgency = LEVELS[level].name().toLowerCase(Locale.ROOT);
+            int index = level;
+            Gauge.builder("matching.scheduler.queue.depth", queue, PriorityQueue::size)
+                    .description("Match computations waiting for a worker")
+                    .tag("urgency", urgency)
+                    .register(registry);
+            Gauge.builder("matching.scheduler.running", running, counts -> counts[index])
+                    .description("Match computations running")
+                    .tag("urgency", urgency)
+                    .register(registry);
+            waitTimers[level] = Timer.builder("matching.scheduler.wait")
+                    .description("Time a match computation waited for a worker")
+                    .tag("urgency", urgency)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        log.info("Match scheduler: {} workers, max running at or below LOW/NORMAL/HIGH/URGENT {}",
+                threads, Arrays.toString(this.maxRunning));
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(this::work, "match-scheduler-" + (i + 1));
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /*
+      Priority of match work for one job; a job that does not exist gets NORMAL (the work
+      itself then fails with the usual not-found error)
+     */
+    public Priority priorityOf(Long jobId) {
+        return jobRepository.findPriorityViewById(jobId)
+                .map(MatchScheduler::toPriority)
+                .orElse(new Priority(UrgencyLevel.NORMAL, null));
+    }
+
+    /*
+      Priority of work covering several jobs: that of its most urgent job, the oldest on ties
+     */
+    public Priority priorityOf(Collection<Long> jobIds) {
+        return jobRepository.findPriorityViewsByIdIn(jobIds).stream()
+                .map(MatchScheduler::toPriority)
+                .min(Comparator.comparing(Priority::urgency, Comparator.reverseOrder())
+                        .thenComparing(Priority::jobCreatedAt, Comparator.nullsLast(Comparator.naturalOrder())))
+                .orElse(Priority.BULK);
+    }
+
+    /*
+      Queues the work; the future completes with its result on a scheduler worker.
+      Throws TaskRejectedException when the queue is full or the scheduler is shut down.
+     */
+    public <T> CompletableFuture<T> submit(Priority priority, Supplier<T> work) {
+        Task<T> task = new Task<>(priority, work);
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new TaskRejectedException("Match scheduler is shut down");
+            }
+            if (queued >= capacity) {
+                throw new TaskRejectedException("Matching is at capacity, try again later");
+            }
+            task.sequence = sequence++;
+            task.enqueuedNanos = System.nanoTime();
+            queues.get(priority.urgency().ordinal()).add(task);
+            arrivals.get(priority.urgency().ordinal()).add(task);
+            queued++;
+            dispatchable.signal();
+        } finally {
+            lock.unlock();
+        }
+        return task.result;
+    }
+
+    /*
+      Runs the work through the queue and waits for it, rethrowing what the work threw
+     */
+    public <T> T call(Priority priority, Supplier<T> work) {
+        try {
+            return submit(priority, work).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<Task<?>> abandoned = new ArrayList<>();
+        lock.lock();
+        try {
+            shutdown = true;
+            queues.forEach(queue -> {
+                abandoned.addAll(queue);
+                queue.clear();
+            });
+            arrivals.forEach(ArrayDeque::clear);
+            queued = 0;
+            dispatchable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        abandoned.forEach(task -> task.result.completeExceptionally(
+                new TaskRejectedException("Match scheduler is shut down")));
+        workers.forEach(Thread::interrupt);
+    }
+
+    private void work() {
+        while (true) {
+            Task<?> task;
+            int level;
+            lock.lock();
+            try {
+                while ((task = next()) == null) {
+                    if (shutdown) {
+                        return;
+                    }
+                    dispatchable.await();
+                }
+                level = task.priority.urgency().ordinal();
+                running[level]++;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            waitTimers[level].record(System.nanoTime() - task.enqueuedNanos, TimeUnit.NANOSECONDS);
+            try {
+                task.run();
+            } finally {
+                lock.lock();
+                try {
+                    running[level]--;
+                    dispatchable.signal();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /*
+      Removes and returns the task to run next, or null if no queued task may start now.
+      Called with the lock held.
+     */
+    private Task<?> next() {
+        long now = System.nanoTime();
+        Task<?> best = null;
+        int bestRank = -1;
+        int runningAtOrBelow = 0;
+        for (int level = 0; level < LEVELS.length; level++) {
+            runningAtOrBelow += running[level];
+            Task<?> head = queues.get(level).peek();
+            if (head == null || runningAtOrBelow >= maxRunning[level]) {
+                continue;
+            }
+            // The longest waiting task has aged the most: once lifted it goes before the oldest job
+            Task<?> candidate = head;
+            int rank = level;
+            Task<?> longestWaiting = longestWaiting(level);
+            int promoted = effectiveRank(level, longestWaiting, now);
+            if (promoted > level) {
+                candidate = longestWaiting;
+                rank = promoted;
+            }
+            if (rank > bestRank || rank == bestRank && candidate.sequence < best.sequence) {
+                best = candidate;
+                bestRank = rank;
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+        PriorityQueue<Task<?>> queue = queues.get(best.priority.urgency().ordinal());
+        if (queue.peek() == best) {
+            queue.poll();
+        } else {
+            queue.remove(best);
+        }
+        best.taken = true;
+        queued--;
+        return best;
+    }
+
+    /*
+      The level's task queued first among those not yet taken; the level must not be empty
+     */
+    private Task<?> longestWaiting(int level) {
+        ArrayDeque<Task<?>> arrival = arrivals.get(level);
+        while (arrival.peekFirst().taken) {
+            arrival.pollFirst();
+        }
+        return arrival.peekFirst();
+    }
+
+    private int effectiveRank(int level, Task<?> task, long now) {
+        if (agingNanos <= 0) {
+            return level;
+        }
+        long promotions = (now - task.enqueuedNanos) / agingNanos;
+        return (int) Math.min(LEVELS.length - 1, level + promotions);
+    }
+
+    private static Priority toPriority(JobPriorityView view) {
+        return new Priority(view.getUrgencyLevel(), view.getCreatedAt());
+    }
+
+    private static class Task<T> {
+        private final Priority priority;
+        private final Supplier<T> work;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private long sequence;
+        private long enqueuedNanos;
+        private boolean taken;
+
+        Task(Priority priority, Supplier<T> work) {
+            this.priority = priority;
+            this.work = work;
+        }
+
+        void run() {
+            try {
+                result.complete(work.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -1,4 +1,49 @@
 package com.example.solar.matching.service;
 
-public class MatchScorer {
+import com.example.solar.matching.domain.MatchCriteria;
+
+/*
+  One scoring dimension of the matching algorithm.
+  Each dimension returns a raw 0-100 score for a snapshot row and job; MatchingEngine weighs it
+  with weight(criteria) and adds it to the total. Dimensions are Spring beans, so a new one is
+  picked up just by registering it (use @Order to place it after the built-in ones).
+
+  cost() and maxScore() let the engine evaluate cheap dimensions first and abandon a candidate
+  as soon as its best possible total can no longer reach the threshold it is scored against.
+ */
+public interface MatchScorer {
+
+    String name();
+
+    /*
+      Relative evaluation cost; cheaper dimensions are evaluated first
+     */
+    int cost();
+
+    /*
+      Highest raw score this dimension can return
+     */
+    default double maxScore() {
+        return 100.0;
+    }
+
+    /*
+      Weight (percent of the total) of this dimension under the given criteria
+     */
+    double weight(MatchCriteria criteria);
+
+    /*
+      What the raw score depends on besides the professional, so batch scoring can share it
+     */
+    Scope scope();
+
+    double score(CandidateSnapshot candidates, int row, JobScoringContext job);
+
+    String reason(CandidateSnapshot candidates, int row, JobScoringContext job);
+
+    enum Scope {
+        PROFESSIONAL,   // Same for every job
+        JOB_TYPE,       // Same for every job of one type
+        JOB             // Depends on the individual job
+    }
 }
@@ -3,25 +3,42 @@ package com.example.solar.matching.service;
 import com.example.solar.common.exception.ResourceNotFoundException;
 import com.example.solar.common.exception.ValidationException;
 import com.example.solar.job.domain.Job;
+import com.example.solar.job.domain.JobChangedEvent;
 import com.example.solar.job.domain.JobStatus;
 import com.example.solar.job.repository.JobRepository;
 import com.example.solar.matching.domain.Match;
 import com.example.solar.matching.domain.MatchCriteria;
 import com.example.solar.matching.domain.MatchStatus;
+import com.example.solar.matching.dto.BatchMatchRequest;
+import com.example.solar.matching.dto.BatchMatchResultDto;
+import com.example.solar.matching.dto.MatchCacheStatsDto;
 import com.example.solar.matching.dto.MatchDto;
 import com.example.solar.matching.dto.MatchRequest;
 import com.example.solar.matching.dto.MatchScoreBreakdown;
+import com.example.solar.matching.dto.ProvisionalMatchDto;
+import com.example.solar.matching.dto.ShardCandidateDto;
 import com.example.solar.matching.repository.MatchRepository;
 import com.example.solar.professional.domain.Professional;
 import com.example.solar.professional.repository.ProfessionalRepository;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,14 +49,45 @@ public class MatchService {
     private final MatchRepository matchRepository;
     private final JobRepository jobRepository;
     private final ProfessionalRepository professionalRepository;
+    private final CandidateScorer candidateScorer;
     private final MatchingEngine matchingEngine;
+    private final ProfessionalGeoIndex professionalGeoIndex;
+    private final CandidateSnapshotService candidateSnapshotService;
+    private final MatchResultCache matchResultCache;
+    private final MatchMetrics matchMetrics;
+    private final ShardMap shardMap;
+    private final ShardScoringService shardScoringService;
+    private final JobCriteriaStore jobCriteriaStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${matching.stream.first-chunk-size:1024}")
+    private int streamFirstChunkSize;
 
     /**
      * Find and create matches for a job using the matching algorithm
      */
     @Transactional
     public List<MatchDto> findMatches(MatchRequest request) {
+        List<MatchDto> matchDtos = new ArrayList<>();
+        findMatches(request, null, matchDtos::add);
+        return matchDtos;
+    }
+
+    /**
+     * Same matches as findMatches, delivered as they become available. Large candidate pools
+     * are scored in growing chunks, with the ranking so far passed to the listener after each
+     * chunk; every match is then passed on as soon as it is saved and mapped, without
+     * collecting the full list. Returns the number of matches created.
+     */
+    @Transactional
+    public int streamMatches(MatchRequest request, MatchStreamListener listener) {
+        return findMatches(request, listener, listener::onMatch);
+    }
+
+    private int findMatches(MatchRequest request, MatchStreamListener progress, Consumer<MatchDto> sink) {
         log.info("Finding matches for job ID: {}", request.getJobId());
+        long jobVersion = matchResultCache.jobVersion(request.getJobId());
 
         // Validate job exists and is in correct status
         Job job = jobRepository.findById(request.getJobId())
@@ -51,86 +99,234 @@ public class MatchService {
 
         // Build matching criteria from request or use defaults
         MatchCriteria criteria = buildMatchCriteria(request);
+        jobCriteriaStore.remember(job.getId(), criteria); // Incremental rescoring keeps to them
 
-        // Get all eligible professionals
-        List<Professional> professionals;
-        if (criteria.isVerifiedOnly()) {
-            professionals = professionalRepository.findAllVerifiedProfessionals();
+        if (shardMap.isEnabled()) {
+            return findShardedMatches(job, criteria, progress, sink);
+        }
+
+        MatchResultCache.Stamp stamp = matchResultCache.stampOf(job, jobVersion);
+        Timer.Sample loading = matchMetrics.startTimer();
+        CandidateSnapshot candidates = candidateSnapshotService.current();
+        JobScoringContext jobContext = JobScoringContext.of(job);
+
+        // Reuse the ranking if nothing it depends on has changed since it was computed
+        List<ScoredCandidate> topMatches = matchResultCache.get(job.getId(), criteria, stamp, candidates);
+        if (topMatches == null) {
+            // Only score professionals whose service area reaches the job
+            long[] candidateIds = professionalGeoIndex.findCandidateIds(
+                    job.getLatitude(), job.getLongitude(), criteria.isVerifiedOnly());
+            matchMetrics.stop(loading, MatchMetrics.Stage.LOAD);
+
+            log.info("Evaluating {} professionals for job {}", candidateIds.length, job.getId());
+
+            // Score all candidates, keeping the best maxMatches above the threshold (best first)
+            Timer.Sample scoring = matchMetrics.startTimer();
+            topMatches = progress == null
+                    ? candidateScorer.score(candidateIds, candidates, jobContext, criteria)
+                    : candidateScorer.scoreProgressively(candidateIds, candidates, jobContext, criteria,
+                    streamFirstChunkSize, ranking -> progress.onProvisionalRanking(toProvisional(ranking)));
+            matchMetrics.stop(scoring, MatchMetrics.Stage.SCORE);
+            matchResultCache.put(job.getId(), criteria, stamp, topMatches);
         } else {
-            professionals = professionalRepository.findAll();
+            matchMetrics.stop(loading, MatchMetrics.Stage.LOAD);
         }
 
-        log.info("Evaluating {} professionals for job {}", professionals.size(), job.getId());
+        log.info("Found {} matches above threshold for job {}", topMatches.size(), job.getId());
 
-        // Calculate match scores for all professionals
-        List<MatchWithScore> matchesWithScores = new ArrayList<>();
+        int created = saveMatches(job, topMatches, candidates, jobContext, criteria, sink);
 
-        for (Professional professional : professionals) {
-            try {
-                MatchScoreBreakdown scoreBreakdown = matchingEngine.calculateMatchScore(
-                        professional, job, criteria);
+        log.info("Created {} new matches for job {}", created, job.getId());
+        return created;
+    }
 
-                // Only include if meets minimum score threshold
-                if (scoreBreakdown.getTotalScore().doubleValue() >= criteria.getMinimumMatchScore()) {
-                    matchesWithScores.add(new MatchWithScore(professional, scoreBreakdown));
-                }
-            } catch (Exception e) {
-                log.warn("Error calculating match score for professional {}: {}",
-                        professional.getId(), e.getMessage());
-            }
+    /*
+      Partitioned mode: the candidates are spread over the shards, which score and explain their
+      own; no result cache (it cannot see other nodes' changes) and one provisional ranking
+     */
+    private int findShardedMatches(Job job, MatchCriteria criteria, MatchStreamListener progress,
+                                   Consumer<MatchDto> sink) {
+        Timer.Sample scoring = matchMetrics.startTimer();
+        List<ShardCandidateDto> selected = shardScoringService.scatterGather(JobScoringContext.of(job), criteria);
+        matchMetrics.stop(scoring, MatchMetrics.Stage.SCORE);
+        log.info("Found {} matches above threshold for job {} across shards", selected.size(), job.getId());
+
+        if (progress != null && !selected.isEmpty()) {
+            progress.onProvisionalRanking(toProvisional(selected.stream()
+                    .map(candidate -> new ScoredCandidate(candidate.getProfessionalId(), -1, candidate.getTotalScore()))
+                    .toList()));
         }
+        int created = persistMatches(job, explained(selected), sink);
 
-        // Sort by match score (descending) and limit to maxMatches
-        List<MatchWithScore> topMatches = matchesWithScores.stream()
-                .sorted((a, b) -> b.scoreBreakdown.getTotalScore()
-                        .compareTo(a.scoreBreakdown.getTotalScore()))
-                .limit(criteria.getMaxMatches())
-                .collect(Collectors.toList());
+        log.info("Created {} new matches for job {}", created, job.getId());
+        return created;
+    }
 
-        log.info("Found {} matches above threshold for job {}", topMatches.size(), job.getId());
+    /**
+     * Find and create matches for many jobs in one pass. Candidates are loaded once, jobs
+     * sharing a grid cell and job type are scored together, and each job gets the same
+     * matches findMatches would have created for it. In the partitioned mode the shards are
+     * asked about every job at once, outside the transaction that saves the matches.
+     */
+    public BatchMatchResultDto findMatchesForJobs(BatchMatchRequest request) {
+        if (shardMap.isEnabled()) {
+            return findShardedMatchesForJobs(request);
+        }
+        return new TransactionTemplate(transactionManager).execute(status -> findLocalMatchesForJobs(request));
+    }
 
-        // Save matches to database and return DTOs
-        List<MatchDto> matchDtos = new ArrayList<>();
+    private List<Job> loadBatchJobs(BatchMatchRequest request) {
+        boolean allOpenJobs = Boolean.TRUE.equals(request.getAllOpenJobs());
+        if (!allOpenJobs && (request.getJobIds() == null || request.getJobIds().isEmpty())) {
+            throw new ValidationException("Either jobIds or allOpenJobs must be provided");
+        }
 
-        for (MatchWithScore matchWithScore : topMatches) {
-            try {
-                // Check if match already exists
-                if (matchRepository.existsByJobIdAndProfessionalId(
-                        job.getId(), matchWithScore.professional.getId())) {
-                    log.debug("Match already exists for job {} and professional {}",
-                            job.getId(), matchWithScore.professional.getId());
-                    continue;
-                }
+        List<Job> jobs;
+        if (allOpenJobs) {
+            jobs = jobRepository.findOpenJobs();
+        } else {
+            List<Long> jobIds = request.getJobIds().stream().distinct().toList();
+            jobs = jobRepository.findAllById(jobIds);
+            if (jobs.size() != jobIds.size()) {
+                Set<Long> found = jobs.stream().map(Job::getId).collect(Collectors.toSet());
+                Long missing = jobIds.stream().filter(id -> !found.contains(id)).findFirst().orElse(null);
+                throw new ResourceNotFoundException("Job", "id", missing);
+            }
+        }
+        log.info("Finding matches for {} jobs in batch", jobs.size());
+        return jobs;
+    }
 
-                // Create and save match
-                Match match = Match.builder()
-                        .job(job)
-                        .professional(matchWithScore.professional)
-                        .matchScore(matchWithScore.scoreBreakdown.getTotalScore())
-                        .distanceKm(matchWithScore.scoreBreakdown.getDistanceKm())
-                        .expertiseScore(matchWithScore.scoreBreakdown.getExpertiseScore())
-                        .availabilityScore(matchWithScore.scoreBreakdown.getAvailabilityScore())
-                        .ratingScore(matchWithScore.scoreBreakdown.getRatingScore())
-                        .priceScore(matchWithScore.scoreBreakdown.getPriceScore())
-                        .status(MatchStatus.SUGGESTED)
-                        .build();
-
-                Match savedMatch = matchRepository.save(match);
-                matchDtos.add(mapToDto(savedMatch, matchWithScore.scoreBreakdown));
-
-            } catch (Exception e) {
-                log.error("Error saving match: {}", e.getMessage(), e);
+    private BatchMatchResultDto findLocalMatchesForJobs(BatchMatchRequest request) {
+        List<Job> jobs = loadBatchJobs(request);
+        MatchCriteria criteria = buildMatchCriteria(request);
+        Timer.Sample loading = matchMetrics.startTimer();
+        CandidateSnapshot candidates = candidateSnapshotService.current();
+
+        // Group open jobs by grid cell and job type; each group shares one candidate list
+        List<Long> skippedJobIds = new ArrayList<>();
+        Map<Long, Job> jobsById = new LinkedHashMap<>();
+        Map<Long, JobScoringContext> contextsById = new HashMap<>();
+        Map<String, List<JobScoringContext>> jobsByGroup = new LinkedHashMap<>();
+        for (Job job : jobs) {
+            if (job.getStatus() != JobStatus.PENDING && job.getStatus() != JobStatus.MATCHED) {
+                skippedJobIds.add(job.getId());
+                continue;
             }
+            jobsById.put(job.getId(), job);
+            jobCriteriaStore.remember(job.getId(), criteria);
+            if (job.getLatitude() == null || job.getLongitude() == null) {
+                continue; // No professional can cover a job without a location
+            }
+            JobScoringContext context = JobScoringContext.of(job);
+            contextsById.put(job.getId(), context);
+            long cell = professionalGeoIndex.cellOf(context.latitude(), context.longitude());
+            jobsByGroup.computeIfAbsent(cell + ":" + job.getJobType(), k -> new ArrayList<>()).add(context);
         }
 
-        // Update job status to MATCHED if matches were found
-        if (!matchDtos.isEmpty() && job.getStatus() == JobStatus.PENDING) {
-            job.setStatus(JobStatus.MATCHED);
-            jobRepository.save(job);
+        List<CandidateScorer.JobGroup> groups = new ArrayList<>(jobsByGroup.size());
+        for (List<JobScoringContext> groupJobs : jobsByGroup.values()) {
+            JobScoringContext first = groupJobs.get(0);
+            long[] memberIds = professionalGeoIndex.findCellMemberIds(
+                    first.latitude(), first.longitude(), criteria.isVerifiedOnly());
+            groups.add(new CandidateScorer.JobGroup(memberIds, groupJobs));
+        }
+        matchMetrics.stop(loading, MatchMetrics.Stage.LOAD);
+
+        log.info("Scoring {} jobs in {} groups", contextsById.size(), groups.size());
+        Timer.Sample scoring = matchMetrics.startTimer();
+        Map<Long, List<ScoredCandidate>> topMatchesByJob = candidateScorer.scoreGroups(groups, candidates, criteria);
+        matchMetrics.stop(scoring, MatchMetrics.Stage.SCORE);
+
+        Map<Long, List<MatchDto>> matchesByJobId = new LinkedHashMap<>();
+        int matchesCreated = 0;
+        int jobsMatched = 0;
+        for (Job job : jobsById.values()) {
+            List<ScoredCandidate> topMatches = topMatchesByJob.getOrDefault(job.getId(), List.of());
+            List<MatchDto> matchDtos = new ArrayList<>(topMatches.size());
+            saveMatches(job, topMatches, candidates, contextsById.get(job.getId()), criteria, matchDtos::add);
+            matchesByJobId.put(job.getId(), matchDtos);
+            matchesCreated += matchDtos.size();
+            if (!matchDtos.isEmpty()) {
+                jobsMatched++;
+            }
         }
 
-        log.info("Created {} new matches for job {}", matchDtos.size(), job.getId());
-        return matchDtos;
+        log.info("Batch created {} new matches across {} jobs ({} skipped)",
+                matchesCreated, jobsMatched, skippedJobIds.size());
+        return BatchMatchResultDto.builder()
+                .jobsRequested(jobs.size())
+                .jobsMatched(jobsMatched)
+                .matchesCreated(matchesCreated)
+                .skippedJobIds(skippedJobIds)
+                .matchesByJobId(matchesByJobId)
+                .build();
+    }
+
+    /*
+      Partitioned mode batch: a scatter-gather per job, since a group's candidates may sit on
+      several shards, all sent at once. The shard round trips run outside any transaction, so
+      they hold no database connection; only saving the matches runs in one.
+     */
+    private BatchMatchResultDto findShardedMatchesForJobs(BatchMatchRequest request) {
+        List<Job> jobs = loadBatchJobs(request);
+        MatchCriteria criteria = buildMatchCriteria(request);
+
+        List<Long> skippedJobIds = new ArrayList<>();
+        List<Long> openJobIds = new ArrayList<>();
+        List<JobScoringContext> contexts = new ArrayList<>();
+        for (Job job : jobs) {
+            if (job.getStatus() != JobStatus.PENDING && job.getStatus() != JobStatus.MATCHED) {
+                skippedJobIds.add(job.getId());
+                continue;
+            }
+            openJobIds.add(job.getId());
+            jobCriteriaStore.remember(job.getId(), criteria);
+            if (job.getLatitude() != null && job.getLongitude() != null) {
+                contexts.add(JobScoringContext.of(job));
+            }
+        }
+
+        Timer.Sample scoring = matchMetrics.startTimer();
+        Map<Long, List<ShardCandidateDto>> selectedByJob = shardScoringService.scatterGatherAll(contexts, criteria);
+        matchMetrics.stop(scoring, MatchMetrics.Stage.SCORE);
+
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            // Reloaded: a job may have been closed while the shards were scoring
+            Map<Long, Job> current = jobRepository.findAllById(openJobIds).stream()
+                    .collect(Collectors.toMap(Job::getId, job -> job));
+            Map<Long, List<MatchDto>> matchesByJobId = new LinkedHashMap<>();
+            int matchesCreated = 0;
+            int jobsMatched = 0;
+            for (Long jobId : openJobIds) {
+                Job job = current.get(jobId);
+                if (job == null || (job.getStatus() != JobStatus.PENDING && job.getStatus() != JobStatus.MATCHED)) {
+                    skippedJobIds.add(jobId);
+                    continue;
+                }
+                List<MatchDto> matchDtos = new ArrayList<>();
+                persistMatches(job, explained(selectedByJob.getOrDefault(jobId, List.of())), matchDtos::add);
+                matchesByJobId.put(jobId, matchDtos);
+                matchesCreated += matchDtos.size();
+                if (!matchDtos.isEmpty()) {
+                    jobsMatched++;
+                }
+            }
+
+            log.info("Batch created {} new matches across {} jobs ({} skipped) across shards",
+                    matchesCreated, jobsMatched, skippedJobIds.size());
+            return BatchMatchResultDto.builder()
+                    .jobsRequested(jobs.size())
+                    .jobsMatched(jobsMatched)
+                    .matchesCreated(matchesCreated)
+                    .skippedJobIds(skippedJobIds)
+                    .matchesByJobId(matchesByJobId)
+                    .build();
+        });
+    }
+
+    public MatchCacheStatsDto getCacheStats() {
+        return matchResultCache.getStats();
     }
 
     @Transactional(readOnly = true)
@@ -187,6 +383,121 @@ public class MatchService {
 
     // ==================== HELPER METHODS ====================
 
+    /*
+      Saves the selected candidates as SUGGESTED matches (skipping existing pairs), passes each
+      new match to sink, and marks the job MATCHED if anything new was created; two round trips
+      regardless of the match count. Returns the number of matches created.
+     */
+    private int saveMatches(Job job, List<ScoredCandidate> topMatches, CandidateSnapshot candidates,
+                            JobScoringContext jobContext, MatchCriteria criteria, Consumer<MatchDto> sink) {
+        if (topMatches.isEmpty()) {
+            return 0;
+        }
+
+        // Explanation phase: breakdown and reasons only for matches we return
+        Timer.Sample explaining = matchMetrics.startTimer();
+        Map<Long, MatchScoreBreakdown> breakdowns = new LinkedHashMap<>();
+        for (ScoredCandidate candidate : topMatches) {
+            breakdowns.put(candidate.professionalId(), matchingEngine.calculateMatchScore(
+                    candidates, candidate.row(), jobContext, criteria));
+        }
+        matchMetrics.stop(explaining, MatchMetrics.Stage.EXPLAIN);
+
+        return persistMatches(job, breakdowns, sink);
+    }
+
+    /*
+      Persisting half of saveMatches, for selections explained elsewhere (best first)
+     */
+    private int persistMatches(Job job, Map<Long, MatchScoreBreakdown> breakdowns, Consumer<MatchDto> sink) {
+        if (breakdowns.isEmpty()) {
+            return 0;
+        }
+
+        List<Match> matches = new ArrayList<>(breakdowns.size());
+        for (Map.Entry<Long, MatchScoreBreakdown> entry : breakdowns.entrySet()) {
+            MatchScoreBreakdown scoreBreakdown = entry.getValue();
+            matchMetrics.recordScore(job.getJobType(), scoreBreakdown.getTotalScore().doubleValue());
+
+            matches.add(Match.builder()
+                    .job(job)
+                    .professional(professionalRepository.getReferenceById(entry.getKey()))
+                    .matchScore(scoreBreakdown.getTotalScore())
+                    .distanceKm(scoreBreakdown.getDistanceKm())
+                    .expertiseScore(scoreBreakdown.getExpertiseScore())
+                    .availabilityScore(scoreBreakdown.getAvailabilityScore())
+                    .ratingScore(scoreBreakdown.getRatingScore())
+                    .priceScore(scoreBreakdown.getPriceScore())
+                    .status(MatchStatus.SUGGESTED)
+                    .build());
+        }
+
+        // One insert for the whole result set; pairs that already have a match are skipped
+        Timer.Sample persisting = matchMetrics.startTimer();
+        List<Match> savedMatches = matchRepository.insertIgnoringExisting(matches);
+        log.debug("Inserted {} of {} matches for job {}", savedMatches.size(), matches.size(), job.getId());
+
+        // Load the matched professionals in one query for the DTOs
+        Map<Long, Professional> professionals = professionalRepository.findAllById(savedMatches.stream()
+                        .map(match -> match.getProfessional().getId())
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Professional::getId, professional -> professional));
+        matchMetrics.stop(persisting, MatchMetrics.Stage.PERSIST);
+        matchMetrics.recordPersisted(savedMatches.size());
+
+        // Update job status to MATCHED if matches were found
+        if (!savedMatches.isEmpty() && job.getStatus() == JobStatus.PENDING) {
+            job.setStatus(JobStatus.MATCHED);
+            jobRepository.save(job);
+            eventPublisher.publishEvent(new JobChangedEvent(job.getId(), JobChangedEvent.ChangeType.STATUS_CHANGED));
+        }
+
+        Timer.Sample mapping = matchMetrics.startTimer();
+        for (Match savedMatch : savedMatches) {
+            Long professionalId = savedMatch.getProfessional().getId();
+            savedMatch.setProfessional(professionals.get(professionalId));
+            sink.accept(mapToDto(savedMatch, breakdowns.get(professionalId)));
+        }
+        matchMetrics.stop(mapping, MatchMetrics.Stage.MAP);
+
+        return savedMatches.size();
+    }
+
+    private static Map<Long, MatchScoreBreakdown> explained(List<ShardCandidateDto> selected) {
+        Map<Long, MatchScoreBreakdown> breakdowns = new LinkedHashMap<>();
+        for (ShardCandidateDto candidate : selected) {
+            breakdowns.put(candidate.getProfessionalId(), candidate.getScoreBreakdown());
+        }
+        return breakdowns;
+    }
+
+    private static List<ProvisionalMatchDto> toProvisional(List<ScoredCandidate> ranking) {
+        List<ProvisionalMatchDto> provisional = new ArrayList<>(ranking.size());
+        for (int i = 0; i < ranking.size(); i++) {
+            ScoredCandidate candidate = ranking.get(i);
+            provisional.add(ProvisionalMatchDto.builder()
+                    .rank(i + 1)
+                    .professionalId(candidate.professionalId())
+                    .matchScore(BigDecimal.valueOf(candidate.totalScore()).setScale(2, RoundingMode.HALF_UP))
+                    .build());
+        }
+        return provisional;
+    }
+
+    private MatchCriteria buildMatchCriteria(BatchMatchRequest request) {
+        return buildMatchCriteria(MatchRequest.builder()
+                .distanceWeight(request.getDistanceWeight())
+                .expertiseWeight(request.getExpertiseWeight())
+                .availabilityWeight(request.getAvailabilityWeight())
+                .ratingWeight(request.getRatingWeight())
+                .priceWeight(request.getPriceWeight())
+                .minimumMatchScore(request.getMinimumMatchScore())
+                .maxMatches(request.getMaxMatches())
+                .verifiedOnly(request.getVerifiedOnly())
+                .build());
+    }
+
     private MatchCriteria buildMatchCriteria(MatchRequest request) {
         MatchCriteria.MatchCriteriaBuilder builder = MatchCriteria.builder();
 
@@ -218,7 +529,8 @@ public class MatchService {
         return builder.build();
     }
 
-    private MatchDto mapToDto(Match match) {
+    // Package-private for the mapper benchmarks
+    MatchDto mapToDto(Match match) {
         return MatchDto.builder()
                 .id(match.getId())
                 .jobId(match.getJob().getId())
@@ -244,7 +556,7 @@ public class MatchService {
                 .build();
     }
 
-    private MatchDto mapToDto(Match match, MatchScoreBreakdown scoreBreakdown) {
+    MatchDto mapToDto(Match match, MatchScoreBreakdown scoreBreakdown) {
         return MatchDto.builder()
                 .id(match.getId())
                 .jobId(match.getJob().getId())
@@ -260,15 +572,4 @@ public class MatchService {
                 .createdAt(match.getCreatedAt())
                 .build();
     }
-
-    // Helper class to hold professional and score together during processing
-    private static class MatchWithScore {
-        Professional professional;
-        MatchScoreBreakdown scoreBreakdown;
-
-        MatchWithScore(Professional professional, MatchScoreBreakdown scoreBreakdown) {
-            this.professional = professional;
-            this.scoreBreakdown = scoreBreakdown;
-        }
-    }
 }
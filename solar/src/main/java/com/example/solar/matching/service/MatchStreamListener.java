@@ -0,0 +1,17 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.matching.dto.MatchDto;
+import com.example.solar.matching.dto.ProvisionalMatchDto;
+
+import java.util.List;
+
+/*
+  Receives the results of MatchService.streamMatches as they become available: zero or more
+  provisional rankings while candidates are scored, then each match once it is saved
+ */
+public interface MatchStreamListener {
+
+    void onProvisionalRanking(List<ProvisionalMatchDto> ranking);
+
+    void onMatch(MatchDto match);
+}
@@ -0,0 +1,158 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.common.exception.ResourceNotFoundException;
+import com.example.solar.matching.domain.MatchTicketStatus;
+import com.example.solar.matching.dto.MatchDto;
+import com.example.solar.matching.dto.MatchRequest;
+import com.example.solar.matching.dto.MatchTicketDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+  Asynchronous match runs: submit returns a ticket at once and MatchService.findMatches runs
+  through the MatchScheduler at the job's priority, so request threads are not held for the
+  whole computation.
+  While a run is pending or running, an identical request (same job, same criteria) gets the
+  existing ticket instead of starting another run. Finished tickets are kept for the retention
+  period so clients can poll them, then dropped.
+ */
+@Service
+@Slf4j
+public class MatchTicketService {
+
+    private final MatchService matchService;
+    private final MatchScheduler matchScheduler;
+    private final long retentionNanos;
+    private final int maxTickets;
+
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final Map<MatchRequest, Ticket> inFlight = new ConcurrentHashMap<>();
+
+    public MatchTicketService(MatchService matchService,
+                              MatchScheduler matchScheduler,
+                              @Value("${matching.async.ticket-retention-seconds:600}") long retentionSeconds,
+                              @Value("${matching.async.max-tickets:10000}") int maxTickets) {
+        this.matchService = matchService;
+        this.matchScheduler = matchScheduler;
+        this.retentionNanos = retentionSeconds * 1_000_000_000L;
+        this.maxTickets = maxTickets;
+    }
+
+    /*
+      Ticket for the request, new or the one already in flight for an identical request.
+      Throws TaskRejectedException when the scheduler queue or the ticket store is full.
+     */
+    public MatchTicketDto submit(MatchRequest request) {
+        purgeExpired();
+
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), request.getJobId());
+        Ticket existing = inFlight.putIfAbsent(request, ticket);
+        if (existing != null) {
+            log.debug("Joining in-flight match ticket {} for job {}", existing.id, request.getJobId());
+            return existing.toDto();
+        }
+        if (tickets.size() >= maxTickets) {
+            inFlight.remove(request, ticket);
+            throw new TaskRejectedException("Too many match tickets, try again later");
+        }
+
+        tickets.put(ticket.id, ticket);
+        try {
+            matchScheduler.submit(matchScheduler.priorityOf(request.getJobId()), () -> {
+                run(ticket, request);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            tickets.remove(ticket.id);
+            inFlight.remove(request, ticket);
+            throw e;
+        }
+        log.info("Queued match ticket {} for job {}", ticket.id, request.getJobId());
+        return ticket.toDto();
+    }
+
+    public MatchTicketDto getTicket(String ticketId) {
+        return find(ticketId).toDto();
+    }
+
+    /*
+      Completes with the ticket once it is COMPLETED or FAILED
+     */
+    public CompletableFuture<MatchTicketDto> whenDone(String ticketId) {
+        Ticket ticket = find(ticketId);
+        return ticket.done.thenApply(ignored -> ticket.toDto());
+    }
+
+    private void run(Ticket ticket, MatchRequest request) {
+        ticket.status = MatchTicketStatus.RUNNING;
+        try {
+            ticket.finish(matchService.findMatches(request), null);
+        } catch (Exception e) {
+            log.warn("Match ticket {} for job {} failed: {}", ticket.id, request.getJobId(), e.getMessage());
+            ticket.finish(null, e.getMessage());
+        } finally {
+            inFlight.remove(request, ticket);
+        }
+    }
+
+    private Ticket find(String ticketId) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            throw new ResourceNotFoundException("Match ticket", "id", ticketId);
+        }
+        return ticket;
+    }
+
+    private void purgeExpired() {
+        long now = System.nanoTime();
+        tickets.values().removeIf(ticket -> ticket.done.isDone() && now - ticket.finishedNanos > retentionNanos);
+    }
+
+    private static class Ticket {
+        private final String id;
+        private final Long jobId;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private volatile MatchTicketStatus status = MatchTicketStatus.PENDING;
+        private volatile LocalDateTime completedAt;
+        private volatile long finishedNanos;
+        private volatile List<MatchDto> matches;
+        private volatile String error;
+
+        Ticket(String id, Long jobId) {
+            this.id = id;
+            this.jobId = jobId;
+        }
+
+        void finish(List<MatchDto> matches, String error) {
+            this.matches = matches;
+            this.error = error;
+            this.completedAt = LocalDateTime.now();
+            this.finishedNanos = System.nanoTime();
+            this.status = error == null ? MatchTicketStatus.COMPLETED : MatchTicketStatus.FAILED;
+            done.complete(null);
+        }
+
+        MatchTicketDto toDto() {
+            return MatchTicketDto.builder()
+                    .ticketId(id)
+                    .jobId(jobId)
+                    .status(status)
+                    .createdAt(createdAt)
+                    .completedAt(completedAt)
+                    .matches(matches)
+                    .error(error)
+                    .build();
+        }
+    }
+}
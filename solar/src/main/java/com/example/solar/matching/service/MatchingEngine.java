@@ -1,372 +1,164 @@
 package com.example.solar.matching.service;
 
-import com.example.solar.common.util.GeoUtils;
 import com.example.solar.job.domain.Job;
-import com.example.solar.job.domain.JobType;
 import com.example.solar.matching.domain.MatchCriteria;
 import com.example.solar.matching.dto.MatchScoreBreakdown;
-import com.example.solar.professional.domain.AvailabilitySlot;
 import com.example.solar.professional.domain.Professional;
-import com.example.solar.professional.domain.ProfessionalExpertise;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /*
   Core matching logic that scores professionals against jobs
   basically  implements a weighted scoring algorithm across multiple dimensions
+
+  The dimensions are MatchScorer beans. They are evaluated cheapest first, and the weighted
+  total is summed in that same order in every phase, so totals agree bit for bit.
+  When scoring against a threshold, a candidate is abandoned as soon as the points already
+  earned plus the most the remaining dimensions could add can no longer reach it.
+
+  The scoring phase runs through a ScoringPlan compiled once per distinct set of weights
+  (planFor); callers scoring many candidates with one MatchCriteria should fetch the plan once.
  */
 @Component
 @Slf4j
 public class MatchingEngine {
 
     /*
-     overall match score for a professional-job pairing
+      Returned by the threshold variants when the candidate was abandoned early
      */
-    public MatchScoreBreakdown calculateMatchScore(Professional professional, Job job, MatchCriteria criteria) {
-        log.debug("Calculating match score for Professional {} and Job {}",
-                professional.getId(), job.getId());
+    public static final double PRUNED = -1.0;
 
-        // Calculate individual dimension scores
-        double distanceKm = calculateDistance(professional, job);
-        double distanceScore = calculateDistanceScore(distanceKm, professional.getServiceRadiusKm());
+    // Distinct weight vectors kept compiled; clients rarely use more than a handful
+    private static final int MAX_PLANS = 256;
 
-        double expertiseScore = calculateExpertiseScore(professional, job);
-        double availabilityScore = calculateAvailabilityScore(professional, job);
-        double ratingScore = calculateRatingScore(professional);
-        double priceScore = calculatePriceScore(professional, job);
+    private final MatchScorer[] dimensions;
+    private final Map<List<Double>, ScoringPlan> plans = new ConcurrentHashMap<>();
 
-        // Calculate weighted total score
-        double totalScore = (distanceScore * criteria.getDistanceWeight() / 100.0) +
-                (expertiseScore * criteria.getExpertiseWeight() / 100.0) +
-                (availabilityScore * criteria.getAvailabilityWeight() / 100.0) +
-                (ratingScore * criteria.getRatingWeight() / 100.0) +
-                (priceScore * criteria.getPriceWeight() / 100.0);
+    public MatchingEngine() {
+        this(List.of(new DistanceScorer(), new ExpertiseScorer(), new AvailabilityScorer(),
+                new RatingScorer(), new PriceScorer()));
+    }
 
-        // Build breakdown with reasons
-        return MatchScoreBreakdown.builder()
-                .distanceKm(BigDecimal.valueOf(distanceKm).setScale(2, RoundingMode.HALF_UP))
-                .distanceScore(BigDecimal.valueOf(distanceScore).setScale(2, RoundingMode.HALF_UP))
-                .expertiseScore(BigDecimal.valueOf(expertiseScore).setScale(2, RoundingMode.HALF_UP))
-                .availabilityScore(BigDecimal.valueOf(availabilityScore).setScale(2, RoundingMode.HALF_UP))
-                .ratingScore(BigDecimal.valueOf(ratingScore).setScale(2, RoundingMode.HALF_UP))
-                .priceScore(BigDecimal.valueOf(priceScore).setScale(2, RoundingMode.HALF_UP))
-                .totalScore(BigDecimal.valueOf(totalScore).setScale(2, RoundingMode.HALF_UP))
-                .distanceReason(generateDistanceReason(distanceKm, professional.getServiceRadiusKm()))
-                .expertiseReason(generateExpertiseReason(professional, job))
-                .availabilityReason(generateAvailabilityReason(professional, job))
-                .ratingReason(generateRatingReason(professional))
-                .priceReason(generatePriceReason(professional, job))
-                .build();
+    @Autowired
+    public MatchingEngine(List<MatchScorer> dimensions) {
+        // Stable sort: equal-cost dimensions keep their registration (@Order) order
+        this.dimensions = dimensions.toArray(new MatchScorer[0]);
+        Arrays.sort(this.dimensions, Comparator.comparingInt(MatchScorer::cost));
+        log.info("Matching dimensions in evaluation order: {}",
+                Arrays.stream(this.dimensions).map(MatchScorer::name).toList());
     }
 
     /*
-      distance between professional and job location using Haversine formula
+      The compiled scoring loop for these weights, built on first use and then shared
      */
-    private double calculateDistance(Professional professional, Job job) {
-        return GeoUtils.calculateDistance(
-                professional.getLatitude(),
-                professional.getLongitude(),
-                job.getLatitude(),
-                job.getLongitude()
-        );
+    public ScoringPlan planFor(MatchCriteria criteria) {
+        Double[] key = new Double[dimensions.length];
+        double[] weights = new double[dimensions.length];
+        for (int i = 0; i < dimensions.length; i++) {
+            weights[i] = dimensions[i].weight(criteria) + 0.0; // -0.0 and 0.0 share a plan
+            key[i] = weights[i];
+        }
+        List<Double> weightKey = List.of(key);
+        ScoringPlan plan = plans.get(weightKey);
+        if (plan == null) {
+            if (plans.size() >= MAX_PLANS) {
+                plans.clear(); // Weights vary per request: start over rather than grow without bound
+            }
+            plan = plans.computeIfAbsent(weightKey, k -> new ScoringPlan(dimensions, weights));
+        }
+        return plan;
     }
 
     /*
-     Score distance: 100 if <= 10km, linearly decreasing to 0 at service radius
-      Returns 0 if outside service radius
+     overall match score for a professional-job pairing
      */
-    private double calculateDistanceScore(double distanceKm, int serviceRadiusKm) {
-        return GeoUtils.calculateDistanceScore(distanceKm, serviceRadiusKm);
+    public MatchScoreBreakdown calculateMatchScore(Professional professional, Job job, MatchCriteria criteria) {
+        log.debug("Calculating match score for Professional {} and Job {}",
+                professional.getId(), job.getId());
+
+        return calculateMatchScore(CandidateSnapshot.of(professional), 0, JobScoringContext.of(job), criteria);
     }
 
     /*
-      Score expertise match based on:
-      1. Exact job type match (50 points)
-      2. Years of experience (30 points)
-      3. Certifications (20 points)
+     Full breakdown with reasons, reading the professional from a snapshot row instead of an entity.
+     This is the explanation phase: only call it for matches that will actually be returned.
      */
-    private double calculateExpertiseScore(Professional professional, Job job) {
-        double score = 0.0;
-
-        List<ProfessionalExpertise> expertiseList = professional.getExpertiseList();
-        if (expertiseList == null || expertiseList.isEmpty()) {
-            return 0.0;
-        }
-
-        // Convert job type to expertise type format
-        String requiredExpertise = convertJobTypeToExpertise(job.getJobType());
-
-        // Check for exact expertise match
-        boolean hasMatch = false;
-        int maxExperienceYears = 0;
-        boolean hasCertification = false;
-
-        for (ProfessionalExpertise expertise : expertiseList) {
-            if (expertise.getExpertiseType().equalsIgnoreCase(requiredExpertise)) {
-                hasMatch = true;
-                if (expertise.getYearsExperience() != null) {
-                    maxExperienceYears = Math.max(maxExperienceYears, expertise.getYearsExperience());
-                }
-                if (expertise.getCertificationName() != null && !expertise.getCertificationName().isEmpty()) {
-                    hasCertification = true;
-                }
+    public MatchScoreBreakdown calculateMatchScore(CandidateSnapshot candidates, int row,
+                                                   JobScoringContext job, MatchCriteria criteria) {
+        ScoringPlan plan = planFor(criteria);
+        MatchScoreBreakdown.MatchScoreBreakdownBuilder builder = MatchScoreBreakdown.builder()
+                .distanceKm(scale(calculateDistance(candidates, row, job)));
+
+        double totalScore = 0.0;
+        for (int i = 0; i < dimensions.length; i++) {
+            MatchScorer dimension = dimensions[i];
+            double score = dimension.score(candidates, row, job);
+            if (plan.factor(i) != 0.0) {
+                totalScore += score * plan.factor(i); // Same terms, same order as the plan
             }
-        }
 
-        // Exact match: 50 points
-        if (hasMatch) {
-            score += 50.0;
-        } else {
-            // Check for related expertise (partial credit)
-            if (hasRelatedExpertise(expertiseList, requiredExpertise)) {
-                score += 25.0; // Half credit for related expertise
+            // Build breakdown with reasons
+            String reason = dimension.reason(candidates, row, job);
+            switch (dimension.name()) {
+                case DistanceScorer.NAME -> builder.distanceScore(scale(score)).distanceReason(reason);
+                case ExpertiseScorer.NAME -> builder.expertiseScore(scale(score)).expertiseReason(reason);
+                case AvailabilityScorer.NAME -> builder.availabilityScore(scale(score)).availabilityReason(reason);
+                case RatingScorer.NAME -> builder.ratingScore(scale(score)).ratingReason(reason);
+                case PriceScorer.NAME -> builder.priceScore(scale(score)).priceReason(reason);
+                default -> { } // Extra dimensions only count towards the total
             }
         }
 
-        // Years of experience: up to 30 points (capped at 10+ years)
-        if (maxExperienceYears > 0) {
-            score += Math.min(30.0, maxExperienceYears * 3.0);
-        }
-
-        // Certification: 20 points
-        if (hasCertification) {
-            score += 20.0;
-        }
-
-        return Math.min(100.0, score);
+        return builder.totalScore(scale(ScoringPlan.round(totalScore))).build();
     }
 
     /*
-      Score availability based on:
-     1. Has slots on preferred date (60 points)
-     2. Number of available slots (30 points)
-     3. Flexibility (slots within +/- 7 days) (10 points)
+     Scoring phase: total score only (rounded to 2 decimals), no strings, no BigDecimal.
+     Matches the totalScore of calculateMatchScore for the same row.
      */
-    private double calculateAvailabilityScore(Professional professional, Job job) {
-        List<AvailabilitySlot> slots = professional.getAvailabilitySlots();
-
-        if (slots == null || slots.isEmpty()) {
-            return 20.0; // Base score for being in the system
-        }
-
-        double score = 0.0;
-        LocalDate preferredDate = job.getPreferredDate();
-
-        if (preferredDate == null) {
-            // No preferred date - just check if they have any available slots
-            long availableCount = slots.stream()
-                    .filter(slot -> !slot.getIsBooked())
-                    .count();
-            return availableCount > 0 ? 70.0 : 20.0;
-        }
-
-        // Check for slots on preferred date
-        long preferredDateSlots = slots.stream()
-                .filter(slot -> slot.getDate().equals(preferredDate) && !slot.getIsBooked())
-                .count();
-
-        if (preferredDateSlots > 0) {
-            score += 60.0;
-        }
-
-        // Number of available slots (normalized to 30 points max)
-        long totalAvailable = slots.stream()
-                .filter(slot -> !slot.getIsBooked())
-                .count();
-        score += Math.min(30.0, totalAvailable * 5.0);
-
-        // Flexibility: has slots within +/- 7 days of preferred date
-        if (preferredDateSlots == 0) {
-            LocalDate startDate = preferredDate.minusDays(7);
-            LocalDate endDate = preferredDate.plusDays(7);
-
-            long nearbySlots = slots.stream()
-                    .filter(slot -> !slot.getIsBooked() &&
-                            !slot.getDate().isBefore(startDate) &&
-                            !slot.getDate().isAfter(endDate))
-                    .count();
-
-            if (nearbySlots > 0) {
-                score += 10.0;
-            }
-        }
-
-        return Math.min(100.0, score);
+    public double calculateTotalScore(CandidateSnapshot candidates, int row,
+                                      JobScoringContext job, MatchCriteria criteria) {
+        return planFor(criteria).totalScore(candidates, row, job, Double.NEGATIVE_INFINITY);
     }
 
     /*
-      Score rating: Direct conversion from 0-5 rating to 0-100 score
-     Also considers track record (number of completed jobs)
+     Scoring phase against a threshold (minimum score or current top-K cutoff): the total,
+     or PRUNED as soon as the candidate provably cannot reach the threshold
      */
-    private double calculateRatingScore(Professional professional) {
-        BigDecimal rating = professional.getRating();
-        Integer jobsCompleted = professional.getTotalJobsCompleted();
-
-        if (rating == null || rating.compareTo(BigDecimal.ZERO) == 0) {
-            return 50.0; // Neutral score for new professionals
-        }
-
-        // Convert 0-5 rating to 0-100 score
-        double baseScore = rating.doubleValue() * 20.0;
-
-        // Bonus for track record (up to 10 points)
-        double trackRecordBonus = 0.0;
-        if (jobsCompleted != null && jobsCompleted > 0) {
-            trackRecordBonus = Math.min(10.0, jobsCompleted * 0.5);
-        }
-
-        return Math.min(100.0, baseScore + trackRecordBonus);
+    public double calculateTotalScore(CandidateSnapshot candidates, int row, JobScoringContext job,
+                                      MatchCriteria criteria, double threshold) {
+        return planFor(criteria).totalScore(candidates, row, job, threshold);
     }
 
     /*
-     Score price competitiveness based on hourly rate vs job budget
-     Higher score for rates within customer's budget
+      Scores the row once more, one dimension at a time, recording each call's duration.
+      Kept out of calculateTotalScore so the unsampled loop carries no timing code.
      */
-    private double calculatePriceScore(Professional professional, Job job) {
-        BigDecimal hourlyRate = professional.getHourlyRate();
-
-        if (hourlyRate == null) {
-            return 50.0; // Neutral score if no rate specified
-        }
-
-        BigDecimal budgetMax = job.getBudgetMax();
-
-        if (budgetMax == null) {
-            // No budget specified - score based on market rate
-            // Assume average job is 20 hours, market rate is $50-150/hr
-            double totalCost = hourlyRate.doubleValue() * 20;
-            if (totalCost < 1000) return 100.0;       // Very affordable
-            if (totalCost < 2000) return 80.0;        // Affordable
-            if (totalCost < 3000) return 60.0;        // Moderate
-            return 40.0;                               // Expensive
-        }
-
-        // Estimate total cost (assume 20 hours for typical job)
-        double estimatedCost = hourlyRate.doubleValue() * 20;
-        double budget = budgetMax.doubleValue();
-
-        if (estimatedCost <= budget * 0.7) {
-            return 100.0; // Well within budget
-        } else if (estimatedCost <= budget) {
-            return 80.0;  // Within budget
-        } else if (estimatedCost <= budget * 1.2) {
-            return 60.0;  // Slightly over budget
-        } else if (estimatedCost <= budget * 1.5) {
-            return 40.0;  // Over budget
-        } else {
-            return 20.0;  // Significantly over budget
-        }
-    }
-
-    private String convertJobTypeToExpertise(JobType jobType) {
-        return switch (jobType) {
-            case INSTALLATION -> "PANEL_INSTALLATION";
-            case BATTERY_SETUP -> "BATTERY_SETUP";
-            case MAINTENANCE -> "MAINTENANCE";
-            case REPAIR -> "REPAIR";
-            case INSPECTION -> "INSPECTION";
-            case UPGRADE -> "UPGRADE";
-        };
-    }
-
-    private boolean hasRelatedExpertise(List<ProfessionalExpertise> expertiseList, String requiredExpertise) {
-        // Define related expertise relationships
-        return expertiseList.stream().anyMatch(exp -> {
-            String type = exp.getExpertiseType();
-            // INSTALLATION relates to UPGRADE and INSPECTION
-            if (requiredExpertise.equals("PANEL_INSTALLATION")) {
-                return type.equals("UPGRADE") || type.equals("INSPECTION");
-            }
-            // MAINTENANCE relates to REPAIR and INSPECTION
-            if (requiredExpertise.equals("MAINTENANCE")) {
-                return type.equals("REPAIR") || type.equals("INSPECTION");
-            }
-            // REPAIR relates to MAINTENANCE
-            if (requiredExpertise.equals("REPAIR")) {
-                return type.equals("MAINTENANCE");
-            }
-            return false;
-        });
-    }
-
-    private String generateDistanceReason(double distanceKm, int serviceRadiusKm) {
-        if (distanceKm <= 10) {
-            return "Very close - within 10km";
-        } else if (distanceKm <= serviceRadiusKm * 0.5) {
-            return String.format("Close - %.1fkm away", distanceKm);
-        } else if (distanceKm <= serviceRadiusKm) {
-            return String.format("Within service area - %.1fkm away", distanceKm);
-        } else {
-            return String.format("Outside service area - %.1fkm away", distanceKm);
+    public void timeDimensions(CandidateSnapshot candidates, int row, JobScoringContext job, MatchMetrics metrics) {
+        for (MatchScorer dimension : dimensions) {
+            long start = System.nanoTime();
+            dimension.score(candidates, row, job);
+            metrics.recordDimension(dimension.name(), System.nanoTime() - start);
         }
     }
 
-    private String generateExpertiseReason(Professional professional, Job job) {
-        String requiredExpertise = convertJobTypeToExpertise(job.getJobType());
-
-        boolean hasMatch = professional.getExpertiseList().stream()
-                .anyMatch(exp -> exp.getExpertiseType().equalsIgnoreCase(requiredExpertise));
-
-        if (hasMatch) {
-            return "Direct expertise match for " + job.getJobType();
-        } else if (hasRelatedExpertise(professional.getExpertiseList(), requiredExpertise)) {
-            return "Related expertise in solar systems";
-        } else {
-            return "General solar experience";
-        }
-    }
-
-    private String generateAvailabilityReason(Professional professional, Job job) {
-        if (job.getPreferredDate() == null) {
-            return "Available for scheduling";
-        }
-
-        long matchingSlots = professional.getAvailabilitySlots().stream()
-                .filter(slot -> slot.getDate().equals(job.getPreferredDate()) && !slot.getIsBooked())
-                .count();
-
-        if (matchingSlots > 0) {
-            return "Available on preferred date (" + job.getPreferredDate() + ")";
-        } else {
-            return "Available for alternative dates";
-        }
-    }
-
-    private String generateRatingReason(Professional professional) {
-        BigDecimal rating = professional.getRating();
-        Integer jobs = professional.getTotalJobsCompleted();
-
-        if (rating == null || rating.compareTo(BigDecimal.ZERO) == 0) {
-            return "New professional - no reviews yet";
-        }
-
-        return String.format("%.1f star rating based on %d completed jobs",
-                rating.doubleValue(), jobs != null ? jobs : 0);
+    /*
+      distance between professional and job location using Haversine formula
+     */
+    public double calculateDistance(CandidateSnapshot candidates, int row, JobScoringContext job) {
+        return DistanceScorer.distanceKm(candidates, row, job);
     }
 
-    private String generatePriceReason(Professional professional, Job job) {
-        if (professional.getHourlyRate() == null) {
-            return "Rate to be negotiated";
-        }
-
-        if (job.getBudgetMax() == null) {
-            return String.format("$%.2f per hour", professional.getHourlyRate().doubleValue());
-        }
-
-        double estimatedCost = professional.getHourlyRate().doubleValue() * 20;
-        double budget = job.getBudgetMax().doubleValue();
-
-        if (estimatedCost <= budget * 0.7) {
-            return "Well within budget";
-        } else if (estimatedCost <= budget) {
-            return "Within budget";
-        } else {
-            return "Above budget estimate";
-        }
+    private static BigDecimal scale(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
     }
-}
\ No newline at end of file
+}
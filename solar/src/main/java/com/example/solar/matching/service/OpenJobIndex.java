@@ -0,0 +1,168 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.common.util.GeoGrid;
+import com.example.solar.common.util.GeoUtils;
+import com.example.solar.job.domain.Job;
+import com.example.solar.job.domain.JobChangedEvent;
+import com.example.solar.job.domain.JobStatus;
+import com.example.solar.job.domain.UrgencyLevel;
+import com.example.solar.job.repository.JobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+  In-memory spatial index of open (PENDING or MATCHED) jobs, the reverse of
+  ProfessionalGeoIndex: jobs are points, registered in the one grid cell they fall in, and a
+  professional's service area looks up the cells its bounding box covers.
+  Loaded lazily on first use and kept current from JobChangedEvent; a job that is no longer
+  open drops out.
+ */
+@Component
+@Slf4j
+public class OpenJobIndex {
+
+    private final JobRepository jobRepository;
+    private final GeoGrid grid;
+
+    private final Map<Long, OpenJob> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> jobsByCell = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded = false;
+
+    /*
+      What the feed needs of a job: its scoring inputs plus the fields shown in the feed
+     */
+    public record OpenJob(JobScoringContext scoring, String title, JobStatus status,
+                          UrgencyLevel urgencyLevel, long cell) {
+
+        public Long jobId() {
+            return scoring.jobId();
+        }
+    }
+
+    public OpenJobIndex(JobRepository jobRepository,
+                        @Value("${matching.geo-index.cell-size-degrees:0.5}") double cellSizeDegrees) {
+        this.jobRepository = jobRepository;
+        this.grid = new GeoGrid(cellSizeDegrees);
+    }
+
+    /*
+      Open jobs (ascending id) inside the bounding box of the circle of radiusKm around the
+      point; the box is a superset of the circle, so callers still check the exact distance
+     */
+    public List<OpenJob> findNear(double latitude, double longitude, double radiusKm) {
+        if (Double.isNaN(latitude) || Double.isNaN(longitude)) {
+            return List.of();
+        }
+        ensureLoaded();
+
+        double latHalfHeight = GeoUtils.latitudeHalfHeight(radiusKm);
+        double lonHalfWidth = GeoUtils.longitudeHalfWidth(latitude, radiusKm);
+        List<OpenJob> found = new ArrayList<>();
+        GeoUtils.BoundingBox box = GeoUtils.boundingBox(latitude, longitude, radiusKm);
+        // An area covering more cells than are occupied is cheaper to answer from the jobs themselves
+        if (grid.countCells(box) > jobsByCell.size()) {
+            for (OpenJob job : jobs.values()) {
+                collectNear(job, latitude, longitude, latHalfHeight, lonHalfWidth, found);
+            }
+        } else {
+            for (long cell : grid.cellsCovering(box)) {
+                for (Long id : jobsByCell.getOrDefault(cell, Set.of())) {
+                    collectNear(jobs.get(id), latitude, longitude, latHalfHeight, lonHalfWidth, found);
+                }
+            }
+        }
+        found.sort(Comparator.comparing(OpenJob::jobId));
+        return found;
+    }
+
+    public int size() {
+        return jobs.size();
+    }
+
+    @TransactionalEventListener
+    public void onJobChanged(JobChangedEvent event) {
+        // Checked under the lock: an event that arrives while the first load runs waits for it,
+        // then applies on top, since the load may have read the job before the change committed
+        synchronized (this) {
+            if (!loaded) {
+                return; // Picked up by the initial load
+            }
+            if (event.changeType() == JobChangedEvent.ChangeType.DELETED) {
+                remove(event.jobId());
+                return;
+            }
+            jobRepository.findById(event.jobId())
+                    .ifPresentOrElse(this::put, () -> remove(event.jobId()));
+        }
+    }
+
+    /*
+      Drops the current contents and reloads every open job from the database
+     */
+    public synchronized void rebuild() {
+        jobs.clear();
+        jobsByCell.clear();
+
+        for (Job job : jobRepository.findOpenJobs()) {
+            put(job);
+        }
+        loaded = true;
+        log.info("Open job index built with {} jobs", jobs.size());
+    }
+
+    synchronized void put(Job job) {
+        remove(job.getId());
+
+        if (!isOpen(job.getStatus()) || job.getLatitude() == null || job.getLongitude() == null) {
+            return; // Not offered to anyone
+        }
+
+        JobScoringContext scoring = JobScoringContext.of(job);
+        long cell = grid.cellOf(scoring.latitude(), scoring.longitude());
+        jobs.put(job.getId(), new OpenJob(scoring, job.getTitle(), job.getStatus(), job.getUrgencyLevel(), cell));
+        jobsByCell.computeIfAbsent(cell, k -> ConcurrentHashMap.newKeySet()).add(job.getId());
+    }
+
+    synchronized void remove(Long jobId) {
+        OpenJob previous = jobs.remove(jobId);
+        if (previous == null) {
+            return;
+        }
+        jobsByCell.computeIfPresent(previous.cell(), (k, members) -> {
+            members.remove(jobId);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    private static void collectNear(OpenJob job, double latitude, double longitude,
+                                    double latHalfHeight, double lonHalfWidth, List<OpenJob> out) {
+        if (job != null && GeoUtils.withinBox(latitude, longitude, job.scoring().latitude(),
+                job.scoring().longitude(), latHalfHeight, lonHalfWidth)) {
+            out.add(job);
+        }
+    }
+
+    private static boolean isOpen(JobStatus status) {
+        return status == JobStatus.PENDING || status == JobStatus.MATCHED;
+    }
+}
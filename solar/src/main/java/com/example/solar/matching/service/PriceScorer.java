@@ -0,0 +1,92 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.matching.domain.MatchCriteria;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/*
+  Score price competitiveness based on hourly rate vs job budget
+  Higher score for rates within customer's budget
+ */
+@Component
+@Order(50)
+public class PriceScorer implements MatchScorer {
+
+    public static final String NAME = "price";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int cost() {
+        return 1;
+    }
+
+    @Override
+    public double weight(MatchCriteria criteria) {
+        return criteria.getPriceWeight();
+    }
+
+    @Override
+    public Scope scope() {
+        return Scope.JOB;
+    }
+
+    @Override
+    public double score(CandidateSnapshot candidates, int row, JobScoringContext job) {
+        double hourlyRate = candidates.hourlyRate(row);
+
+        if (Double.isNaN(hourlyRate)) {
+            return 50.0; // Neutral score if no rate specified
+        }
+
+        if (!job.hasBudget()) {
+            // No budget specified - score based on market rate
+            // Assume average job is 20 hours, market rate is $50-150/hr
+            double totalCost = hourlyRate * 20;
+            if (totalCost < 1000) return 100.0;       // Very affordable
+            if (totalCost < 2000) return 80.0;        // Affordable
+            if (totalCost < 3000) return 60.0;        // Moderate
+            return 40.0;                               // Expensive
+        }
+
+        // Estimate total cost (assume 20 hours for typical job)
+        double estimatedCost = hourlyRate * 20;
+
+        if (estimatedCost <= job.budgetComfortable()) {
+            return 100.0; // Well within budget (70%)
+        } else if (estimatedCost <= job.budgetMax()) {
+            return 80.0;  // Within budget
+        } else if (estimatedCost <= job.budgetStretch()) {
+            return 60.0;  // Slightly over budget (120%)
+        } else if (estimatedCost <= job.budgetCeiling()) {
+            return 40.0;  // Over budget (150%)
+        } else {
+            return 20.0;  // Significantly over budget
+        }
+    }
+
+    @Override
+    public String reason(CandidateSnapshot candidates, int row, JobScoringContext job) {
+        double hourlyRate = candidates.hourlyRate(row);
+        if (Double.isNaN(hourlyRate)) {
+            return "Rate to be negotiated";
+        }
+
+        if (!job.hasBudget()) {
+            return String.format("$%.2f per hour", hourlyRate);
+        }
+
+        double estimatedCost = hourlyRate * 20;
+
+        if (estimatedCost <= job.budgetComfortable()) {
+            return "Well within budget";
+        } else if (estimatedCost <= job.budgetMax()) {
+            return "Within budget";
+        } else {
+            return "Above budget estimate";
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.professional.domain.ProfessionalChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/*
+  Partitioned mode: a professional can be written through any node, but only the node owning
+  their location holds them in memory, and after a move the previous owner still holds the old
+  row. ProfessionalChangedEvent is node-local, so after each commit the change is relayed to
+  every other node, which applies it to its snapshot, geo index and matches exactly as the
+  local listeners would (a node not owning the professional just drops any copy it has).
+
+  Relaying is best effort: a node that cannot be reached logs the miss, and its stale row is
+  corrected by its next reload (the snapshot watermark covers the change).
+ */
+@Component
+@Slf4j
+public class ProfessionalChangeRelay {
+
+    private final ShardMap shardMap;
+    private final ShardClient shardClient;
+    private final CandidateSnapshotService candidateSnapshotService;
+    private final ProfessionalGeoIndex professionalGeoIndex;
+    private final MatchRescoringService matchRescoringService;
+    private final TaskExecutor executor;
+
+    public ProfessionalChangeRelay(ShardMap shardMap,
+                                   ShardClient shardClient,
+                                   CandidateSnapshotService candidateSnapshotService,
+                                   ProfessionalGeoIndex professionalGeoIndex,
+                                   MatchRescoringService matchRescoringService,
+                                   @Qualifier("shardRequestExecutor") TaskExecutor executor) {
+        this.shardMap = shardMap;
+        this.shardClient = shardClient;
+        this.candidateSnapshotService = candidateSnapshotService;
+        this.professionalGeoIndex = professionalGeoIndex;
+        this.matchRescoringService = matchRescoringService;
+        this.executor = executor;
+    }
+
+    @TransactionalEventListener
+    @Order(2) // After this node's own snapshot and geo index
+    public void onProfessionalChanged(ProfessionalChangedEvent event) {
+        if (!shardMap.isEnabled()) {
+            return;
+        }
+        for (String node : shardMap.nodes().keySet()) {
+            if (!node.equals(shardMap.self())) {
+                executor.execute(() -> relay(node, event));
+            }
+        }
+    }
+
+    /*
+      Applies a change relayed from another node, in the order the local listeners run
+     */
+    public void applyRelayed(ProfessionalChangedEvent event) {
+        candidateSnapshotService.onProfessionalChanged(event);
+        professionalGeoIndex.onProfessionalChanged(event);
+        // Only the owning node holds the row, so only it rescores the professional's matches
+        matchRescoringService.onProfessionalChanged(event);
+    }
+
+    private void relay(String node, ProfessionalChangedEvent event) {
+        try {
+            shardClient.relayProfessionalChange(node, event);
+        } catch (RuntimeException e) {
+            log.warn("Could not relay the change of professional {} to matching node {}: {}",
+                    event.professionalId(), node, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.common.util.GeoGrid;
+import com.example.solar.common.util.GeoUtils;
+import com.example.solar.professional.domain.ProfessionalChangedEvent;
+import com.example.solar.professional.dto.ProfessionalLocationView;
+import com.example.solar.professional.repository.ProfessionalRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+  In-memory spatial index of professionals' service areas.
+  Every professional is registered in each grid cell its service radius can reach, so a job
+  only has to look at the professionals listed in its own cell instead of the whole table.
+  Loaded lazily on first use and kept current from ProfessionalChangedEvent.
+
+  Every change also stamps the cells the professional covers (before and after) with a new
+  version from one increasing sequence, so versionAt() tells caches whether the candidate
+  set for a point may have changed. Oversized professionals and rebuilds bump a global version.
+
+  In the partitioned mode only the professionals this node owns (see ShardMap) are indexed.
+ */
+@Component
+@Slf4j
+public class ProfessionalGeoIndex {
+
+    private final ProfessionalRepository professionalRepository;
+    private final GeoGrid grid;
+    private final int maxCellsPerProfessional;
+    private final ShardMap shardMap;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> professionalsByCell = new ConcurrentHashMap<>();
+    // Professionals whose radius covers too many cells to register individually
+    private final Set<Long> oversized = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final Map<Long, Long> cellVersions = new ConcurrentHashMap<>();
+    private volatile long globalVersion = 0L;
+
+    private volatile boolean loaded = false;
+
+    public ProfessionalGeoIndex(ProfessionalRepository professionalRepository, double cellSizeDegrees,
+                                int maxCellsPerProfessional) {
+        this(professionalRepository, cellSizeDegrees, maxCellsPerProfessional, ShardMap.singleNode());
+    }
+
+    @Autowired
+    public ProfessionalGeoIndex(ProfessionalRepository professionalRepository,
+                                @Value("${matching.geo-index.cell-size-degrees:0.5}") double cellSizeDegrees,
+                                @Value("${matching.geo-index.max-cells-per-professional:4096}") int maxCellsPerProfessional,
+                                ShardMap shardMap) {
+        this.professionalRepository = professionalRepository;
+        this.grid = new GeoGrid(cellSizeDegrees);
+        this.maxCellsPerProfessional = maxCellsPerProfessional;
+        this.shardMap = shardMap;
+    }
+
+    /*
+      IDs (ascending) of professionals whose service area covers the given point
+     */
+    public long[] findCandidateIds(BigDecimal latitude, BigDecimal longitude, boolean verifiedOnly) {
+        if (latitude == null || longitude == null) {
+            return new long[0];
+        }
+        ensureLoaded();
+
+        double lat = latitude.doubleValue();
+        double lon = longitude.doubleValue();
+
+        Set<Long> cellMembers = professionalsByCell.getOrDefault(grid.cellOf(lat, lon), Set.of());
+        long[] ids = new long[cellMembers.size() + oversized.size()];
+        int count = collectCovering(cellMembers, lat, lon, verifiedOnly, ids, 0);
+        count = collectCovering(oversized, lat, lon, verifiedOnly, ids, count);
+
+        long[] result = Arrays.copyOf(ids, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /*
+      IDs (ascending) of every professional registered in the cell containing the point, without
+      the exact radius check; callers that share one list across many points in the cell
+      must check coverage themselves
+     */
+    public long[] findCellMemberIds(double latitude, double longitude, boolean verifiedOnly) {
+        ensureLoaded();
+
+        Set<Long> cellMembers = professionalsByCell.getOrDefault(grid.cellOf(latitude, longitude), Set.of());
+        long[] ids = new long[cellMembers.size() + oversized.size()];
+        int count = 0;
+        for (Set<Long> members : List.of(cellMembers, oversized)) {
+            for (Long id : members) {
+                Entry entry = entries.get(id);
+                if (entry != null && (!verifiedOnly || entry.verified) && count < ids.length) {
+                    ids[count++] = id;
+                }
+            }
+        }
+
+        long[] result = Arrays.copyOf(ids, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    public long cellOf(double latitude, double longitude) {
+        return grid.cellOf(latitude, longitude);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /*
+      Version of the candidate set around the point; changes whenever a professional who
+      covers (or covered) it changes in any way
+     */
+    public long versionAt(double latitude, double longitude) {
+        ensureLoaded();
+        return Math.max(globalVersion, cellVersions.getOrDefault(grid.cellOf(latitude, longitude), 0L));
+    }
+
+    /*
+      Version of every candidate set; changes on rebuilds and oversized professionals only
+     */
+    public long globalVersion() {
+        ensureLoaded();
+        return globalVersion;
+    }
+
+    @TransactionalEventListener
+    @Order(1) // After the candidate snapshot, so a version bump is only seen once the new rows are
+    public void onProfessionalChanged(ProfessionalChangedEvent event) {
+        synchronized (this) {
+            if (!loaded) {
+                return; // Picked up by the initial load (checked under the lock, as in OpenJobIndex)
+            }
+            if (!event.affectsLocation()) {
+                touch(event.professionalId()); // Location unchanged, but the candidate's scores did
+                return;
+            }
+            if (event.changeType() == ProfessionalChangedEvent.ChangeType.DELETED) {
+                remove(event.professionalId());
+                return;
+            }
+            professionalRepository.findLocationById(event.professionalId())
+                    .ifPresentOrElse(this::put, () -> remove(event.professionalId()));
+        }
+    }
+
+    /*
+      Drops the current contents and reloads every professional location from the database
+     */
+    public synchronized void rebuild() {
+        entries.clear();
+        professionalsByCell.clear();
+        oversized.clear();
+
+        for (ProfessionalLocationView location : professionalRepository.findAllLocations()) {
+            put(location);
+        }
+        cellVersions.clear();
+        globalVersion = versionSequence.incrementAndGet();
+        loaded = true;
+        log.info("Professional geo index built with {} professionals", entries.size());
+    }
+
+    synchronized void put(ProfessionalLocationView location) {
+        remove(location.getId());
+
+        if (location.getLatitude() == null || location.getLongitude() == null
+                || location.getServiceRadiusKm() == null) {
+            return; // Cannot cover any job
+        }
+        if (!shardMap.ownsProfessional(location.getLatitude(), location.getLongitude())) {
+            return; // Held by another shard
+        }
+        // Same cap as the candidate snapshot, so both judge coverage by the same radius
+        int radiusKm = shardMap.effectiveRadiusKm(location.getServiceRadiusKm());
+        if (radiusKm < location.getServiceRadiusKm()) {
+            log.warn("Professional {} has a {} km service radius, beyond the {} km shard reach; "
+                    + "matched within {} km", location.getId(), location.getServiceRadiusKm(),
+                    shardMap.getReachKm(), radiusKm);
+        }
+
+        Entry entry = new Entry(
+                location.getLatitude().doubleValue(),
+                location.getLongitude().doubleValue(),
+                radiusKm,
+                Boolean.TRUE.equals(location.getIsVerified()),
+                GeoUtils.longitudeHalfWidth(location.getLatitude().doubleValue(), radiusKm),
+                null);
+
+        GeoUtils.BoundingBox box = GeoUtils.boundingBox(entry.latitude, entry.longitude, entry.radiusKm);
+        if (grid.countCells(box) > maxCellsPerProfessional) {
+            oversized.add(location.getId());
+            entries.put(location.getId(), entry);
+            globalVersion = versionSequence.incrementAndGet();
+            return;
+        }
+
+        long[] cells = grid.cellsCovering(box);
+        for (long cell : cells) {
+            professionalsByCell.computeIfAbsent(cell, k -> ConcurrentHashMap.newKeySet()).add(location.getId());
+        }
+        entries.put(location.getId(), entry.withCells(cells));
+        bumpCells(cells);
+    }
+
+    synchronized void remove(Long professionalId) {
+        Entry previous = entries.remove(professionalId);
+        if (previous == null) {
+            return;
+        }
+        oversized.remove(professionalId);
+        if (previous.cells == null) {
+            globalVersion = versionSequence.incrementAndGet();
+            return;
+        }
+        for (long cell : previous.cells) {
+            professionalsByCell.computeIfPresent(cell, (k, members) -> {
+                members.remove(professionalId);
+                return members.isEmpty() ? null : members;
+            });
+        }
+        bumpCells(previous.cells);
+    }
+
+    private void touch(Long professionalId) {
+        Entry entry = entries.get(professionalId);
+        if (entry == null) {
+            return; // Not a candidate anywhere
+        }
+        if (entry.cells == null) {
+            globalVersion = versionSequence.incrementAndGet();
+        } else {
+            bumpCells(entry.cells);
+        }
+    }
+
+    private void bumpCells(long[] cells) {
+        long version = versionSequence.incrementAndGet();
+        for (long cell : cells) {
+            cellVersions.put(cell, version);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    /*
+      Drops members whose service-area box misses the point, then checks the rest with one
+      batch distance call (same coverage rule as DistanceScorer.covers)
+     */
+    private int collectCovering(Set<Long> members, double lat, double lon, boolean verifiedOnly,
+                                long[] out, int count) {
+        int capacity = Math.min(members.size(), out.length - count);
+        long[] ids = new long[capacity];
+        double[] latitudes = new double[capacity];
+        double[] longitudes = new double[capacity];
+        int[] radii = new int[capacity];
+        int n = 0;
+        for (Long id : members) {
+            Entry entry = entries.get(id);
+            if (entry == null || (verifiedOnly && !entry.verified) || n == capacity
+                    || !GeoUtils.withinBox(entry.latitude, entry.longitude, lat, lon,
+                            GeoUtils.latitudeHalfHeight(entry.radiusKm), entry.lonHalfWidth)) {
+                continue;
+            }
+            ids[n] = id;
+            latitudes[n] = entry.latitude;
+            longitudes[n] = entry.longitude;
+            radii[n] = entry.radiusKm;
+            n++;
+        }
+
+        double[] distances = new double[n];
+        GeoUtils.calculateDistances(lat, lon, latitudes, longitudes, distances, n);
+        for (int i = 0; i < n; i++) {
+            if (DistanceScorer.coversAtBatchDistance(distances[i], latitudes[i], longitudes[i], lat, lon, radii[i])) {
+                out[count++] = ids[i];
+            }
+        }
+        return count;
+    }
+
+    private record Entry(double latitude, double longitude, int radiusKm, boolean verified,
+                         double lonHalfWidth, long[] cells) {
+
+        Entry withCells(long[] cells) {
+            return new Entry(latitude, longitude, radiusKm, verified, lonHalfWidth, cells);
+        }
+    }
+}
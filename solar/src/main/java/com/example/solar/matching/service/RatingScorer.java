@@ -0,0 +1,69 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.matching.domain.MatchCriteria;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/*
+  Score rating: Direct conversion from 0-5 rating to 0-100 score
+  Also considers track record (number of completed jobs)
+ */
+@Component
+@Order(40)
+public class RatingScorer implements MatchScorer {
+
+    public static final String NAME = "rating";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int cost() {
+        return 1;
+    }
+
+    @Override
+    public double weight(MatchCriteria criteria) {
+        return criteria.getRatingWeight();
+    }
+
+    @Override
+    public Scope scope() {
+        return Scope.PROFESSIONAL;
+    }
+
+    @Override
+    public double score(CandidateSnapshot candidates, int row, JobScoringContext job) {
+        double rating = candidates.rating(row);
+        int jobsCompleted = candidates.jobsCompleted(row);
+
+        if (rating == 0.0) {
+            return 50.0; // Neutral score for new professionals
+        }
+
+        // Convert 0-5 rating to 0-100 score
+        double baseScore = rating * 20.0;
+
+        // Bonus for track record (up to 10 points)
+        double trackRecordBonus = 0.0;
+        if (jobsCompleted > 0) {
+            trackRecordBonus = Math.min(10.0, jobsCompleted * 0.5);
+        }
+
+        return Math.min(100.0, baseScore + trackRecordBonus);
+    }
+
+    @Override
+    public String reason(CandidateSnapshot candidates, int row, JobScoringContext job) {
+        double rating = candidates.rating(row);
+
+        if (rating == 0.0) {
+            return "New professional - no reviews yet";
+        }
+
+        return String.format("%.1f star rating based on %d completed jobs",
+                rating, candidates.jobsCompleted(row));
+    }
+}
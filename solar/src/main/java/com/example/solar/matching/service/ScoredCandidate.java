@@ -0,0 +1,8 @@
+package com.example.solar.matching.service;
+
+/*
+  A professional that made the cut in the scoring phase: the snapshot row it was read from
+  and its total score. The full breakdown is only materialised for the final matches.
+ */
+public record ScoredCandidate(long professionalId, int row, double totalScore) {
+}
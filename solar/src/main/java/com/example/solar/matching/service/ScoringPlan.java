@@ -0,0 +1,150 @@
+package com.example.solar.matching.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+  The scoring loop specialised for one set of weights, built once per distinct MatchCriteria by
+  MatchingEngine.planFor and shared by every candidate and job scored with it.
+
+    - Dimensions weighted 0 are dropped: they cannot change the total, so the scoring phase
+      never calls them (the explanation phase still reports them).
+    - weight / 100 is folded into one factor per dimension.
+    - The most the dimensions after each position can still add is precomputed, so the
+      pruning bound costs one array read instead of a running sum over every dimension.
+      Request weights are not validated, so negative ones count as adding nothing.
+    - A threshold above the best possible total prunes before any dimension runs.
+
+  Plans hold no per-job or per-candidate state and are safe to share between threads.
+ */
+public final class ScoringPlan {
+
+    // Totals are rounded to 2 decimals; a bound this far below the threshold cannot round up to it
+    static final double PRUNE_SLACK = 0.01;
+
+    private final MatchScorer[] active;
+    private final double[] factors;
+    private final double[] remainingAfter;
+    private final boolean[] shared;
+    private final boolean anyShared;
+    private final double maxTotal;
+
+    // Factor of every engine dimension (active or not), in engine order, for the breakdown
+    private final double[] allFactors;
+
+    ScoringPlan(MatchScorer[] dimensions, double[] weights) {
+        List<Integer> kept = new ArrayList<>(dimensions.length);
+        allFactors = new double[dimensions.length];
+        for (int i = 0; i < dimensions.length; i++) {
+            allFactors[i] = weights[i] / 100.0;
+            if (weights[i] != 0.0) {
+                kept.add(i);
+            }
+        }
+
+        active = new MatchScorer[kept.size()];
+        factors = new double[kept.size()];
+        shared = new boolean[kept.size()];
+        for (int i = 0; i < active.length; i++) {
+            active[i] = dimensions[kept.get(i)];
+            factors[i] = allFactors[kept.get(i)];
+            shared[i] = active[i].scope() != MatchScorer.Scope.JOB;
+        }
+
+        remainingAfter = new double[active.length];
+        double remaining = 0.0;
+        for (int i = active.length - 1; i >= 0; i--) {
+            remainingAfter[i] = remaining;
+            // Raw scores are 0..maxScore, so a negatively weighted dimension adds at most 0
+            remaining += Math.max(0.0, active[i].maxScore() * factors[i]);
+        }
+        maxTotal = remaining;
+
+        boolean any = false;
+        for (boolean dimensionShared : shared) {
+            any |= dimensionShared;
+        }
+        anyShared = any;
+    }
+
+    /*
+     Total score (rounded to 2 decimals), or MatchingEngine.PRUNED as soon as the candidate
+     provably cannot reach the threshold
+     */
+    public double totalScore(CandidateSnapshot candidates, int row, JobScoringContext job, double threshold) {
+        if (maxTotal + PRUNE_SLACK < threshold) {
+            return MatchingEngine.PRUNED;
+        }
+        double totalScore = 0.0;
+        for (int i = 0; i < active.length; i++) {
+            totalScore += active[i].score(candidates, row, job) * factors[i];
+            if (totalScore + remainingAfter[i] + PRUNE_SLACK < threshold) {
+                return MatchingEngine.PRUNED;
+            }
+        }
+        return round(totalScore);
+    }
+
+    /*
+     Same, reusing sharedScores (from sharedScores below) for the dimensions that do not depend
+     on the individual job
+     */
+    public double totalScore(CandidateSnapshot candidates, int row, JobScoringContext job,
+                             double[] sharedScores, double threshold) {
+        if (sharedScores == null) {
+            return totalScore(candidates, row, job, threshold);
+        }
+        if (maxTotal + PRUNE_SLACK < threshold) {
+            return MatchingEngine.PRUNED;
+        }
+        double totalScore = 0.0;
+        for (int i = 0; i < active.length; i++) {
+            double score = shared[i] ? sharedScores[i] : active[i].score(candidates, row, job);
+            totalScore += score * factors[i];
+            if (totalScore + remainingAfter[i] + PRUNE_SLACK < threshold) {
+                return MatchingEngine.PRUNED;
+            }
+        }
+        return round(totalScore);
+    }
+
+    /*
+     Scores of the active dimensions that are the same for every job of this job's type, or
+     null when there are none
+     */
+    public double[] sharedScores(CandidateSnapshot candidates, int row, JobScoringContext job) {
+        if (!anyShared) {
+            return null;
+        }
+        double[] scores = new double[active.length];
+        for (int i = 0; i < active.length; i++) {
+            if (shared[i]) {
+                scores[i] = active[i].score(candidates, row, job);
+            }
+        }
+        return scores;
+    }
+
+    /*
+     Best total any candidate can reach under these weights
+     */
+    public double maxTotal() {
+        return maxTotal;
+    }
+
+    int activeDimensions() {
+        return active.length;
+    }
+
+    double factor(int dimension) {
+        return allFactors[dimension];
+    }
+
+    /*
+     Weighted total rounded to 2 decimals, so ranking and thresholds see the same value
+     the breakdown reports
+     */
+    static double round(double totalScore) {
+        return Math.round(totalScore * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.common.dto.ApiResponse;
+import com.example.solar.common.exception.ServiceUnavailableException;
+import com.example.solar.matching.dto.ShardCandidateDto;
+import com.example.solar.matching.dto.ShardScoreRequest;
+import com.example.solar.professional.domain.ProfessionalChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/*
+  HTTP calls between matching nodes: shard scoring requests, relayed professional changes, and
+  forwarding a request to the node that owns it. Forwarded requests carry FORWARDED_HEADER so the receiving node serves
+  them itself even if its view of the shard map differs, instead of bouncing them on.
+
+  Every call carries the shared matching.sharding.secret in SECRET_HEADER, which the internal
+  endpoints check (isTrusted) before serving another node.
+ */
+@Component
+public class ShardClient {
+
+    public static final String FORWARDED_HEADER = "X-Matching-Forwarded-By";
+    public static final String SECRET_HEADER = "X-Matching-Secret";
+
+    private static final ParameterizedTypeReference<ApiResponse<List<ShardCandidateDto>>> CANDIDATES =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final ShardMap shardMap;
+    private final RestClient restClient;
+    private final byte[] secret;
+
+    public ShardClient(ShardMap shardMap,
+                       RestClient.Builder restClientBuilder,
+                       @Value("${matching.sharding.secret:}") String secret,
+                       @Value("${matching.sharding.connect-timeout-ms:1000}") int connectTimeoutMs,
+                       @Value("${matching.sharding.read-timeout-ms:10000}") int readTimeoutMs) {
+        if (shardMap.isEnabled() && secret.isBlank()) {
+            throw new IllegalArgumentException("matching.sharding.secret must be set when sharding is enabled");
+        }
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        this.shardMap = shardMap;
+        this.restClient = restClientBuilder.requestFactory(requestFactory)
+                .defaultHeader(SECRET_HEADER, secret)
+                .build();
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /*
+      Whether a request presenting this secret comes from another matching node
+     */
+    public boolean isTrusted(String presentedSecret) {
+        return presentedSecret != null && secret.length > 0
+                && MessageDigest.isEqual(secret, presentedSecret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /*
+      The node's selection for the job, best first
+     */
+    public List<ShardCandidateDto> score(String node, ShardScoreRequest request) {
+        try {
+            ApiResponse<List<ShardCandidateDto>> response = restClient.post()
+                    .uri(shardMap.baseUrl(node) + "/internal/matching/score")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(FORWARDED_HEADER, shardMap.self())
+                    .body(request)
+                    .retrieve()
+                    .body(CANDIDATES);
+            if (response == null || response.getData() == null) {
+                throw new ServiceUnavailableException("Matching node " + node + " returned no candidates");
+            }
+            return response.getData();
+        } catch (RestClientException e) {
+            throw new ServiceUnavailableException("Matching node " + node + " is unavailable: " + e.getMessage(), e);
+        }
+    }
+
+    /*
+      Tells the node a professional changed, so it refreshes whatever it holds of them
+     */
+    public void relayProfessionalChange(String node, ProfessionalChangedEvent event) {
+        try {
+            restClient.post()
+                    .uri(shardMap.baseUrl(node) + "/internal/matching/professional-changes")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(FORWARDED_HEADER, shardMap.self())
+                    .body(event)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (RestClientException e) {
+            throw new ServiceUnavailableException("Matching node " + node + " is unavailable: " + e.getMessage(), e);
+        }
+    }
+
+    /*
+      Sends the request to the owning node and relays its response, status included
+     */
+    public <T> ResponseEntity<ApiResponse<T>> forward(String node, HttpMethod method, String pathAndQuery,
+                                                      Object body,
+                                                      ParameterizedTypeReference<ApiResponse<T>> responseType) {
+        try {
+            RestClient.RequestBodySpec request = restClient.method(method)
+                    .uri(shardMap.baseUrl(node) + pathAndQuery)
+                    .header(FORWARDED_HEADER, shardMap.self());
+            if (body != null) {
+                request.contentType(MediaType.APPLICATION_JSON).body(body);
+            }
+            return request.exchange((clientRequest, response) -> ResponseEntity
+                    .status(response.getStatusCode())
+                    .body(response.bodyTo(responseType)));
+        } catch (RestClientException e) {
+            throw new ServiceUnavailableException("Matching node " + node + " is unavailable: " + e.getMessage(), e);
+        }
+    }
+}
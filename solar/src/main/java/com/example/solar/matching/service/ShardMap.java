@@ -0,0 +1,205 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.common.util.GeoGrid;
+import com.example.solar.common.util.GeoUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/*
+  Which matching node owns which region, for the partitioned (sharded) mode.
+
+  The world is cut into coarse grid cells (cellSizeDegrees, much larger than the geo index
+  cells) and each cell is owned by one node, picked by rendezvous hashing of the cell key and
+  the node names: every node computes the same map from the same node list, and adding a node
+  only moves the cells the new node wins (about 1/n of them).
+
+  A professional lives on the node owning the cell of their location; professionals without a
+  location cover no job and are kept everywhere. A job belongs to the node owning its cell,
+  but professionals homed up to reachKm away can cover it, so its candidates are gathered from
+  every node owning a cell within reachKm (nodesReaching), so a professional is matched within
+  at most reachKm (effectiveRadiusKm) even if their service radius is larger.
+
+  When sharding is disabled there is a single node, "local", that owns everything.
+ */
+@Component
+@Slf4j
+public class ShardMap {
+
+    public static final String LOCAL = "local";
+
+    private final boolean enabled;
+    private final String self;
+    private final Map<String, String> nodes;
+    private final GeoGrid grid;
+    private final double reachKm;
+
+    public ShardMap(@Value("${matching.sharding.enabled:false}") boolean enabled,
+                    @Value("${matching.sharding.self:local}") String self,
+                    @Value("${matching.sharding.nodes:}") String nodes,
+                    @Value("${matching.sharding.cell-size-degrees:2.0}") double cellSizeDegrees,
+                    @Value("${matching.sharding.reach-km:200}") double reachKm) {
+        this.enabled = enabled;
+        this.self = enabled ? self : LOCAL;
+        this.nodes = enabled ? parseNodes(nodes) : Map.of(LOCAL, "");
+        this.grid = new GeoGrid(cellSizeDegrees);
+        this.reachKm = reachKm;
+        if (enabled && !(reachKm >= 1)) {
+            throw new IllegalArgumentException("matching.sharding.reach-km must be at least 1, was " + reachKm);
+        }
+        if (enabled && !this.nodes.containsKey(self)) {
+            throw new IllegalArgumentException("matching.sharding.self '" + self
+                    + "' is not one of matching.sharding.nodes " + this.nodes.keySet());
+        }
+        if (enabled) {
+            log.info("Matching shard {} of {}, {} degree cells, reach {} km", self, this.nodes.keySet(),
+                    cellSizeDegrees, reachKm);
+        }
+    }
+
+    /*
+      Single node owning everything, for components built outside Spring (tests, benchmarks)
+     */
+    public static ShardMap singleNode() {
+        return new ShardMap(false, LOCAL, "", 2.0, 200);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String self() {
+        return self;
+    }
+
+    /*
+      Node name to base URL, in configuration order
+     */
+    public Map<String, String> nodes() {
+        return nodes;
+    }
+
+    public String baseUrl(String node) {
+        String url = nodes.get(node);
+        if (url == null) {
+            throw new IllegalArgumentException("Unknown matching node: " + node);
+        }
+        return url;
+    }
+
+    public double getCellSizeDegrees() {
+        return grid.getCellSizeDegrees();
+    }
+
+    public double getReachKm() {
+        return reachKm;
+    }
+
+    /*
+      Fingerprint of everything deciding which professionals this node keeps and with which
+      radii, the same on every JVM, so rows saved under another layout are not reused. Node
+      URLs are left out: moving a node does not change what it owns.
+     */
+    public int layoutHash() {
+        if (!enabled) {
+            return LOCAL.hashCode();
+        }
+        return (self + "|" + new TreeSet<>(nodes.keySet()) + "|" + grid.getCellSizeDegrees() + "|" + reachKm).hashCode();
+    }
+
+    /*
+      Service radius a professional is matched with: the stored one, capped at reachKm in the
+      partitioned mode, where jobs beyond it would not gather them as candidates
+     */
+    public Integer effectiveRadiusKm(Integer serviceRadiusKm) {
+        if (!enabled || serviceRadiusKm == null) {
+            return serviceRadiusKm;
+        }
+        return (int) Math.min(serviceRadiusKm, Math.floor(reachKm));
+    }
+
+    public String ownerOf(double latitude, double longitude) {
+        if (!enabled) {
+            return self;
+        }
+        return ownerOfCell(grid.cellOf(latitude, longitude));
+    }
+
+    public boolean isLocal(double latitude, double longitude) {
+        return !enabled || self.equals(ownerOf(latitude, longitude));
+    }
+
+    /*
+      Whether this node keeps the professional at this location in memory
+     */
+    public boolean ownsProfessional(BigDecimal latitude, BigDecimal longitude) {
+        return !enabled || latitude == null || longitude == null
+                || isLocal(latitude.doubleValue(), longitude.doubleValue());
+    }
+
+    /*
+      Nodes (sorted) that may hold professionals able to cover a job at this point
+     */
+    public Set<String> nodesReaching(double latitude, double longitude) {
+        if (!enabled) {
+            return Set.of(self);
+        }
+        Set<String> owners = new TreeSet<>();
+        for (long cell : grid.cellsCovering(GeoUtils.boundingBox(latitude, longitude, reachKm))) {
+            owners.add(ownerOfCell(cell));
+            if (owners.size() == nodes.size()) {
+                break;
+            }
+        }
+        return Collections.unmodifiableSet(owners);
+    }
+
+    private String ownerOfCell(long cell) {
+        String owner = null;
+        long best = 0;
+        for (String node : nodes.keySet()) {
+            long weight = weight(cell, node);
+            if (owner == null || weight > best || (weight == best && node.compareTo(owner) < 0)) {
+                owner = node;
+                best = weight;
+            }
+        }
+        return owner;
+    }
+
+    /*
+      Rendezvous weight: a well-mixed 64-bit hash of (cell, node), the same on every JVM
+     */
+    private static long weight(long cell, String node) {
+        long h = cell * 0x9E3779B97F4A7C15L ^ node.hashCode();
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static Map<String, String> parseNodes(String nodes) {
+        Map<String, String> parsed = new LinkedHashMap<>();
+        for (String entry : nodes.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("matching.sharding.nodes entries must be name=baseUrl: " + entry);
+            }
+            String url = entry.substring(separator + 1).trim();
+            parsed.put(entry.substring(0, separator).trim(), url.endsWith("/") ? url.substring(0, url.length() - 1) : url);
+        }
+        return Collections.unmodifiableMap(parsed);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.job.repository.JobRepository;
+import com.example.solar.professional.repository.ProfessionalRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/*
+  Where a request belongs in the partitioned mode: match runs on the node owning the job's
+  cell, a professional's feed on the node holding the professional. Empty means "serve it
+  here": sharding is off, this node is the owner, or the job or professional does not exist
+  (so the local node answers with the usual 404).
+ */
+@Component
+@RequiredArgsConstructor
+public class ShardRouter {
+
+    private final ShardMap shardMap;
+    private final JobRepository jobRepository;
+    private final ProfessionalRepository professionalRepository;
+
+    public Optional<String> remoteOwnerOfJob(Long jobId) {
+        if (!shardMap.isEnabled()) {
+            return Optional.empty();
+        }
+        return jobRepository.findById(jobId)
+                .filter(job -> job.getLatitude() != null && job.getLongitude() != null)
+                .map(job -> shardMap.ownerOf(job.getLatitude().doubleValue(), job.getLongitude().doubleValue()))
+                .filter(owner -> !owner.equals(shardMap.self()));
+    }
+
+    public Optional<String> remoteHomeOfProfessional(Long professionalId) {
+        if (!shardMap.isEnabled()) {
+            return Optional.empty();
+        }
+        return professionalRepository.findLocationById(professionalId)
+                .filter(location -> location.getLatitude() != null && location.getLongitude() != null)
+                .map(location -> shardMap.ownerOf(location.getLatitude().doubleValue(),
+                        location.getLongitude().doubleValue()))
+                .filter(owner -> !owner.equals(shardMap.self()));
+    }
+}
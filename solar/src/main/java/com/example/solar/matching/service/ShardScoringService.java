@@ -0,0 +1,176 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.common.exception.ServiceUnavailableException;
+import com.example.solar.matching.domain.MatchCriteria;
+import com.example.solar.matching.dto.ShardCandidateDto;
+import com.example.solar.matching.dto.ShardScoreRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/*
+  Scatter-gather scoring for the partitioned mode. Every node that may hold candidates for the
+  job (ShardMap.nodesReaching) scores its own professionals and explains its own top
+  maxMatches; the coordinator merges the lists by score, then professional id, which is the
+  order a single node holding every professional would produce, and keeps the best maxMatches.
+  A node that cannot be reached fails the run: a partial candidate set would quietly save
+  worse matches.
+ */
+@Service
+@Slf4j
+public class ShardScoringService {
+
+    private static final Comparator<ShardCandidateDto> BEST_FIRST = Comparator
+            .comparingDouble(ShardCandidateDto::getTotalScore).reversed()
+            .thenComparing(ShardCandidateDto::getProfessionalId);
+
+    private final ShardMap shardMap;
+    private final ShardClient shardClient;
+    private final CandidateSnapshotService candidateSnapshotService;
+    private final ProfessionalGeoIndex professionalGeoIndex;
+    private final CandidateScorer candidateScorer;
+    private final MatchingEngine matchingEngine;
+    private final TaskExecutor executor;
+
+    public ShardScoringService(ShardMap shardMap,
+                               ShardClient shardClient,
+                               CandidateSnapshotService candidateSnapshotService,
+                               ProfessionalGeoIndex professionalGeoIndex,
+                               CandidateScorer candidateScorer,
+                               MatchingEngine matchingEngine,
+                               @Qualifier("shardRequestExecutor") TaskExecutor executor) {
+        this.shardMap = shardMap;
+        this.shardClient = shardClient;
+        this.candidateSnapshotService = candidateSnapshotService;
+        this.professionalGeoIndex = professionalGeoIndex;
+        this.candidateScorer = candidateScorer;
+        this.matchingEngine = matchingEngine;
+        this.executor = executor;
+    }
+
+    /*
+      The job's matches across all shards, best first, explained
+     */
+    public List<ShardCandidateDto> scatterGather(JobScoringContext job, MatchCriteria criteria) {
+        return scatterGatherAll(List.of(job), criteria).getOrDefault(job.jobId(), List.of());
+    }
+
+    /*
+      scatterGather for many jobs at once, by job id: every shard request is sent before any
+      answer is awaited, and this node scores its own shares while the others work on theirs,
+      so a batch takes about as long as its slowest shard rather than the sum of its jobs
+     */
+    public Map<Long, List<ShardCandidateDto>> scatterGatherAll(Collection<JobScoringContext> jobs,
+                                                               MatchCriteria criteria) {
+        List<JobScoringContext> located = new ArrayList<>(jobs.size());
+        List<Map<String, CompletableFuture<List<ShardCandidateDto>>>> remote = new ArrayList<>(jobs.size());
+        List<Boolean> local = new ArrayList<>(jobs.size());
+        for (JobScoringContext job : jobs) {
+            if (Double.isNaN(job.latitude()) || Double.isNaN(job.longitude())) {
+                continue;
+            }
+            ShardScoreRequest request = toRequest(job, criteria);
+            Map<String, CompletableFuture<List<ShardCandidateDto>>> requests = new LinkedHashMap<>();
+            boolean self = false;
+            for (String node : shardMap.nodesReaching(job.latitude(), job.longitude())) {
+                if (node.equals(shardMap.self())) {
+                    self = true;
+                } else {
+                    requests.put(node, CompletableFuture.supplyAsync(() -> shardClient.score(node, request), executor));
+                }
+            }
+            located.add(job);
+            remote.add(requests);
+            local.add(self);
+        }
+
+        Map<Long, List<ShardCandidateDto>> gathered = new LinkedHashMap<>();
+        for (int i = 0; i < located.size(); i++) {
+            JobScoringContext job = located.get(i);
+            List<ShardCandidateDto> merged = new ArrayList<>(local.get(i) ? scoreLocal(job, criteria) : List.of());
+            for (Map.Entry<String, CompletableFuture<List<ShardCandidateDto>>> entry : remote.get(i).entrySet()) {
+                try {
+                    merged.addAll(entry.getValue().join());
+                } catch (CompletionException e) {
+                    remote.forEach(requests -> requests.values().forEach(future -> future.cancel(true)));
+                    if (e.getCause() instanceof ServiceUnavailableException unavailable) {
+                        throw unavailable;
+                    }
+                    throw new ServiceUnavailableException("Matching node " + entry.getKey() + " failed: "
+                            + e.getCause().getMessage(), e.getCause());
+                }
+            }
+
+            merged.sort(BEST_FIRST);
+            log.debug("Gathered {} candidates for job {} from {} shards", merged.size(), job.jobId(),
+                    remote.get(i).size() + (local.get(i) ? 1 : 0));
+            gathered.put(job.jobId(), merged.size() > criteria.getMaxMatches()
+                    ? merged.subList(0, criteria.getMaxMatches())
+                    : merged);
+        }
+        return gathered;
+    }
+
+    /*
+      This node's share: its professionals covering the job, top maxMatches, explained
+     */
+    public List<ShardCandidateDto> scoreLocal(JobScoringContext job, MatchCriteria criteria) {
+        if (Double.isNaN(job.latitude()) || Double.isNaN(job.longitude())) {
+            return List.of();
+        }
+        CandidateSnapshot candidates = candidateSnapshotService.current();
+        long[] candidateIds = professionalGeoIndex.findCandidateIds(
+                BigDecimal.valueOf(job.latitude()), BigDecimal.valueOf(job.longitude()), criteria.isVerifiedOnly());
+
+        List<ScoredCandidate> selected = candidateScorer.score(candidateIds, candidates, job, criteria);
+        List<ShardCandidateDto> explained = new ArrayList<>(selected.size());
+        for (ScoredCandidate candidate : selected) {
+            explained.add(ShardCandidateDto.builder()
+                    .professionalId(candidate.professionalId())
+                    .totalScore(candidate.totalScore())
+                    .scoreBreakdown(matchingEngine.calculateMatchScore(candidates, candidate.row(), job, criteria))
+                    .build());
+        }
+        return explained;
+    }
+
+    public List<ShardCandidateDto> scoreLocal(ShardScoreRequest request) {
+        return scoreLocal(toContext(request), request.getCriteria() != null
+                ? request.getCriteria()
+                : MatchCriteria.builder().build());
+    }
+
+    private static ShardScoreRequest toRequest(JobScoringContext job, MatchCriteria criteria) {
+        return ShardScoreRequest.builder()
+                .jobId(job.jobId())
+                .latitude(job.latitude())
+                .longitude(job.longitude())
+                .jobType(job.jobType())
+                .preferredDate(job.preferredDate())
+                .budgetMax(job.hasBudget() ? job.budgetMax() : null)
+                .criteria(criteria)
+                .build();
+    }
+
+    private static JobScoringContext toContext(ShardScoreRequest request) {
+        return new JobScoringContext(
+                request.getJobId(),
+                request.getLatitude(),
+                request.getLongitude(),
+                request.getJobType(),
+                request.getPreferredDate(),
+                request.getPreferredDate() != null ? request.getPreferredDate().toEpochDay() : 0L,
+                request.getBudgetMax() != null ? request.getBudgetMax() : Double.NaN);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.solar.matching.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/*
+  Streaming top-K selection over scored items, backed by a bounded min-heap.
+  Higher scores win; on equal scores the item offered with the lower sequence number wins,
+  which reproduces a stable descending sort followed by limit(k).
+  Memory is O(k) and each offer is O(log k); once full, cutoff() tells callers which scores
+  can no longer make the cut so they can skip them early.
+ */
+public class TopKSelector<T> {
+
+    // Worst entry first: lowest score, then latest sequence
+    private static final Comparator<Entry<?>> WORST_FIRST = Comparator
+            .comparingDouble((Entry<?> e) -> e.score)
+            .thenComparing(Comparator.comparingLong((Entry<?> e) -> e.sequence).reversed());
+
+    private final int k;
+    private final PriorityQueue<Entry<T>> heap;
+
+    public TopKSelector(int k) {
+        this.k = Math.max(0, k);
+        this.heap = new PriorityQueue<>(Math.min(this.k, 64) + 1, WORST_FIRST);
+    }
+
+    /*
+      Whether an item with this score and sequence would currently be kept
+     */
+    public boolean accepts(double score, long sequence) {
+        if (heap.size() < k) {
+            return true;
+        }
+        if (k == 0) {
+            return false;
+        }
+        Entry<T> worst = heap.peek();
+        return score > worst.score || (score == worst.score && sequence < worst.sequence);
+    }
+
+    public boolean offer(double score, long sequence, T item) {
+        if (!accepts(score, sequence)) {
+            return false;
+        }
+        heap.add(new Entry<>(score, sequence, item));
+        if (heap.size() > k) {
+            heap.poll();
+        }
+        return true;
+    }
+
+    public boolean isFull() {
+        return k > 0 && heap.size() >= k;
+    }
+
+    /*
+      Score an item must at least reach to get in, or negative infinity while there is room
+     */
+    public double cutoff() {
+        return isFull() ? heap.peek().score : Double.NEGATIVE_INFINITY;
+    }
+
+    public void addAll(TopKSelector<T> other) {
+        for (Entry<T> entry : other.heap) {
+            offer(entry.score, entry.sequence, entry.item);
+        }
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /*
+      Selected items, best first
+     */
+    public List<T> toList() {
+        List<Entry<T>> entries = new ArrayList<>(heap);
+        entries.sort(WORST_FIRST.reversed());
+        List<T> items = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            items.add(entry.item);
+        }
+        return items;
+    }
+
+    private record Entry<T>(double score, long sequence, T item) {
+    }
+}
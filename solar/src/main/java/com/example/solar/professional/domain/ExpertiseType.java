@@ -0,0 +1,37 @@
+package com.example.solar.professional.domain;
+
+/*
+  Normalised expertise codes a professional can register.
+  Stored by name in professional_expertise.expertise_type; the ordinal is the expertise's bit
+  in the matching bitmasks, so append new codes at the end.
+ */
+public enum ExpertiseType {
+    PANEL_INSTALLATION,
+    BATTERY_SETUP,
+    MAINTENANCE,
+    REPAIR,
+    INSPECTION,
+    UPGRADE;
+
+    private static final ExpertiseType[] VALUES = values();
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /*
+      Parses a stored or submitted code, ignoring case and surrounding whitespace; null if unknown
+     */
+    public static ExpertiseType fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        String normalized = code.trim();
+        for (ExpertiseType type : VALUES) {
+            if (type.name().equalsIgnoreCase(normalized)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
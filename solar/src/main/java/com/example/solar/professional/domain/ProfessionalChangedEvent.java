@@ -0,0 +1,20 @@
+package com.example.solar.professional.domain;
+
+/*
+  Published by ProfessionalService whenever a professional's matchable data changes,
+  so in-memory matching structures can refresh the single affected entry.
+ */
+public record ProfessionalChangedEvent(Long professionalId, ChangeType changeType) {
+
+    public boolean affectsLocation() {
+        return changeType != ChangeType.EXPERTISE_ADDED && changeType != ChangeType.AVAILABILITY_ADDED;
+    }
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        EXPERTISE_ADDED,
+        AVAILABILITY_ADDED,
+        DELETED
+    }
+}
@@ -28,7 +28,7 @@ public class ProfessionalExpertise {
     private Professional professional;
 
     @Column(name = "expertise_type", nullable = false, length = 100)
-    private String expertiseType; // PANEL_INSTALLATION, BATTERY_SETUP, MAINTENANCE, REPAIR
+    private String expertiseType; // ExpertiseType code, e.g. PANEL_INSTALLATION, BATTERY_SETUP, MAINTENANCE, REPAIR
 
     @Column(name = "years_experience")
     private Integer yearsExperience;
@@ -0,0 +1,12 @@
+package com.example.solar.professional.dto;
+
+import java.time.LocalDate;
+
+/*
+  Availability columns used to build the matching snapshot
+ */
+public interface AvailabilityScoringView {
+    Long getProfessionalId();
+    LocalDate getDate();
+    Boolean getIsBooked();
+}
@@ -0,0 +1,11 @@
+package com.example.solar.professional.dto;
+
+/*
+  Expertise columns used to build the matching snapshot
+ */
+public interface ExpertiseScoringView {
+    Long getProfessionalId();
+    String getExpertiseType();
+    Integer getYearsExperience();
+    String getCertificationName();
+}
@@ -0,0 +1,15 @@
+package com.example.solar.professional.dto;
+
+import java.math.BigDecimal;
+
+/*
+  Lightweight projection of the columns the geo index needs, loaded without
+  hydrating the expertise and availability collections.
+ */
+public interface ProfessionalLocationView {
+    Long getId();
+    BigDecimal getLatitude();
+    BigDecimal getLongitude();
+    Integer getServiceRadiusKm();
+    Boolean getIsVerified();
+}
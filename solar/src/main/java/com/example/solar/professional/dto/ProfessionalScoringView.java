@@ -0,0 +1,17 @@
+package com.example.solar.professional.dto;
+
+import java.math.BigDecimal;
+
+/*
+  Scalar professional columns used to build the matching snapshot
+ */
+public interface ProfessionalScoringView {
+    Long getId();
+    BigDecimal getLatitude();
+    BigDecimal getLongitude();
+    Integer getServiceRadiusKm();
+    BigDecimal getHourlyRate();
+    BigDecimal getRating();
+    Integer getTotalJobsCompleted();
+    Boolean getIsVerified();
+}
@@ -1,11 +1,13 @@
 package com.example.solar.professional.repository;
 
 import com.example.solar.professional.domain.AvailabilitySlot;
+import com.example.solar.professional.dto.AvailabilityScoringView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -28,4 +30,23 @@ public interface AvailabilitySlotRepository extends JpaRepository<AvailabilitySl
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate
     );
-}
\ No newline at end of file
+
+    @Query("SELECT a.professional.id AS professionalId, a.date AS date, a.isBooked AS isBooked " +
+            "FROM AvailabilitySlot a")
+    List<AvailabilityScoringView> findAllScoringViews();
+
+    @Query("SELECT a.professional.id AS professionalId, a.date AS date, a.isBooked AS isBooked " +
+            "FROM AvailabilitySlot a WHERE a.professional.id = :professionalId")
+    List<AvailabilityScoringView> findScoringViewsByProfessionalId(@Param("professionalId") Long professionalId);
+
+    @Query("SELECT a.professional.id AS professionalId, a.date AS date, a.isBooked AS isBooked " +
+            "FROM AvailabilitySlot a WHERE a.professional.id IN :professionalIds")
+    List<AvailabilityScoringView> findScoringViewsByProfessionalIdIn(
+            @Param("professionalIds") Collection<Long> professionalIds);
+
+    @Query("SELECT MAX(a.id) FROM AvailabilitySlot a")
+    Long findMaxId();
+
+    @Query("SELECT DISTINCT a.professional.id FROM AvailabilitySlot a WHERE a.id > :afterId")
+    List<Long> findProfessionalIdsWithIdAfter(@Param("afterId") Long afterId);
+}
@@ -1,12 +1,38 @@
 package com.example.solar.professional.repository;
 
 import com.example.solar.professional.domain.ProfessionalExpertise;
+import com.example.solar.professional.dto.ExpertiseScoringView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProfessionalExpertiseRepository extends JpaRepository<ProfessionalExpertise, Long> {
     List<ProfessionalExpertise> findByProfessionalId(Long professionalId);
     List<ProfessionalExpertise> findByExpertiseType(String expertiseType);
-}
\ No newline at end of file
+
+    @Query("SELECT e.professional.id AS professionalId, e.expertiseType AS expertiseType, " +
+            "e.yearsExperience AS yearsExperience, e.certificationName AS certificationName " +
+            "FROM ProfessionalExpertise e")
+    List<ExpertiseScoringView> findAllScoringViews();
+
+    @Query("SELECT e.professional.id AS professionalId, e.expertiseType AS expertiseType, " +
+            "e.yearsExperience AS yearsExperience, e.certificationName AS certificationName " +
+            "FROM ProfessionalExpertise e WHERE e.professional.id = :professionalId")
+    List<ExpertiseScoringView> findScoringViewsByProfessionalId(@Param("professionalId") Long professionalId);
+
+    @Query("SELECT e.professional.id AS professionalId, e.expertiseType AS expertiseType, " +
+            "e.yearsExperience AS yearsExperience, e.certificationName AS certificationName " +
+            "FROM ProfessionalExpertise e WHERE e.professional.id IN :professionalIds")
+    List<ExpertiseScoringView> findScoringViewsByProfessionalIdIn(
+            @Param("professionalIds") Collection<Long> professionalIds);
+
+    @Query("SELECT MAX(e.id) FROM ProfessionalExpertise e")
+    Long findMaxId();
+
+    @Query("SELECT DISTINCT e.professional.id FROM ProfessionalExpertise e WHERE e.id > :afterId")
+    List<Long> findProfessionalIdsWithIdAfter(@Param("afterId") Long afterId);
+}
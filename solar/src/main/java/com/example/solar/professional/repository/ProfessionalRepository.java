@@ -1,10 +1,14 @@
 package com.example.solar.professional.repository;
 
 import com.example.solar.professional.domain.Professional;
+import com.example.solar.professional.dto.ProfessionalLocationView;
+import com.example.solar.professional.dto.ProfessionalScoringView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,4 +23,39 @@ public interface ProfessionalRepository extends JpaRepository<Professional, Long
 
     @Query("SELECT p FROM Professional p WHERE p.isVerified = true")
     List<Professional> findAllVerifiedProfessionals();
+
+    @Query("SELECT p.id AS id, p.latitude AS latitude, p.longitude AS longitude, " +
+            "p.serviceRadiusKm AS serviceRadiusKm, p.isVerified AS isVerified FROM Professional p")
+    List<ProfessionalLocationView> findAllLocations();
+
+    @Query("SELECT p.id AS id, p.latitude AS latitude, p.longitude AS longitude, " +
+            "p.serviceRadiusKm AS serviceRadiusKm, p.isVerified AS isVerified FROM Professional p " +
+            "WHERE p.id = :id")
+    Optional<ProfessionalLocationView> findLocationById(@Param("id") Long id);
+
+    @Query("SELECT p.id AS id, p.latitude AS latitude, p.longitude AS longitude, " +
+            "p.serviceRadiusKm AS serviceRadiusKm, p.hourlyRate AS hourlyRate, p.rating AS rating, " +
+            "p.totalJobsCompleted AS totalJobsCompleted, p.isVerified AS isVerified FROM Professional p")
+    List<ProfessionalScoringView> findAllScoringViews();
+
+    @Query("SELECT p.id AS id, p.latitude AS latitude, p.longitude AS longitude, " +
+            "p.serviceRadiusKm AS serviceRadiusKm, p.hourlyRate AS hourlyRate, p.rating AS rating, " +
+            "p.totalJobsCompleted AS totalJobsCompleted, p.isVerified AS isVerified FROM Professional p " +
+            "WHERE p.id = :id")
+    Optional<ProfessionalScoringView> findScoringViewById(@Param("id") Long id);
+
+    @Query("SELECT p.id AS id, p.latitude AS latitude, p.longitude AS longitude, " +
+            "p.serviceRadiusKm AS serviceRadiusKm, p.hourlyRate AS hourlyRate, p.rating AS rating, " +
+            "p.totalJobsCompleted AS totalJobsCompleted, p.isVerified AS isVerified FROM Professional p " +
+            "WHERE p.id IN :ids")
+    List<ProfessionalScoringView> findScoringViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id FROM Professional p")
+    List<Long> findAllIds();
+
+    @Query("SELECT MAX(p.updatedAt) FROM Professional p")
+    LocalDateTime findMaxUpdatedAt();
+
+    @Query("SELECT p.id FROM Professional p WHERE p.updatedAt > :since")
+    List<Long> findIdsUpdatedAfter(@Param("since") LocalDateTime since);
 }
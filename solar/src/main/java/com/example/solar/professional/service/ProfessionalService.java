@@ -5,7 +5,10 @@ import com.example.solar.common.exception.ValidationException;
 import com.example.solar.common.util.GeoUtils;
 import com.example.solar.common.util.ValidationUtils;
 import com.example.solar.professional.domain.AvailabilitySlot;
+import com.example.solar.professional.domain.ExpertiseType;
 import com.example.solar.professional.domain.Professional;
+import com.example.solar.professional.domain.ProfessionalChangedEvent;
+import com.example.solar.professional.domain.ProfessionalChangedEvent.ChangeType;
 import com.example.solar.professional.domain.ProfessionalExpertise;
 import com.example.solar.professional.dto.*;
 import com.example.solar.professional.repository.AvailabilitySlotRepository;
@@ -13,10 +16,13 @@ import com.example.solar.professional.repository.ProfessionalExpertiseRepository
 import com.example.solar.professional.repository.ProfessionalRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -29,6 +35,7 @@ public class ProfessionalService {
     private final ProfessionalRepository professionalRepository;
     private final ProfessionalExpertiseRepository expertiseRepository;
     private final AvailabilitySlotRepository availabilitySlotRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ProfessionalDto createProfessional(CreateProfessionalRequest request) {
@@ -75,6 +82,7 @@ public class ProfessionalService {
 
         Professional savedProfessional = professionalRepository.save(professional);
         log.info("Professional created successfully with ID: {}", savedProfessional.getId());
+        eventPublisher.publishEvent(new ProfessionalChangedEvent(savedProfessional.getId(), ChangeType.CREATED));
 
         return mapToDto(savedProfessional);
     }
@@ -150,6 +158,7 @@ public class ProfessionalService {
 
         Professional updatedProfessional = professionalRepository.save(professional);
         log.info("Professional updated successfully with ID: {}", updatedProfessional.getId());
+        eventPublisher.publishEvent(new ProfessionalChangedEvent(updatedProfessional.getId(), ChangeType.UPDATED));
 
         return mapToDto(updatedProfessional);
     }
@@ -161,15 +170,24 @@ public class ProfessionalService {
         Professional professional = professionalRepository.findById(professionalId)
                 .orElseThrow(() -> new ResourceNotFoundException("Professional", "id", professionalId));
 
+        // Only known codes can be matched against job types
+        ExpertiseType expertiseType = ExpertiseType.fromCode(request.getExpertiseType());
+        if (expertiseType == null) {
+            throw new ValidationException("Invalid expertise type. Allowed values: "
+                    + Arrays.toString(ExpertiseType.values()));
+        }
+
         ProfessionalExpertise expertise = ProfessionalExpertise.builder()
                 .professional(professional)
-                .expertiseType(ValidationUtils.sanitize(request.getExpertiseType().toUpperCase()))
+                .expertiseType(expertiseType.name())
                 .yearsExperience(request.getYearsExperience())
                 .certificationName(ValidationUtils.sanitize(request.getCertificationName()))
                 .build();
 
         ProfessionalExpertise savedExpertise = expertiseRepository.save(expertise);
+        touch(professional);
         log.info("Expertise added successfully with ID: {}", savedExpertise.getId());
+        eventPublisher.publishEvent(new ProfessionalChangedEvent(professionalId, ChangeType.EXPERTISE_ADDED));
 
         return mapExpertiseToDto(savedExpertise);
     }
@@ -208,7 +226,9 @@ public class ProfessionalService {
                 .build();
 
         AvailabilitySlot savedSlot = availabilitySlotRepository.save(slot);
+        touch(professional);
         log.info("Availability slot added successfully with ID: {}", savedSlot.getId());
+        eventPublisher.publishEvent(new ProfessionalChangedEvent(professionalId, ChangeType.AVAILABILITY_ADDED));
 
         return mapAvailabilityToDto(savedSlot);
     }
@@ -256,6 +276,15 @@ public class ProfessionalService {
 
         professionalRepository.deleteById(id);
         log.info("Professional deleted successfully with ID: {}", id);
+        eventPublisher.publishEvent(new ProfessionalChangedEvent(id, ChangeType.DELETED));
+    }
+
+    /*
+      Expertise and availability rows carry no update timestamp, so every change to them bumps
+      the professional's updated_at: that is what CandidateSnapshotService's watermark sees
+     */
+    private static void touch(Professional professional) {
+        professional.setUpdatedAt(LocalDateTime.now());
     }
 
     private ProfessionalDto mapToDto(Professional professional) {
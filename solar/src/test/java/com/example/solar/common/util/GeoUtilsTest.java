@@ -0,0 +1,59 @@
+package com.example.solar.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GeoUtilsTest {
+
+    @Test
+    void batchDistancesAgreeWithScalarFormula() {
+        Random random = new Random(42);
+        // Odd size so the vector kernel also runs its scalar tail
+        int count = 1_003;
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = random.nextDouble() * 180.0 - 90.0;
+            longitudes[i] = random.nextDouble() * 360.0 - 180.0;
+        }
+        latitudes[0] = 6.5244; // Same point as the origin
+        longitudes[0] = 3.3792;
+
+        double[] distances = new double[count];
+        GeoUtils.calculateDistances(6.5244, 3.3792, latitudes, longitudes, distances, count);
+
+        for (int i = 0; i < count; i++) {
+            assertThat(distances[i]).isCloseTo(
+                    GeoUtils.calculateDistance(6.5244, 3.3792, latitudes[i], longitudes[i]),
+                    within(GeoUtils.BATCH_DISTANCE_TOLERANCE_KM));
+        }
+    }
+
+    @Test
+    void boxAndApproximationNeverContradictHaversine() {
+        Random random = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            double lat = random.nextDouble() * 170.0 - 85.0;
+            double lon = random.nextDouble() * 360.0 - 180.0;
+            double radiusKm = 1 + random.nextInt(300);
+            double otherLat = Math.max(-90.0, Math.min(90.0, lat + (random.nextDouble() - 0.5) * 12.0));
+            double otherLon = lon + (random.nextDouble() - 0.5) * 24.0;
+            otherLon = otherLon > 180.0 ? otherLon - 360.0 : otherLon < -180.0 ? otherLon + 360.0 : otherLon;
+
+            double exact = GeoUtils.calculateDistance(lat, lon, otherLat, otherLon);
+            if (exact <= radiusKm) {
+                assertThat(GeoUtils.withinBox(lat, lon, otherLat, otherLon,
+                        GeoUtils.latitudeHalfHeight(radiusKm), GeoUtils.longitudeHalfWidth(lat, radiusKm))).isTrue();
+            }
+
+            GeoUtils.DistanceQuery query = GeoUtils.distanceQuery(otherLat, otherLon);
+            double approximate = query.approximateDistance(lat, lon);
+            assertThat(Math.abs(approximate - exact)).isLessThanOrEqualTo(query.approximationError(approximate));
+            assertThat(query.distance(lat, lon)).isEqualTo(exact);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.solar.matching.controller;
+
+import com.example.solar.common.exception.ForbiddenException;
+import com.example.solar.matching.dto.ShardScoreRequest;
+import com.example.solar.matching.service.ProfessionalChangeRelay;
+import com.example.solar.matching.service.ShardClient;
+import com.example.solar.matching.service.ShardMap;
+import com.example.solar.matching.service.ShardScoringService;
+import com.example.solar.professional.domain.ProfessionalChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShardControllerTest {
+
+    private static final String NODES = "node-1=http://localhost:8081,node-2=http://localhost:8082";
+    private static final ProfessionalChangedEvent CHANGED =
+            new ProfessionalChangedEvent(7L, ProfessionalChangedEvent.ChangeType.UPDATED);
+
+    private final ShardScoringService shardScoringService = mock(ShardScoringService.class);
+    private final ProfessionalChangeRelay professionalChangeRelay = mock(ProfessionalChangeRelay.class);
+
+    @Test
+    void onlyCallersWithTheSharedSecretAreServed() {
+        ShardMap shardMap = new ShardMap(true, "node-1", NODES, 2.0, 200);
+        ShardController controller = controller(shardMap, "s3cret");
+        ShardScoreRequest request = ShardScoreRequest.builder().jobId(1L).build();
+        when(shardScoringService.scoreLocal(any(ShardScoreRequest.class))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> controller.score(request, null)).isInstanceOf(ForbiddenException.class);
+        assertThatThrownBy(() -> controller.score(request, "guess")).isInstanceOf(ForbiddenException.class);
+        assertThatThrownBy(() -> controller.professionalChanged(CHANGED, "s3cret2"))
+                .isInstanceOf(ForbiddenException.class);
+        verify(professionalChangeRelay, never()).applyRelayed(any());
+
+        assertThat(controller.score(request, "s3cret").getStatusCode().is2xxSuccessful()).isTrue();
+        controller.professionalChanged(CHANGED, "s3cret");
+        verify(professionalChangeRelay).applyRelayed(CHANGED);
+    }
+
+    @Test
+    void shardingNeedsASecret() {
+        ShardMap shardMap = new ShardMap(true, "node-1", NODES, 2.0, 200);
+
+        assertThatThrownBy(() -> new ShardClient(shardMap, RestClient.builder(), " ", 1000, 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+        // A single node has no peers to authenticate
+        assertThat(new ShardClient(ShardMap.singleNode(), RestClient.builder(), "", 1000, 1000).isTrusted(""))
+                .isFalse();
+    }
+
+    private ShardController controller(ShardMap shardMap, String secret) {
+        return new ShardController(shardMap, shardScoringService, professionalChangeRelay,
+                new ShardClient(shardMap, RestClient.builder(), secret, 1000, 1000));
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.solar.matching.repository;
+
+import com.example.solar.job.domain.Job;
+import com.example.solar.matching.domain.Match;
+import com.example.solar.matching.domain.MatchStatus;
+import com.example.solar.professional.domain.Professional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MatchRepositoryCustomImplTest {
+
+    private static final int COLUMNS = 10;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final MatchRepositoryCustomImpl repository = new MatchRepositoryCustomImpl(jdbcTemplate);
+
+    // Stand-in for the matches table: existing (job, professional) pairs and the id sequence
+    private final Set<List<Long>> existingPairs = new HashSet<>();
+    private final List<String> statements = new ArrayList<>();
+    private final List<Object[]> statementArgs = new ArrayList<>();
+    private long nextId = 500;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            Object[] args = (Object[]) invocation.getRawArguments()[2];
+            statements.add(sql);
+            statementArgs.add(args);
+
+            // ON CONFLICT DO NOTHING RETURNING: inserted rows only, in no particular order
+            List<long[]> returned = new ArrayList<>();
+            for (int offset = 0; offset < args.length; offset += COLUMNS) {
+                List<Long> pair = List.of((Long) args[offset], (Long) args[offset + 1]);
+                if (existingPairs.add(pair)) {
+                    returned.add(new long[]{nextId++, pair.get(0), pair.get(1)});
+                }
+            }
+            Collections.reverse(returned);
+            for (long[] row : returned) {
+                handler.processRow(resultRow(row));
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @Test
+    void skipsExistingPairsAndMapsGeneratedIdsBackToTheirMatches() {
+        existingPairs.add(List.of(1L, 11L));
+        existingPairs.add(List.of(1L, 13L));
+        List<Match> matches = List.of(match(1L, 10L), match(1L, 11L), match(1L, 12L), match(1L, 13L), match(2L, 11L));
+
+        List<Match> inserted = repository.insertIgnoringExisting(matches);
+
+        assertThat(inserted).extracting(match -> match.getProfessional().getId()).containsExactly(10L, 12L, 11L);
+        assertThat(inserted).extracting(match -> match.getJob().getId()).containsExactly(1L, 1L, 2L);
+        // Assigned in insert order but returned in reverse: ids must follow the (job, professional) pair
+        assertThat(inserted).extracting(Match::getId).containsExactly(500L, 501L, 502L);
+        assertThat(inserted).allSatisfy(match -> assertThat(match.getCreatedAt()).isNotNull());
+        assertThat(matches.get(1).getId()).isNull();
+        assertThat(matches.get(3).getId()).isNull();
+
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0))
+                .startsWith("INSERT INTO matches (job_id, professional_id, match_score, distance_km, "
+                        + "expertise_score, availability_score, rating_score, price_score, status, created_at) VALUES ")
+                .endsWith(" ON CONFLICT (job_id, professional_id) DO NOTHING RETURNING id, job_id, professional_id");
+        assertThat(placeholderRows(statements.get(0))).isEqualTo(5);
+
+        Object[] args = statementArgs.get(0);
+        assertThat(args).hasSize(5 * COLUMNS);
+        Match first = matches.get(0);
+        assertThat(List.of(args).subList(0, COLUMNS - 1)).containsExactly(1L, 10L, first.getMatchScore(),
+                first.getDistanceKm(), first.getExpertiseScore(), first.getAvailabilityScore(),
+                first.getRatingScore(), first.getPriceScore(), "SUGGESTED");
+        assertThat(args[COLUMNS - 1]).isInstanceOf(Timestamp.class);
+    }
+
+    @Test
+    void splitsLargeInputsIntoChunksOfAThousandRows() {
+        List<Match> matches = new ArrayList<>();
+        for (long professionalId = 1; professionalId <= 2500; professionalId++) {
+            matches.add(match(professionalId % 2 + 1, professionalId));
+        }
+        existingPairs.add(List.of(2L, 1001L)); // Sits in the second chunk
+
+        List<Match> inserted = repository.insertIgnoringExisting(matches);
+
+        assertThat(statements).extracting(MatchRepositoryCustomImplTest::placeholderRows).containsExactly(1000, 1000, 500);
+        assertThat(statementArgs).extracting(args -> args.length).containsExactly(10000, 10000, 5000);
+        assertThat((Long) statementArgs.get(1)[1]).isEqualTo(1001L);
+        assertThat((Long) statementArgs.get(2)[1]).isEqualTo(2001L);
+
+        assertThat(inserted).hasSize(2499);
+        assertThat(inserted).extracting(match -> match.getProfessional().getId()).doesNotContain(1001L).isSorted();
+        Map<Long, Long> ids = new HashMap<>();
+        inserted.forEach(match -> ids.put(match.getId(), match.getProfessional().getId()));
+        assertThat(ids).hasSize(2499);
+    }
+
+    @Test
+    void emptyInputRunsNoStatement() {
+        assertThat(repository.insertIgnoringExisting(List.of())).isEmpty();
+        assertThat(statements).isEmpty();
+    }
+
+    private static int placeholderRows(String sql) {
+        return sql.split("\\(\\?, \\?, \\?", -1).length - 1;
+    }
+
+    private static ResultSet resultRow(long[] row) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong("id")).thenReturn(row[0]);
+        when(resultSet.getLong("job_id")).thenReturn(row[1]);
+        when(resultSet.getLong("professional_id")).thenReturn(row[2]);
+        return resultSet;
+    }
+
+    private static Match match(long jobId, long professionalId) {
+        return Match.builder()
+                .job(Job.builder().id(jobId).build())
+                .professional(Professional.builder().id(professionalId).build())
+                .matchScore(BigDecimal.valueOf(60 + professionalId % 40, 0).setScale(2))
+                .distanceKm(new BigDecimal("3.25"))
+                .expertiseScore(new BigDecimal("88.00"))
+                .availabilityScore(new BigDecimal("70.00"))
+                .ratingScore(new BigDecimal("90.00"))
+                .priceScore(new BigDecimal("100.00"))
+                .status(MatchStatus.SUGGESTED)
+                .build();
+    }
+}
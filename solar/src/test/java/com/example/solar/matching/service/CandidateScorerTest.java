@@ -0,0 +1,117 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.job.domain.JobType;
+import com.example.solar.matching.domain.MatchCriteria;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CandidateScorerTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void parallelTopKMatchesAFullSequentialSort() {
+        LocalDate today = LocalDate.of(2026, 11, 1);
+        List<CandidateSnapshot.Row> rows = randomRows(5000, today);
+        CandidateSnapshot snapshot = CandidateSnapshot.build(rows);
+        long[] candidateIds = rows.stream().mapToLong(CandidateSnapshot.Row::getId).toArray();
+        JobScoringContext job = new JobScoringContext(1L, 6.5, 3.5, JobType.MAINTENANCE,
+                today.plusDays(10), today.plusDays(10).toEpochDay(), 2500.0);
+        MatchCriteria criteria = MatchCriteria.builder().maxMatches(25).build();
+
+        MatchingEngine engine = new MatchingEngine();
+        List<ScoredCandidate> reference = new ArrayList<>();
+        for (long id : candidateIds) {
+            int row = snapshot.rowOf(id);
+            var breakdown = engine.calculateMatchScore(snapshot, row, job, criteria);
+            if (breakdown.getTotalScore().doubleValue() >= criteria.getMinimumMatchScore()) {
+                reference.add(new ScoredCandidate(id, row, breakdown.getTotalScore().doubleValue()));
+            }
+        }
+        reference = reference.stream()
+                .sorted((a, b) -> Double.compare(b.totalScore(), a.totalScore()))
+                .limit(criteria.getMaxMatches())
+                .toList();
+
+        List<ScoredCandidate> sequential = new CandidateScorer(engine, pool, false, 1, 64)
+                .score(candidateIds, snapshot, job, criteria);
+        List<ScoredCandidate> parallel = new CandidateScorer(engine, pool, true, 1, 64)
+                .score(candidateIds, snapshot, job, criteria);
+
+        assertThat(sequential).hasSize(25).isEqualTo(reference);
+        assertThat(parallel).isEqualTo(reference);
+
+        // Chunks of 100, 200, ... 1600, then the remaining 1900: five provisional rankings
+        List<List<ScoredCandidate>> provisional = new ArrayList<>();
+        List<ScoredCandidate> progressive = new CandidateScorer(engine, pool, true, 1, 64)
+                .scoreProgressively(candidateIds, snapshot, job, criteria, 100, provisional::add);
+        assertThat(progressive).isEqualTo(reference);
+        assertThat(provisional).hasSize(5);
+    }
+
+    @Test
+    void groupedBatchScoringMatchesPerJobScoring() {
+        LocalDate today = LocalDate.of(2026, 11, 1);
+        List<CandidateSnapshot.Row> rows = randomRows(2000, today);
+        CandidateSnapshot snapshot = CandidateSnapshot.build(rows);
+        long[] memberIds = rows.stream().mapToLong(CandidateSnapshot.Row::getId).toArray();
+        MatchCriteria criteria = MatchCriteria.builder().maxMatches(10).build();
+        MatchingEngine engine = new MatchingEngine();
+        CandidateScorer scorer = new CandidateScorer(engine, pool, true, 1, 64);
+
+        List<JobScoringContext> jobs = new ArrayList<>();
+        for (long jobId = 1; jobId <= 5; jobId++) {
+            LocalDate preferred = today.plusDays(jobId * 3);
+            jobs.add(new JobScoringContext(jobId, 6.2 + jobId * 0.1, 3.3 + jobId * 0.05, JobType.INSTALLATION,
+                    preferred, preferred.toEpochDay(), jobId == 3 ? Double.NaN : 1500.0 * jobId));
+        }
+
+        var grouped = scorer.scoreGroups(List.of(new CandidateScorer.JobGroup(memberIds, jobs)), snapshot, criteria);
+
+        for (JobScoringContext job : jobs) {
+            // The single-job path only sees professionals whose radius covers the job
+            long[] covering = Arrays.stream(memberIds)
+                    .filter(id -> {
+                        int row = snapshot.rowOf(id);
+                        return engine.calculateDistance(snapshot, row, job) <= snapshot.serviceRadiusKm(row);
+                    })
+                    .toArray();
+            assertThat(grouped.get(job.jobId()))
+                    .isNotEmpty()
+                    .isEqualTo(scorer.score(covering, snapshot, job, criteria));
+        }
+    }
+
+    private static List<CandidateSnapshot.Row> randomRows(int count, LocalDate today) {
+        Random random = new Random(42);
+        List<CandidateSnapshot.Row> rows = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            CandidateSnapshot.Row row = new CandidateSnapshot.Row(id).profile(
+                    BigDecimal.valueOf(6.0 + random.nextDouble()), BigDecimal.valueOf(3.0 + random.nextDouble()),
+                    20 + random.nextInt(80), BigDecimal.valueOf(30 + random.nextInt(150)),
+                    BigDecimal.valueOf(random.nextInt(500), 2), random.nextInt(40), true);
+            row.addExpertise(JobType.values()[random.nextInt(JobType.values().length)].name(),
+                    random.nextInt(15), random.nextBoolean() ? "cert" : null);
+            for (int s = random.nextInt(6); s > 0; s--) {
+                row.addSlot(today.plusDays(random.nextInt(30)), random.nextInt(4) == 0);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
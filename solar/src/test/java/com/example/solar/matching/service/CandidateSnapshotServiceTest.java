@@ -0,0 +1,116 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.professional.domain.ProfessionalChangedEvent;
+import com.example.solar.professional.dto.ProfessionalScoringView;
+import com.example.solar.professional.repository.AvailabilitySlotRepository;
+import com.example.solar.professional.repository.ProfessionalExpertiseRepository;
+import com.example.solar.professional.repository.ProfessionalRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CandidateSnapshotServiceTest {
+
+    private static final LocalDateTime WATERMARK = LocalDateTime.of(2026, 11, 1, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    private final ProfessionalRepository professionalRepository = mock(ProfessionalRepository.class);
+    private final ProfessionalExpertiseRepository expertiseRepository = mock(ProfessionalExpertiseRepository.class);
+    private final AvailabilitySlotRepository availabilitySlotRepository = mock(AvailabilitySlotRepository.class);
+
+    @Test
+    void restartLooksBackTheOverlapForLateCommits() {
+        List<Long> ids = LongStream.rangeClosed(1, 10).boxed().toList();
+        when(professionalRepository.findMaxUpdatedAt()).thenReturn(WATERMARK);
+        when(professionalRepository.findAllScoringViews()).thenReturn(ids.stream().map(id -> view(id, 30)).toList());
+        service().reload();
+
+        // Committed after the first load read its watermark, stamped before it
+        when(professionalRepository.findAllIds()).thenReturn(ids);
+        when(professionalRepository.findIdsUpdatedAfter(WATERMARK.minusSeconds(300))).thenReturn(List.of(2L));
+        when(professionalRepository.findScoringViewsByIdIn(List.of(2L))).thenReturn(List.of(view(2L, 45)));
+        CandidateSnapshotService restarted = service();
+        restarted.reload();
+
+        CandidateSnapshot snapshot = restarted.current();
+        assertThat(snapshot.size()).isEqualTo(10);
+        assertThat(snapshot.serviceRadiusKm(snapshot.rowOf(2L))).isEqualTo(45);
+        assertThat(snapshot.serviceRadiusKm(snapshot.rowOf(3L))).isEqualTo(30);
+        verify(professionalRepository, never()).findIdsUpdatedAfter(WATERMARK);
+    }
+
+    @Test
+    void changesAppliedFromEventsAreSavedAtShutdown() throws Exception {
+        when(professionalRepository.findMaxUpdatedAt()).thenReturn(WATERMARK);
+        when(professionalRepository.findAllScoringViews()).thenReturn(List.of(view(1L, 20)));
+        CandidateSnapshotService service = service();
+        service.reload();
+
+        LocalDateTime updatedAt = WATERMARK.plusDays(3);
+        when(professionalRepository.findMaxUpdatedAt()).thenReturn(updatedAt);
+        when(expertiseRepository.findMaxId()).thenReturn(40L);
+        when(professionalRepository.findScoringViewById(1L)).thenReturn(Optional.of(view(1L, 60)));
+        service.onProfessionalChanged(new ProfessionalChangedEvent(1L, ProfessionalChangedEvent.ChangeType.UPDATED));
+        service.shutdown();
+
+        CandidateSnapshotFile.Contents saved = CandidateSnapshotFile.read(directory.resolve("snapshot.bin"),
+                ShardMap.singleNode().layoutHash()).orElseThrow();
+        // Read at save time, so the next start only tops up what changed after it
+        assertThat(saved.watermark().maxUpdatedAt()).isEqualTo(updatedAt);
+        assertThat(saved.watermark().maxExpertiseId()).isEqualTo(40L);
+        CandidateSnapshot snapshot = CandidateSnapshot.build(saved.rows());
+        assertThat(snapshot.serviceRadiusKm(snapshot.rowOf(1L))).isEqualTo(60);
+    }
+
+    @Test
+    void unchangedSnapshotIsNotRewritten() {
+        when(professionalRepository.findMaxUpdatedAt()).thenReturn(WATERMARK);
+        when(professionalRepository.findAllScoringViews()).thenReturn(List.of(view(1L, 20)));
+        service().reload();
+
+        when(professionalRepository.findAllIds()).thenReturn(List.of(1L));
+        CandidateSnapshotService restarted = service();
+        restarted.reload();
+        Path file = directory.resolve("snapshot.bin");
+        long written = file.toFile().lastModified();
+        assertThat(file.toFile().setLastModified(written - 60_000)).isTrue();
+
+        restarted.shutdown();
+
+        assertThat(file.toFile().lastModified()).isEqualTo(written - 60_000);
+        verify(professionalRepository, never()).findScoringViewsByIdIn(any());
+    }
+
+    private CandidateSnapshotService service() {
+        return new CandidateSnapshotService(professionalRepository, expertiseRepository, availabilitySlotRepository,
+                365, directory.resolve("snapshot.bin").toString(), false, 300, 0, ShardMap.singleNode());
+    }
+
+    private static ProfessionalScoringView view(long id, int serviceRadiusKm) {
+        return new ProfessionalScoringView() {
+            public Long getId() { return id; }
+            public BigDecimal getLatitude() { return new BigDecimal("6.5"); }
+            public BigDecimal getLongitude() { return new BigDecimal("3.4"); }
+            public Integer getServiceRadiusKm() { return serviceRadiusKm; }
+            public BigDecimal getHourlyRate() { return new BigDecimal("40"); }
+            public BigDecimal getRating() { return new BigDecimal("4.5"); }
+            public Integer getTotalJobsCompleted() { return 3; }
+            public Boolean getIsVerified() { return true; }
+        };
+    }
+}
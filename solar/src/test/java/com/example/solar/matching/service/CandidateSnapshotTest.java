@@ -0,0 +1,168 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.professional.domain.ExpertiseType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CandidateSnapshotTest {
+
+    @Test
+    void calendarWindowsAgreeWithTheSlotDatesInsideAndOutsideTheHorizon() {
+        Random random = new Random(7);
+        LocalDate base = LocalDate.of(2026, 11, 1);
+        long calendarStart = base.toEpochDay();
+        List<CandidateSnapshot.Row> rows = new ArrayList<>();
+        List<TreeSet<Long>> freeDays = new ArrayList<>();
+
+        for (long id = 1; id <= 50; id++) {
+            CandidateSnapshot.Row row = new CandidateSnapshot.Row(id);
+            TreeSet<Long> days = new TreeSet<>();
+            for (int s = random.nextInt(12); s > 0; s--) {
+                LocalDate date = base.plusDays(random.nextInt(300) - 100);
+                boolean booked = random.nextInt(3) == 0;
+                row.addSlot(date, booked);
+                if (!booked) {
+                    days.add(date.toEpochDay());
+                }
+            }
+            rows.add(row);
+            freeDays.add(days);
+        }
+
+        // A 130-day calendar, so some free days land in the overflow list on either side
+        CandidateSnapshot snapshot = CandidateSnapshot.build(rows, calendarStart, 130);
+
+        for (int i = 0; i < rows.size(); i++) {
+            int row = snapshot.rowOf(i + 1);
+            TreeSet<Long> days = freeDays.get(i);
+            for (long from = calendarStart - 120; from < calendarStart + 220; from += 3) {
+                for (int width : new int[]{0, 1, 14, 70}) {
+                    Long next = days.ceiling(from);
+                    boolean expected = next != null && next <= from + width;
+                    assertThat(snapshot.hasFreeDayBetween(row, from, from + width))
+                            .as("row %d, days %d..%d", row, from, from + width)
+                            .isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void replacingAddingAndRemovingRowsMatchesARebuild() {
+        Random random = new Random(11);
+        LocalDate base = LocalDate.of(2026, 11, 1);
+        Map<Long, CandidateSnapshot.Row> rows = new TreeMap<>();
+        for (long id = 2; id <= 60; id += 2) {
+            rows.put(id, randomRow(id, random, base));
+        }
+        CandidateSnapshot snapshot = CandidateSnapshot.build(rows.values(), base.toEpochDay(), 90);
+
+        for (int change = 0; change < 200; change++) {
+            long id = 1 + random.nextInt(62);
+            CandidateSnapshot.Row row = random.nextInt(4) == 0 ? null : randomRow(id, random, base);
+            if (row != null) {
+                rows.put(id, row);
+            } else {
+                rows.remove(id);
+            }
+            snapshot = snapshot.withRow(id, row);
+
+            CandidateSnapshot rebuilt = CandidateSnapshot.build(rows.values(), base.toEpochDay(), 90);
+            assertThat(snapshot.size()).isEqualTo(rebuilt.size());
+            for (int r = 0; r < rebuilt.size(); r++) {
+                assertThat(snapshot.id(r)).isEqualTo(rebuilt.id(r));
+                assertThat(snapshot.latitude(r)).isEqualTo(rebuilt.latitude(r));
+                assertThat(snapshot.serviceRadiusKm(r)).isEqualTo(rebuilt.serviceRadiusKm(r));
+                assertThat(Double.compare(snapshot.hourlyRate(r), rebuilt.hourlyRate(r))).isZero();
+                assertThat(snapshot.expertiseMask(r)).isEqualTo(rebuilt.expertiseMask(r));
+                assertThat(snapshot.expertiseYears(r, ExpertiseType.INSPECTION.ordinal()))
+                        .isEqualTo(rebuilt.expertiseYears(r, ExpertiseType.INSPECTION.ordinal()));
+                assertThat(snapshot.freeSlotCount(r)).isEqualTo(rebuilt.freeSlotCount(r));
+                for (long from = base.toEpochDay() - 60; from < base.toEpochDay() + 160; from += 5) {
+                    assertThat(snapshot.hasFreeDayBetween(r, from, from + 4))
+                            .as("change %d, row %d, day %d", change, r, from)
+                            .isEqualTo(rebuilt.hasFreeDayBetween(r, from, from + 4));
+                }
+            }
+        }
+    }
+
+    @Test
+    void snapshotFileRoundTripsRowsAndRejectsCorruption(@TempDir Path directory) throws Exception {
+        LocalDate base = LocalDate.of(2026, 11, 1);
+        List<CandidateSnapshot.Row> rows = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            CandidateSnapshot.Row row = new CandidateSnapshot.Row(id)
+                    .profile(BigDecimal.valueOf(6.0 + id * 0.01), BigDecimal.valueOf(3.0 - id * 0.01), (int) (10 + id),
+                            id % 3 == 0 ? null : BigDecimal.valueOf(40 + id), BigDecimal.valueOf(4.25), (int) id,
+                            id % 2 == 0)
+                    .addExpertise(ExpertiseType.PANEL_INSTALLATION.name(), (int) id, id % 4 == 0 ? "NABCEP" : null)
+                    .addSlot(base.plusDays(id), false)
+                    .addSlot(base.plusDays(id + 400), false)
+                    .addSlot(base.plusDays(id + 1), true);
+            rows.add(row);
+        }
+        Path file = directory.resolve("snapshot.bin");
+        CandidateSnapshotFile.Watermark watermark =
+                new CandidateSnapshotFile.Watermark(LocalDateTime.of(2026, 10, 1, 12, 30, 15, 123_456_000), 99L, null);
+
+        int layout = ShardMap.singleNode().layoutHash();
+        CandidateSnapshotFile.write(file, layout, watermark, rows);
+        CandidateSnapshotFile.Contents contents = CandidateSnapshotFile.read(file, layout).orElseThrow();
+
+        assertThat(contents.watermark()).isEqualTo(watermark);
+        CandidateSnapshot expected = CandidateSnapshot.build(rows, base.toEpochDay(), 100);
+        CandidateSnapshot actual = CandidateSnapshot.build(contents.rows(), base.toEpochDay(), 100);
+        for (int row = 0; row < expected.size(); row++) {
+            assertThat(actual.id(row)).isEqualTo(expected.id(row));
+            assertThat(actual.latitude(row)).isEqualTo(expected.latitude(row));
+            assertThat(Double.compare(actual.hourlyRate(row), expected.hourlyRate(row))).isZero();
+            assertThat(actual.rating(row)).isEqualTo(expected.rating(row));
+            assertThat(actual.verified(row)).isEqualTo(expected.verified(row));
+            assertThat(actual.certifiedMask(row)).isEqualTo(expected.certifiedMask(row));
+            assertThat(actual.expertiseYears(row, ExpertiseType.PANEL_INSTALLATION.ordinal()))
+                    .isEqualTo(expected.expertiseYears(row, ExpertiseType.PANEL_INSTALLATION.ordinal()));
+            assertThat(actual.freeSlotCount(row)).isEqualTo(expected.freeSlotCount(row));
+            assertThat(actual.hasFreeDayBetween(row, base.toEpochDay() + 400, base.toEpochDay() + 430)).isTrue();
+        }
+
+        // Rows kept and radii capped for another shard layout are not reused
+        ShardMap sharded = new ShardMap(true, "a", "a=http://a,b=http://b", 2.0, 200);
+        assertThat(CandidateSnapshotFile.read(file, sharded.layoutHash())).isEmpty();
+        assertThat(new ShardMap(true, "a", "a=http://a,b=http://b", 2.0, 150).layoutHash())
+                .isNotEqualTo(sharded.layoutHash());
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 3] ^= 1;
+        Files.write(file, bytes);
+        assertThat(CandidateSnapshotFile.read(file, layout)).isEmpty();
+    }
+
+    private static CandidateSnapshot.Row randomRow(long id, Random random, LocalDate base) {
+        CandidateSnapshot.Row row = new CandidateSnapshot.Row(id)
+                .profile(BigDecimal.valueOf(6.0 + random.nextDouble()), BigDecimal.valueOf(3.0 + random.nextDouble()),
+                        5 + random.nextInt(50), BigDecimal.valueOf(30 + random.nextInt(60)), BigDecimal.valueOf(4.5),
+                        random.nextInt(20), random.nextBoolean());
+        if (random.nextBoolean()) {
+            row.addExpertise(ExpertiseType.INSPECTION.name(), random.nextInt(15), null);
+        }
+        for (int s = random.nextInt(6); s > 0; s--) {
+            row.addSlot(base.plusDays(random.nextInt(200) - 50), random.nextInt(3) == 0);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.job.domain.JobType;
+import com.example.solar.professional.domain.ExpertiseType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpertiseMatrixTest {
+
+    private final ExpertiseScorer scorer = new ExpertiseScorer();
+
+    @Test
+    void masksFollowTheRelationTable() {
+        assertThat(ExpertiseMatrix.directMask(JobType.INSTALLATION)).isEqualTo(ExpertiseType.PANEL_INSTALLATION.bit());
+        assertThat(ExpertiseMatrix.relatedMask(JobType.INSTALLATION))
+                .isEqualTo(ExpertiseType.UPGRADE.bit() | ExpertiseType.INSPECTION.bit());
+        assertThat(ExpertiseMatrix.relatedMask(JobType.MAINTENANCE))
+                .isEqualTo(ExpertiseType.REPAIR.bit() | ExpertiseType.INSPECTION.bit());
+        assertThat(ExpertiseMatrix.relatedMask(JobType.REPAIR)).isEqualTo(ExpertiseType.MAINTENANCE.bit());
+        assertThat(ExpertiseMatrix.relatedMask(JobType.UPGRADE)).isZero();
+
+        for (JobType jobType : JobType.values()) {
+            assertThat(ExpertiseMatrix.directMask(jobType) & ExpertiseMatrix.relatedMask(jobType)).isZero();
+            for (ExpertiseType expertiseType : ExpertiseType.values()) {
+                ExpertiseMatrix.Relation relation = ExpertiseMatrix.relation(jobType, expertiseType);
+                assertThat(ExpertiseMatrix.isRelevant(expertiseType.bit(), jobType))
+                        .as("%s for %s", expertiseType, jobType)
+                        .isEqualTo(relation != ExpertiseMatrix.Relation.NONE);
+            }
+        }
+        assertThat(ExpertiseMatrix.isRelevant(0, JobType.INSTALLATION)).isFalse();
+        assertThat(ExpertiseMatrix.isRelevant(ExpertiseType.BATTERY_SETUP.bit(), JobType.INSTALLATION)).isFalse();
+    }
+
+    @Test
+    void scoresMatchTheStringBasedRulesForEveryExpertiseCombination() {
+        ExpertiseType[] types = ExpertiseType.values();
+        for (JobType jobType : JobType.values()) {
+            JobScoringContext job = new JobScoringContext(1L, 0.0, 0.0, jobType, null, 0L, Double.NaN);
+            for (int subset = 0; subset < 1 << types.length; subset++) {
+                for (int variant = 0; variant < 3; variant++) {
+                    List<Entry> expertise = new ArrayList<>();
+                    CandidateSnapshot.Row row = new CandidateSnapshot.Row(1L);
+                    for (ExpertiseType type : types) {
+                        if ((subset & type.bit()) != 0) {
+                            int years = (type.ordinal() * 3 + variant * 4) % 13;
+                            String certification = (type.ordinal() + variant) % 2 == 0 ? "cert" : null;
+                            expertise.add(new Entry(type.name(), years, certification));
+                            row.addExpertise(type.name(), years, certification);
+                        }
+                    }
+                    CandidateSnapshot snapshot = CandidateSnapshot.build(List.of(row));
+
+                    assertThat(scorer.score(snapshot, 0, job))
+                            .as("%s with %s", jobType, expertise)
+                            .isEqualTo(stringBasedScore(jobType, expertise));
+                }
+            }
+        }
+    }
+
+    private record Entry(String type, Integer years, String certification) {
+    }
+
+    /*
+      The expertise score as it was computed from the stored strings before the matrix
+     */
+    private static double stringBasedScore(JobType jobType, List<Entry> expertise) {
+        String required = switch (jobType) {
+            case INSTALLATION -> "PANEL_INSTALLATION";
+            case BATTERY_SETUP -> "BATTERY_SETUP";
+            case MAINTENANCE -> "MAINTENANCE";
+            case REPAIR -> "REPAIR";
+            case INSPECTION -> "INSPECTION";
+            case UPGRADE -> "UPGRADE";
+        };
+        Set<String> related = switch (required) {
+            case "PANEL_INSTALLATION" -> Set.of("UPGRADE", "INSPECTION");
+            case "MAINTENANCE" -> Set.of("REPAIR", "INSPECTION");
+            case "REPAIR" -> Set.of("MAINTENANCE");
+            default -> Set.of();
+        };
+
+        boolean match = false;
+        int maxYears = 0;
+        boolean certified = false;
+        for (Entry entry : expertise) {
+            if (entry.type().equalsIgnoreCase(required)) {
+                match = true;
+                if (entry.years() != null) {
+                    maxYears = Math.max(maxYears, entry.years());
+                }
+                if (entry.certification() != null && !entry.certification().isEmpty()) {
+                    certified = true;
+                }
+            }
+        }
+
+        double score = 0.0;
+        if (match) {
+            score += 50.0;
+        } else if (expertise.stream().anyMatch(entry -> related.contains(entry.type()))) {
+            score += 25.0;
+        }
+        if (maxYears > 0) {
+            score += Math.min(30.0, maxYears * 3.0);
+        }
+        if (certified) {
+            score += 20.0;
+        }
+        return Math.min(100.0, score);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.common.exception.ResourceNotFoundException;
+import com.example.solar.job.domain.Job;
+import com.example.solar.job.domain.JobStatus;
+import com.example.solar.job.domain.JobType;
+import com.example.solar.job.repository.JobRepository;
+import com.example.solar.matching.dto.JobFeedItemDto;
+import com.example.solar.professional.domain.ExpertiseType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobFeedServiceTest {
+
+    private static final double LATITUDE = 6.5244;
+    private static final double LONGITUDE = 3.3792;
+    private static final LocalDate PREFERRED = LocalDate.now().plusDays(10);
+
+    private static final long VERIFIED = 1L;
+    private static final long UNVERIFIED = 2L;
+
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final CandidateSnapshotService candidateSnapshotService = mock(CandidateSnapshotService.class);
+    private final MatchingEngine matchingEngine = new MatchingEngine();
+
+    @BeforeEach
+    void setUp() {
+        when(candidateSnapshotService.current()).thenReturn(CandidateSnapshot.build(List.of(
+                professional(VERIFIED, true), professional(UNVERIFIED, false))));
+        // Ids deliberately out of distance order; job 6 lies outside the 50 km service radius
+        when(jobRepository.findOpenJobs()).thenReturn(List.of(
+                job(1L, 20), job(2L, 1), job(3L, 35), job(4L, 5), job(5L, 12), job(6L, 80)));
+    }
+
+    @Test
+    void ranksTheJobsInsideTheServiceRadiusByScore() {
+        List<JobFeedItemDto> feed = service(20, 100).getJobFeed(VERIFIED, null);
+
+        assertThat(feed).extracting(JobFeedItemDto::getJobId).containsExactly(2L, 4L, 5L, 1L, 3L);
+        assertThat(feed).extracting(JobFeedItemDto::getMatchScore).isSortedAccordingTo((a, b) -> b.compareTo(a));
+        assertThat(feed.get(0).getScoreBreakdown().getTotalScore()).isEqualTo(feed.get(0).getMatchScore());
+    }
+
+    @Test
+    void limitsTheFeedToTheDefaultAndCapsRequestedLimits() {
+        JobFeedService service = service(2, 3);
+
+        assertThat(service.getJobFeed(VERIFIED, null)).extracting(JobFeedItemDto::getJobId).containsExactly(2L, 4L);
+        assertThat(service.getJobFeed(VERIFIED, 0)).hasSize(2);
+        assertThat(service.getJobFeed(VERIFIED, 1)).extracting(JobFeedItemDto::getJobId).containsExactly(2L);
+        assertThat(service.getJobFeed(VERIFIED, 50)).extracting(JobFeedItemDto::getJobId).containsExactly(2L, 4L, 5L);
+    }
+
+    @Test
+    void unverifiedProfessionalsGetNoJobs() {
+        // A default match run (verifiedOnly) would never consider them
+        assertThat(service(20, 100).getJobFeed(UNVERIFIED, null)).isEmpty();
+    }
+
+    @Test
+    void unknownProfessionalsAreNotFound() {
+        assertThatThrownBy(() -> service(20, 100).getJobFeed(99L, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private JobFeedService service(int defaultLimit, int maxLimit) {
+        return new JobFeedService(candidateSnapshotService, new OpenJobIndex(jobRepository, 0.5), matchingEngine,
+                defaultLimit, maxLimit);
+    }
+
+    private static CandidateSnapshot.Row professional(long id, boolean verified) {
+        return new CandidateSnapshot.Row(id)
+                .profile(BigDecimal.valueOf(LATITUDE), BigDecimal.valueOf(LONGITUDE), 50, new BigDecimal("30"),
+                        new BigDecimal("4.5"), 12, verified)
+                .addExpertise(ExpertiseType.PANEL_INSTALLATION.name(), 5, "NABCEP")
+                .addSlot(PREFERRED, false);
+    }
+
+    // Due north of the professional, about kmAway away
+    private static Job job(Long id, double kmAway) {
+        Job job = new Job();
+        job.setId(id);
+        job.setJobType(JobType.INSTALLATION);
+        job.setTitle("Job " + id);
+        job.setStatus(JobStatus.PENDING);
+        job.setLatitude(BigDecimal.valueOf(LATITUDE + kmAway / 111.2));
+        job.setLongitude(BigDecimal.valueOf(LONGITUDE));
+        job.setPreferredDate(PREFERRED);
+        job.setBudgetMax(new BigDecimal("1000"));
+        return job;
+    }
+}
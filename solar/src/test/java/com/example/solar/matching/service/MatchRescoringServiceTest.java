@@ -0,0 +1,204 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.job.domain.Job;
+import com.example.solar.job.domain.JobChangedEvent;
+import com.example.solar.job.domain.JobStatus;
+import com.example.solar.job.domain.JobType;
+import com.example.solar.job.repository.JobRepository;
+import com.example.solar.matching.domain.Match;
+import com.example.solar.matching.domain.MatchCriteria;
+import com.example.solar.matching.domain.MatchStatus;
+import com.example.solar.matching.repository.MatchRepository;
+import com.example.solar.professional.domain.ExpertiseType;
+import com.example.solar.professional.domain.Professional;
+import com.example.solar.professional.domain.ProfessionalChangedEvent;
+import com.example.solar.professional.repository.ProfessionalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MatchRescoringServiceTest {
+
+    private static final LocalDate PREFERRED = LocalDate.now().plusDays(10);
+
+    // Unverified, over budget, no availability: only qualifies under lenient custom criteria
+    private static final long WEAK = 1L;
+    // Verified, nearby, direct expertise: qualifies under any criteria
+    private static final long STRONG = 2L;
+    private static final long NEWCOMER = 3L;
+
+    private final MatchRepository matchRepository = mock(MatchRepository.class);
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final ProfessionalRepository professionalRepository = mock(ProfessionalRepository.class);
+    private final CandidateScorer candidateScorer = mock(CandidateScorer.class);
+    private final ProfessionalGeoIndex professionalGeoIndex = mock(ProfessionalGeoIndex.class);
+    private final CandidateSnapshotService candidateSnapshotService = mock(CandidateSnapshotService.class);
+    private final MatchingEngine matchingEngine = new MatchingEngine();
+    private final JobCriteriaStore jobCriteriaStore = new JobCriteriaStore(100);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final MatchCriteria lenient = MatchCriteria.builder()
+            .distanceWeight(10.0).expertiseWeight(10.0).availabilityWeight(10.0).ratingWeight(10.0).priceWeight(60.0)
+            .minimumMatchScore(5.0)
+            .maxMatches(25)
+            .verifiedOnly(false)
+            .build();
+
+    private MatchRescoringService service;
+    private Job job;
+    private CandidateSnapshot snapshot;
+    private final List<Match> matches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        service = new MatchRescoringService(matchRepository, jobRepository, professionalRepository, matchingEngine,
+                candidateScorer, professionalGeoIndex, candidateSnapshotService, ShardMap.singleNode(),
+                jobCriteriaStore, eventPublisher, transactionManager, new SyncTaskExecutor(), true);
+
+        job = Job.builder()
+                .id(100L)
+                .jobType(JobType.INSTALLATION)
+                .status(JobStatus.MATCHED)
+                .latitude(new BigDecimal("6.52440000"))
+                .longitude(new BigDecimal("3.37920000"))
+                .preferredDate(PREFERRED)
+                .budgetMax(new BigDecimal("1000"))
+                .build();
+        snapshot = CandidateSnapshot.build(List.of(
+                row(WEAK, new BigDecimal("400"), false, null),
+                row(STRONG, new BigDecimal("30"), true, PREFERRED),
+                row(NEWCOMER, new BigDecimal("35"), true, PREFERRED)));
+
+        matches.add(match(WEAK, "12.00"));
+        matches.add(match(STRONG, "80.00"));
+
+        when(candidateSnapshotService.current()).thenReturn(snapshot);
+        when(jobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(matchRepository.findByJobId(job.getId())).thenReturn(matches);
+        when(matchRepository.findByProfessionalId(WEAK)).thenReturn(List.of(matches.get(0)));
+        when(jobRepository.findByStatusWithinBounds(eq(JobStatus.MATCHED), any(), any(), any(), any()))
+                .thenReturn(List.of(job));
+        when(professionalRepository.getReferenceById(any()))
+                .thenAnswer(invocation -> Professional.builder().id(invocation.getArgument(0)).build());
+        when(matchRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(matchRepository.insertIgnoringExisting(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+    }
+
+    @Test
+    void customCriteriaMatchesSurviveAProfessionalChange() {
+        jobCriteriaStore.remember(job.getId(), lenient);
+
+        service.onProfessionalChanged(new ProfessionalChangedEvent(WEAK, ProfessionalChangedEvent.ChangeType.UPDATED));
+
+        verify(matchRepository, never()).delete(any());
+        // Rescored with the job's own weights, not the defaults
+        assertThat(matches.get(0).getMatchScore()).isEqualByComparingTo(
+                matchingEngine.calculateMatchScore(snapshot, snapshot.rowOf(WEAK), JobScoringContext.of(job), lenient)
+                        .getTotalScore());
+    }
+
+    @Test
+    void customCriteriaMatchesSurviveAJobChangeAndNewcomersAreAddedWithoutEvicting() {
+        jobCriteriaStore.remember(job.getId(), lenient.toBuilder().maxMatches(3).build());
+        when(professionalGeoIndex.findCandidateIds(any(), any(), eq(false))).thenReturn(new long[]{STRONG, NEWCOMER});
+        when(candidateScorer.score(any(), any(), any(), any())).thenReturn(List.of(
+                new ScoredCandidate(NEWCOMER, snapshot.rowOf(NEWCOMER), 90.0),
+                new ScoredCandidate(STRONG, snapshot.rowOf(STRONG), 88.0)));
+
+        service.onJobChanged(new JobChangedEvent(job.getId(), JobChangedEvent.ChangeType.STATUS_CHANGED));
+
+        verify(matchRepository, never()).delete(any());
+        // Inserted skipping pairs a concurrent match run may have added
+        verify(matchRepository).insertIgnoringExisting(argThat(added ->
+                added.size() == 1 && added.get(0).getProfessional().getId() == NEWCOMER));
+        verify(matchRepository, never()).save(argThat(match -> match.getId() == null));
+        // Already MATCHED: no status change to announce
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void aPendingJobThatGainsAMatchIsMarkedMatchedAndAnnounced() {
+        // Back to PENDING with its earlier suggestions still on record
+        job.setStatus(JobStatus.PENDING);
+        jobCriteriaStore.remember(job.getId(), lenient);
+        when(professionalGeoIndex.findCandidateIds(any(), any(), eq(false))).thenReturn(new long[]{NEWCOMER});
+        when(candidateScorer.score(any(), any(), any(), any())).thenReturn(List.of(
+                new ScoredCandidate(NEWCOMER, snapshot.rowOf(NEWCOMER), 90.0)));
+
+        service.onJobChanged(new JobChangedEvent(job.getId(), JobChangedEvent.ChangeType.CREATED));
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.MATCHED);
+        verify(jobRepository).save(job);
+        // The open job index and result cache follow status changes through this event
+        verify(eventPublisher).publishEvent(
+                new JobChangedEvent(job.getId(), JobChangedEvent.ChangeType.STATUS_CHANGED));
+    }
+
+    @Test
+    void unknownCriteriaLeaveTheJobsMatchesUntouched() {
+        // Matched before a restart: the stored scores came from weights this node does not know
+        service.onJobChanged(new JobChangedEvent(job.getId(), JobChangedEvent.ChangeType.STATUS_CHANGED));
+        service.onProfessionalChanged(new ProfessionalChangedEvent(WEAK, ProfessionalChangedEvent.ChangeType.UPDATED));
+
+        verify(matchRepository, never()).delete(any());
+        verify(matchRepository, never()).save(any());
+        verify(matchRepository, never()).insertIgnoringExisting(anyList());
+        verify(professionalGeoIndex, never()).findCandidateIds(any(), any(), anyBoolean());
+        assertThat(matches).extracting(Match::getMatchScore)
+                .containsExactly(new BigDecimal("12.00"), new BigDecimal("80.00"));
+    }
+
+    @Test
+    void aFailedRescoreRollsBackItsOwnTransactionWithoutReachingTheCaller() {
+        jobCriteriaStore.remember(job.getId(), lenient);
+        when(matchRepository.findByJobId(job.getId())).thenThrow(new IllegalStateException("connection reset"));
+
+        service.onProfessionalChanged(new ProfessionalChangedEvent(WEAK, ProfessionalChangedEvent.ChangeType.UPDATED));
+
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    private Match match(long professionalId, String score) {
+        return Match.builder()
+                .id(professionalId * 10)
+                .job(job)
+                .professional(Professional.builder().id(professionalId).build())
+                .matchScore(new BigDecimal(score))
+                .status(MatchStatus.SUGGESTED)
+                .build();
+    }
+
+    private static CandidateSnapshot.Row row(long id, BigDecimal hourlyRate, boolean verified, LocalDate freeDay) {
+        CandidateSnapshot.Row row = new CandidateSnapshot.Row(id)
+                .profile(new BigDecimal("6.53"), new BigDecimal("3.38"), 50, hourlyRate, new BigDecimal("4.00"),
+                        10, verified)
+                .addExpertise(ExpertiseType.PANEL_INSTALLATION.name(), 5, null);
+        if (freeDay != null) {
+            row.addSlot(freeDay, false);
+        }
+        return row;
+    }
+}
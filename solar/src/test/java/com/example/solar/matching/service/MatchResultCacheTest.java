@@ -0,0 +1,122 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.job.domain.Job;
+import com.example.solar.job.domain.JobChangedEvent;
+import com.example.solar.matching.domain.MatchCriteria;
+import com.example.solar.matching.dto.MatchCacheStatsDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MatchResultCacheTest {
+
+    private final ProfessionalGeoIndex geoIndex = mock(ProfessionalGeoIndex.class);
+    private final MatchCriteria criteria = MatchCriteria.builder().build();
+    private final CandidateSnapshot snapshot = CandidateSnapshot.build(List.of(
+            new CandidateSnapshot.Row(1L), new CandidateSnapshot.Row(2L), new CandidateSnapshot.Row(3L)));
+
+    @Test
+    void hitsResolveToTheRowsOfTheCurrentSnapshot() {
+        MatchResultCache cache = new MatchResultCache(geoIndex, true, 10);
+        MatchResultCache.Stamp stamp = new MatchResultCache.Stamp(0L, 5L);
+        cache.put(1L, criteria, stamp, List.of(new ScoredCandidate(3L, 2, 90.0), new ScoredCandidate(1L, 0, 70.0)));
+
+        // Row numbers shift when professionals are added elsewhere
+        CandidateSnapshot grown = CandidateSnapshot.build(List.of(new CandidateSnapshot.Row(1L),
+                new CandidateSnapshot.Row(2L), new CandidateSnapshot.Row(3L), new CandidateSnapshot.Row(0L)));
+        List<ScoredCandidate> ranked = cache.get(1L, criteria, stamp, grown);
+
+        assertThat(ranked).containsExactly(
+                new ScoredCandidate(3L, grown.rowOf(3L), 90.0), new ScoredCandidate(1L, grown.rowOf(1L), 70.0));
+        assertThat(cache.getStats().getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void aChangedStampMissesAndDropsTheEntry() {
+        MatchResultCache cache = new MatchResultCache(geoIndex, true, 10);
+        cache.put(1L, criteria, new MatchResultCache.Stamp(0L, 5L), List.of(new ScoredCandidate(1L, 0, 70.0)));
+
+        // A professional covering the job's cell changed
+        assertThat(cache.get(1L, criteria, new MatchResultCache.Stamp(0L, 6L), snapshot)).isNull();
+        // The stale entry is gone, so even the old stamp misses now
+        assertThat(cache.get(1L, criteria, new MatchResultCache.Stamp(0L, 5L), snapshot)).isNull();
+
+        MatchCacheStatsDto stats = cache.getStats();
+        assertThat(stats.getMisses()).isEqualTo(2);
+        assertThat(stats.getInvalidations()).isEqualTo(1);
+        assertThat(stats.getSize()).isZero();
+    }
+
+    @Test
+    void jobChangesBumpTheJobsVersionInTheStamp() {
+        MatchResultCache cache = new MatchResultCache(geoIndex, true, 10);
+        Job job = Job.builder().id(1L).latitude(new BigDecimal("6.5")).longitude(new BigDecimal("3.4")).build();
+        when(geoIndex.versionAt(6.5, 3.4)).thenReturn(5L);
+
+        MatchResultCache.Stamp before = cache.stampOf(job, cache.jobVersion(1L));
+        cache.put(1L, criteria, before, List.of(new ScoredCandidate(1L, 0, 70.0)));
+        cache.onJobChanged(new JobChangedEvent(1L, JobChangedEvent.ChangeType.STATUS_CHANGED));
+        MatchResultCache.Stamp after = cache.stampOf(job, cache.jobVersion(1L));
+
+        assertThat(after).isNotEqualTo(before);
+        assertThat(cache.get(1L, criteria, after, snapshot)).isNull();
+        // Other jobs keep their version
+        assertThat(cache.jobVersion(2L)).isZero();
+    }
+
+    @Test
+    void missesWhenACachedProfessionalLeftTheSnapshot() {
+        MatchResultCache cache = new MatchResultCache(geoIndex, true, 10);
+        MatchResultCache.Stamp stamp = new MatchResultCache.Stamp(0L, 5L);
+        cache.put(1L, criteria, stamp, List.of(new ScoredCandidate(1L, 0, 90.0), new ScoredCandidate(4L, 3, 70.0)));
+
+        assertThat(cache.get(1L, criteria, stamp, snapshot)).isNull();
+        assertThat(cache.getStats().getMisses()).isEqualTo(1);
+        assertThat(cache.getStats().getHits()).isZero();
+    }
+
+    @Test
+    void criteriaDifferingOnlyInTheSignOfZeroShareAnEntry() {
+        MatchResultCache cache = new MatchResultCache(geoIndex, true, 10);
+        MatchResultCache.Stamp stamp = new MatchResultCache.Stamp(0L, 5L);
+        cache.put(1L, criteria.toBuilder().priceWeight(0.0).build(), stamp, List.of(new ScoredCandidate(1L, 0, 70.0)));
+
+        assertThat(cache.get(1L, criteria.toBuilder().priceWeight(-0.0).build(), stamp, snapshot)).hasSize(1);
+        assertThat(cache.get(1L, criteria.toBuilder().priceWeight(1.0).build(), stamp, snapshot)).isNull();
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntryAndCountsIt() {
+        MatchResultCache cache = new MatchResultCache(geoIndex, true, 2);
+        MatchResultCache.Stamp stamp = new MatchResultCache.Stamp(0L, 5L);
+        List<ScoredCandidate> ranked = List.of(new ScoredCandidate(1L, 0, 70.0));
+        cache.put(1L, criteria, stamp, ranked);
+        cache.put(2L, criteria, stamp, ranked);
+        cache.get(1L, criteria, stamp, snapshot); // Job 2 is now the least recently used
+
+        cache.put(3L, criteria, stamp, ranked);
+
+        assertThat(cache.get(2L, criteria, stamp, snapshot)).isNull();
+        assertThat(cache.get(1L, criteria, stamp, snapshot)).isNotNull();
+        assertThat(cache.get(3L, criteria, stamp, snapshot)).isNotNull();
+        MatchCacheStatsDto stats = cache.getStats();
+        assertThat(stats.getEvictions()).isEqualTo(1);
+        assertThat(stats.getInvalidations()).isZero();
+        assertThat(stats.getSize()).isEqualTo(2);
+    }
+
+    @Test
+    void aDisabledCacheNeverHits() {
+        MatchResultCache cache = new MatchResultCache(geoIndex, false, 10);
+        MatchResultCache.Stamp stamp = new MatchResultCache.Stamp(0L, 5L);
+        cache.put(1L, criteria, stamp, List.of(new ScoredCandidate(1L, 0, 70.0)));
+
+        assertThat(cache.get(1L, criteria, stamp, snapshot)).isNull();
+        assertThat(cache.getStats().getSize()).isZero();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.job.domain.UrgencyLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchSchedulerTest {
+
+    private MatchScheduler scheduler;
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void runsQueuedWorkByUrgencyThenJobAge() throws Exception {
+        scheduler = new MatchScheduler(null, new SimpleMeterRegistry(), 1, 100, 0, new int[]{1, 1, 1, 1});
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> blocker = scheduler.submit(priority(UrgencyLevel.URGENT, 0), () -> await(release));
+
+        LocalDateTime now = LocalDateTime.of(2026, 11, 1, 12, 0);
+        List<String> order = new CopyOnWriteArrayList<>();
+        CompletableFuture<?>[] work = {
+                scheduler.submit(new MatchScheduler.Priority(UrgencyLevel.LOW, now), () -> order.add("low")),
+                scheduler.submit(new MatchScheduler.Priority(UrgencyLevel.HIGH, now), () -> order.add("high-new")),
+                scheduler.submit(new MatchScheduler.Priority(UrgencyLevel.URGENT, now), () -> order.add("urgent")),
+                scheduler.submit(new MatchScheduler.Priority(UrgencyLevel.HIGH, now.minusDays(2)), () -> order.add("high-old")),
+                scheduler.submit(new MatchScheduler.Priority(UrgencyLevel.NORMAL, now), () -> order.add("normal"))
+        };
+        release.countDown();
+        CompletableFuture.allOf(work).get(5, TimeUnit.SECONDS);
+
+        assertThat(blocker).isDone();
+        assertThat(order).containsExactly("urgent", "high-old", "high-new", "normal", "low");
+    }
+
+    @Test
+    void lowPriorityWorkCannotTakeTheWorkersReservedForUrgentJobs() throws Exception {
+        scheduler = new MatchScheduler(null, new SimpleMeterRegistry(), 2, 100, 0, new int[]{1, 1, 1, 2});
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.submit(priority(UrgencyLevel.LOW, 0), () -> {
+            started.countDown();
+            return await(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Object> secondLow = scheduler.submit(priority(UrgencyLevel.LOW, 1), () -> "low");
+
+        // The second worker stays free for urgent work while the LOW cap holds the other LOW run back
+        assertThat(scheduler.submit(priority(UrgencyLevel.URGENT, 2), () -> "urgent").get(5, TimeUnit.SECONDS))
+                .isEqualTo("urgent");
+        assertThat(secondLow).isNotDone();
+
+        release.countDown();
+        assertThat(secondLow.get(5, TimeUnit.SECONDS)).isEqualTo("low");
+    }
+
+    @Test
+    void workWaitingLongestIsLiftedAheadOfOlderJobsQueuedAfterIt() throws Exception {
+        scheduler = new MatchScheduler(null, new SimpleMeterRegistry(), 1, 100, 50, new int[]{1, 1, 1, 1});
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.submit(priority(UrgencyLevel.URGENT, 0), () -> {
+            started.countDown();
+            return await(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        // No job age, so it sorts behind every LOW job, but it was queued first
+        CompletableFuture<?> bulk = scheduler.submit(MatchScheduler.Priority.BULK, () -> order.add("bulk"));
+        Thread.sleep(200);
+        CompletableFuture<?>[] work = {
+                bulk,
+                scheduler.submit(priority(UrgencyLevel.NORMAL, 0), () -> order.add("normal")),
+                scheduler.submit(priority(UrgencyLevel.LOW, 30), () -> order.add("low-old"))
+        };
+        release.countDown();
+        CompletableFuture.allOf(work).get(5, TimeUnit.SECONDS);
+
+        assertThat(order).containsExactly("bulk", "normal", "low-old");
+    }
+
+    @Test
+    void withoutAgingOlderJobsStayAheadOfBulkWork() throws Exception {
+        scheduler = new MatchScheduler(null, new SimpleMeterRegistry(), 1, 100, 0, new int[]{1, 1, 1, 1});
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.submit(priority(UrgencyLevel.URGENT, 0), () -> {
+            started.countDown();
+            return await(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        CompletableFuture<?>[] work = {
+                scheduler.submit(MatchScheduler.Priority.BULK, () -> order.add("bulk")),
+                scheduler.submit(priority(UrgencyLevel.LOW, 30), () -> order.add("low-old"))
+        };
+        Thread.sleep(100);
+        release.countDown();
+        CompletableFuture.allOf(work).get(5, TimeUnit.SECONDS);
+
+        assertThat(order).containsExactly("low-old", "bulk");
+    }
+
+    private static MatchScheduler.Priority priority(UrgencyLevel urgency, int ageDays) {
+        return new MatchScheduler.Priority(urgency, LocalDateTime.of(2026, 11, 1, 12, 0).minusDays(ageDays));
+    }
+
+    private static Object await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
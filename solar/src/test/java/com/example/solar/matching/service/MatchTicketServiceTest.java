@@ -0,0 +1,139 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.common.exception.ResourceNotFoundException;
+import com.example.solar.matching.domain.MatchTicketStatus;
+import com.example.solar.matching.dto.MatchDto;
+import com.example.solar.matching.dto.MatchRequest;
+import com.example.solar.matching.dto.MatchTicketDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MatchTicketServiceTest {
+
+    private final MatchService matchService = mock(MatchService.class);
+    private final MatchScheduler matchScheduler = mock(MatchScheduler.class);
+
+    // Work handed to the scheduler, run by the test when it chooses
+    private final List<Supplier<?>> queued = new ArrayList<>();
+
+    MatchTicketServiceTest() {
+        when(matchScheduler.submit(any(), any())).thenAnswer(invocation -> {
+            queued.add(invocation.getArgument(1));
+            return null;
+        });
+    }
+
+    @Test
+    void identicalRequestsJoinTheTicketInFlight() {
+        MatchTicketService service = new MatchTicketService(matchService, matchScheduler, 600, 100);
+        List<MatchDto> matches = List.of(MatchDto.builder().id(7L).build());
+        when(matchService.findMatches(request(1L, 10))).thenReturn(matches);
+
+        MatchTicketDto first = service.submit(request(1L, 10));
+        MatchTicketDto second = service.submit(request(1L, 10));
+        MatchTicketDto otherCriteria = service.submit(request(1L, 20));
+
+        assertThat(second.getTicketId()).isEqualTo(first.getTicketId());
+        assertThat(otherCriteria.getTicketId()).isNotEqualTo(first.getTicketId());
+        assertThat(first.getStatus()).isEqualTo(MatchTicketStatus.PENDING);
+        assertThat(queued).hasSize(2);
+
+        queued.get(0).get();
+        MatchTicketDto done = service.getTicket(first.getTicketId());
+        assertThat(done.getStatus()).isEqualTo(MatchTicketStatus.COMPLETED);
+        assertThat(done.getMatches()).isEqualTo(matches);
+        assertThat(service.whenDone(first.getTicketId())).isCompleted();
+
+        // Once finished, the same request starts a new run
+        MatchTicketDto again = service.submit(request(1L, 10));
+        assertThat(again.getTicketId()).isNotEqualTo(first.getTicketId());
+        assertThat(queued).hasSize(3);
+    }
+
+    @Test
+    void failedRunsAreReportedOnTheTicket() {
+        MatchTicketService service = new MatchTicketService(matchService, matchScheduler, 600, 100);
+        when(matchService.findMatches(any())).thenThrow(new IllegalStateException("boom"));
+
+        MatchTicketDto ticket = service.submit(request(1L, 10));
+        queued.get(0).get();
+
+        MatchTicketDto failed = service.getTicket(ticket.getTicketId());
+        assertThat(failed.getStatus()).isEqualTo(MatchTicketStatus.FAILED);
+        assertThat(failed.getError()).isEqualTo("boom");
+    }
+
+    @Test
+    void rejectsNewTicketsAtTheLimit() throws Exception {
+        MatchTicketService service = new MatchTicketService(matchService, matchScheduler, 0, 2);
+        when(matchService.findMatches(any())).thenReturn(List.of());
+        service.submit(request(1L, 10));
+        service.submit(request(2L, 10));
+
+        assertThatThrownBy(() -> service.submit(request(3L, 10))).isInstanceOf(TaskRejectedException.class);
+        // Joining an in-flight ticket needs no new slot
+        assertThat(service.submit(request(1L, 10))).isNotNull();
+        verify(matchScheduler, times(2)).submit(any(), any());
+
+        // The rejected request was not left in flight: it queues once an expired ticket frees a slot
+        queued.get(0).get();
+        Thread.sleep(1);
+        service.submit(request(3L, 10));
+        assertThat(queued).hasSize(3);
+    }
+
+    @Test
+    void schedulerRejectionLeavesNoTicketBehind() {
+        MatchTicketService service = new MatchTicketService(matchService, matchScheduler, 600, 100);
+        when(matchScheduler.submit(any(), any())).thenThrow(new TaskRejectedException("queue full"));
+
+        assertThatThrownBy(() -> service.submit(request(1L, 10))).isInstanceOf(TaskRejectedException.class);
+        assertThatThrownBy(() -> service.submit(request(1L, 10))).isInstanceOf(TaskRejectedException.class);
+        verify(matchScheduler, times(2)).submit(any(), any());
+    }
+
+    @Test
+    void finishedTicketsExpireAfterTheRetentionPeriod() throws Exception {
+        MatchTicketService service = new MatchTicketService(matchService, matchScheduler, 0, 100);
+        when(matchService.findMatches(any())).thenReturn(List.of());
+
+        MatchTicketDto finished = service.submit(request(1L, 10));
+        MatchTicketDto pending = service.submit(request(2L, 10));
+        queued.get(0).get();
+        Thread.sleep(1);
+
+        // Expired tickets are purged on the next submit; unfinished ones are kept however old
+        service.submit(request(3L, 10));
+        assertThatThrownBy(() -> service.getTicket(finished.getTicketId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(service.getTicket(pending.getTicketId()).getStatus()).isEqualTo(MatchTicketStatus.PENDING);
+    }
+
+    @Test
+    void finishedTicketsAreKeptWithinTheRetentionPeriod() {
+        MatchTicketService service = new MatchTicketService(matchService, matchScheduler, 600, 100);
+        when(matchService.findMatches(any())).thenReturn(List.of());
+
+        MatchTicketDto finished = service.submit(request(1L, 10));
+        queued.get(0).get();
+        service.submit(request(2L, 10));
+
+        assertThat(service.getTicket(finished.getTicketId()).getStatus()).isEqualTo(MatchTicketStatus.COMPLETED);
+    }
+
+    private static MatchRequest request(Long jobId, int maxMatches) {
+        return MatchRequest.builder().jobId(jobId).maxMatches(maxMatches).build();
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.job.domain.Job;
+import com.example.solar.job.domain.JobType;
+import com.example.solar.matching.domain.MatchCriteria;
+import com.example.solar.matching.dto.MatchScoreBreakdown;
+import com.example.solar.professional.domain.AvailabilitySlot;
+import com.example.solar.professional.domain.Professional;
+import com.example.solar.professional.domain.ProfessionalExpertise;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchingEngineTest {
+
+    private static final LocalDate PREFERRED = LocalDate.of(2026, 11, 10);
+
+    private final MatchingEngine engine = new MatchingEngine();
+    private final MatchCriteria criteria = MatchCriteria.builder().build();
+
+    @Test
+    void scoresEveryDimensionForAStrongCandidate() {
+        Job job = job(JobType.INSTALLATION, PREFERRED, new BigDecimal("3000"));
+        Professional professional = professional(1L, new BigDecimal("100"), new BigDecimal("4.50"), 30);
+        professional.addExpertise(expertise("PANEL_INSTALLATION", 6, "NABCEP"));
+        professional.addAvailabilitySlot(slot(PREFERRED, false));
+        professional.addAvailabilitySlot(slot(PREFERRED.plusDays(1), true));
+        professional.addAvailabilitySlot(slot(PREFERRED.plusDays(2), false));
+
+        MatchScoreBreakdown breakdown = engine.calculateMatchScore(professional, job, criteria);
+
+        assertThat(breakdown.getDistanceScore()).isEqualByComparingTo("100");
+        assertThat(breakdown.getExpertiseScore()).isEqualByComparingTo("88");
+        assertThat(breakdown.getAvailabilityScore()).isEqualByComparingTo("70");
+        assertThat(breakdown.getRatingScore()).isEqualByComparingTo("100");
+        assertThat(breakdown.getPriceScore()).isEqualByComparingTo("100");
+        assertThat(breakdown.getTotalScore()).isEqualByComparingTo("91.00");
+        assertThat(breakdown.getExpertiseReason()).isEqualTo("Direct expertise match for INSTALLATION");
+        assertThat(breakdown.getAvailabilityReason()).isEqualTo("Available on preferred date (2026-11-10)");
+        assertThat(breakdown.getRatingReason()).isEqualTo("4.5 star rating based on 30 completed jobs");
+        assertThat(breakdown.getPriceReason()).isEqualTo("Well within budget");
+    }
+
+    @Test
+    void givesPartialCreditForRelatedExpertiseAndNeutralScoresForNewProfessionals() {
+        Job job = job(JobType.INSTALLATION, null, null);
+        Professional professional = professional(2L, null, BigDecimal.ZERO, 0);
+        professional.addExpertise(expertise("UPGRADE", 10, null));
+        professional.addAvailabilitySlot(slot(PREFERRED, false));
+
+        MatchScoreBreakdown breakdown = engine.calculateMatchScore(professional, job, criteria);
+
+        assertThat(breakdown.getExpertiseScore()).isEqualByComparingTo("25");
+        assertThat(breakdown.getAvailabilityScore()).isEqualByComparingTo("70");
+        assertThat(breakdown.getRatingScore()).isEqualByComparingTo("50");
+        assertThat(breakdown.getPriceScore()).isEqualByComparingTo("50");
+        assertThat(breakdown.getExpertiseReason()).isEqualTo("Related expertise in solar systems");
+        assertThat(breakdown.getRatingReason()).isEqualTo("New professional - no reviews yet");
+        assertThat(breakdown.getPriceReason()).isEqualTo("Rate to be negotiated");
+    }
+
+    @Test
+    void flexibilityBonusAppliesOnlyWithoutAPreferredDateSlot() {
+        Job job = job(JobType.REPAIR, PREFERRED, null);
+        Professional professional = professional(3L, new BigDecimal("40"), new BigDecimal("3.00"), 4);
+        professional.addExpertise(expertise("MAINTENANCE", 2, "cert"));
+        professional.addAvailabilitySlot(slot(PREFERRED.minusDays(7), false));
+        professional.addAvailabilitySlot(slot(PREFERRED.plusDays(30), false));
+
+        MatchScoreBreakdown breakdown = engine.calculateMatchScore(professional, job, criteria);
+
+        // 2 free slots (10) + nearby slot within 7 days (10); related expertise earns no years or certification
+        assertThat(breakdown.getAvailabilityScore()).isEqualByComparingTo("20");
+        assertThat(breakdown.getExpertiseScore()).isEqualByComparingTo("25");
+        assertThat(breakdown.getRatingScore()).isEqualByComparingTo("62");
+        assertThat(breakdown.getPriceScore()).isEqualByComparingTo("100");
+        assertThat(breakdown.getAvailabilityReason()).isEqualTo("Available for alternative dates");
+    }
+
+    @Test
+    void snapshotRowsScoreLikeTheirEntities() {
+        Job job = job(JobType.MAINTENANCE, PREFERRED, new BigDecimal("1500"));
+        Professional first = professional(10L, new BigDecimal("70"), new BigDecimal("4.10"), 8);
+        first.addExpertise(expertise("maintenance", 4, null));
+        first.addAvailabilitySlot(slot(PREFERRED.plusDays(3), false));
+        Professional second = professional(11L, new BigDecimal("55"), new BigDecimal("3.75"), 50);
+        second.addExpertise(expertise("INSPECTION", 12, "cert"));
+
+        CandidateSnapshot snapshot = CandidateSnapshot.build(List.of(row(second), row(first)));
+        JobScoringContext context = JobScoringContext.of(job);
+
+        for (Professional professional : List.of(first, second)) {
+            int row = snapshot.rowOf(professional.getId());
+            assertThat(engine.calculateMatchScore(snapshot, row, context, criteria))
+                    .isEqualTo(engine.calculateMatchScore(professional, job, criteria));
+        }
+    }
+
+    @Test
+    void plansAreSharedPerWeightsAndSkipZeroWeightDimensions() {
+        MatchCriteria noPrice = MatchCriteria.builder().ratingWeight(25.0).priceWeight(0.0).build();
+        assertThat(engine.planFor(criteria)).isSameAs(engine.planFor(MatchCriteria.builder().build()));
+        assertThat(engine.planFor(noPrice)).isNotSameAs(engine.planFor(criteria));
+        assertThat(engine.planFor(noPrice).activeDimensions()).isEqualTo(4);
+        assertThat(engine.planFor(noPrice).maxTotal()).isEqualTo(100.0);
+
+        Job job = job(JobType.INSTALLATION, PREFERRED, new BigDecimal("500"));
+        Professional professional = professional(12L, new BigDecimal("90"), new BigDecimal("4.00"), 12);
+        professional.addExpertise(expertise("PANEL_INSTALLATION", 3, null));
+        CandidateSnapshot snapshot = CandidateSnapshot.build(List.of(row(professional)));
+        JobScoringContext context = JobScoringContext.of(job);
+
+        MatchScoreBreakdown breakdown = engine.calculateMatchScore(snapshot, 0, context, noPrice);
+        assertThat(breakdown.getPriceScore()).isEqualByComparingTo("20"); // Still explained
+        assertThat(engine.planFor(noPrice).totalScore(snapshot, 0, context, Double.NEGATIVE_INFINITY))
+                .isEqualTo(breakdown.getTotalScore().doubleValue());
+        assertThat(engine.planFor(noPrice).totalScore(snapshot, 0, context, 100.5)).isEqualTo(MatchingEngine.PRUNED);
+    }
+
+    @Test
+    void negativeWeightsNeverPruneACandidateThatReachesTheThreshold() {
+        Job job = job(JobType.INSTALLATION, PREFERRED, new BigDecimal("3000"));
+        Professional professional = professional(13L, new BigDecimal("100"), new BigDecimal("4.50"), 30);
+        professional.addExpertise(expertise("PANEL_INSTALLATION", 6, "NABCEP"));
+        professional.addAvailabilitySlot(slot(PREFERRED, false));
+        CandidateSnapshot snapshot = CandidateSnapshot.build(List.of(row(professional)));
+        JobScoringContext context = JobScoringContext.of(job);
+
+        List<MatchCriteria> penalised = List.of(
+                MatchCriteria.builder().distanceWeight(-30.0).build(),
+                MatchCriteria.builder().expertiseWeight(-30.0).build(),
+                MatchCriteria.builder().availabilityWeight(-30.0).build(),
+                MatchCriteria.builder().ratingWeight(-30.0).build(),
+                MatchCriteria.builder().priceWeight(-30.0).build());
+        for (MatchCriteria weights : penalised) {
+            ScoringPlan plan = engine.planFor(weights);
+            double total = engine.calculateMatchScore(snapshot, 0, context, weights).getTotalScore().doubleValue();
+
+            assertThat(plan.totalScore(snapshot, 0, context, Double.NEGATIVE_INFINITY)).isEqualTo(total);
+            assertThat(plan.totalScore(snapshot, 0, context, total)).as("%s", weights).isEqualTo(total);
+            assertThat(plan.maxTotal()).isGreaterThanOrEqualTo(total);
+        }
+    }
+
+    private static CandidateSnapshot.Row row(Professional professional) {
+        CandidateSnapshot.Row row = new CandidateSnapshot.Row(professional.getId())
+                .profile(professional.getLatitude(), professional.getLongitude(), professional.getServiceRadiusKm(),
+                        professional.getHourlyRate(), professional.getRating(),
+                        professional.getTotalJobsCompleted(), professional.getIsVerified());
+        professional.getExpertiseList().forEach(e ->
+                row.addExpertise(e.getExpertiseType(), e.getYearsExperience(), e.getCertificationName()));
+        professional.getAvailabilitySlots().forEach(s -> row.addSlot(s.getDate(), s.getIsBooked()));
+        return row;
+    }
+
+    private static Job job(JobType type, LocalDate preferredDate, BigDecimal budgetMax) {
+        return Job.builder()
+                .id(100L)
+                .jobType(type)
+                .latitude(new BigDecimal("6.52440000"))
+                .longitude(new BigDecimal("3.37920000"))
+                .preferredDate(preferredDate)
+                .budgetMax(budgetMax)
+                .build();
+    }
+
+    private static Professional professional(Long id, BigDecimal hourlyRate, BigDecimal rating, int jobs) {
+        return Professional.builder()
+                .id(id)
+                .latitude(new BigDecimal("6.52440000"))
+                .longitude(new BigDecimal("3.37920000"))
+                .serviceRadiusKm(50)
+                .hourlyRate(hourlyRate)
+                .rating(rating)
+                .totalJobsCompleted(jobs)
+                .isVerified(true)
+                .build();
+    }
+
+    private static ProfessionalExpertise expertise(String type, Integer years, String certification) {
+        return ProfessionalExpertise.builder()
+                .expertiseType(type)
+                .yearsExperience(years)
+                .certificationName(certification)
+                .build();
+    }
+
+    private static AvailabilitySlot slot(LocalDate date, boolean booked) {
+        return AvailabilitySlot.builder()
+                .date(date)
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(17, 0))
+                .isBooked(booked)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.job.domain.Job;
+import com.example.solar.job.domain.JobChangedEvent;
+import com.example.solar.job.domain.JobStatus;
+import com.example.solar.job.domain.JobType;
+import com.example.solar.job.repository.JobRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OpenJobIndexTest {
+
+    private final JobRepository repository = mock(JobRepository.class);
+
+    @Test
+    void findsOpenJobsAroundTheProfessionalAcrossTheAntimeridian() {
+        when(repository.findOpenJobs()).thenReturn(List.of(
+                job(1L, 6.5244, 3.3792, JobStatus.PENDING),   // Lagos
+                job(2L, 9.0765, 7.3986, JobStatus.MATCHED),   // Abuja
+                job(3L, 0.50, 179.95, JobStatus.PENDING),
+                job(4L, 0.51, -179.95, JobStatus.PENDING)));
+        OpenJobIndex index = new OpenJobIndex(repository, 0.5);
+
+        assertThat(index.findNear(6.45, 3.40, 30).stream().map(OpenJobIndex.OpenJob::jobId)).containsExactly(1L);
+        assertThat(index.findNear(0.5, -179.9, 40).stream().map(OpenJobIndex.OpenJob::jobId)).containsExactly(3L, 4L);
+        // Larger than the occupied cells: answered by scanning the jobs
+        assertThat(index.findNear(7.5, 5.0, 2000).stream().map(OpenJobIndex.OpenJob::jobId)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void jobsLeaveTheIndexWhenTheyAreNoLongerOpen() {
+        Job lagos = job(1L, 6.5244, 3.3792, JobStatus.PENDING);
+        when(repository.findOpenJobs()).thenReturn(List.of(lagos));
+        OpenJobIndex index = new OpenJobIndex(repository, 0.5);
+        index.rebuild();
+
+        lagos.setStatus(JobStatus.IN_PROGRESS);
+        when(repository.findById(1L)).thenReturn(Optional.of(lagos));
+        index.onJobChanged(new JobChangedEvent(1L, JobChangedEvent.ChangeType.STATUS_CHANGED));
+        assertThat(index.findNear(6.5244, 3.3792, 10)).isEmpty();
+
+        Job created = job(2L, 6.53, 3.38, JobStatus.PENDING);
+        when(repository.findById(2L)).thenReturn(Optional.of(created));
+        index.onJobChanged(new JobChangedEvent(2L, JobChangedEvent.ChangeType.CREATED));
+        assertThat(index.findNear(6.5244, 3.3792, 10).stream().map(OpenJobIndex.OpenJob::jobId)).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void changesCommittedWhileTheFirstLoadRunsAreNotLost() throws Exception {
+        Job lagos = job(1L, 6.5244, 3.3792, JobStatus.PENDING);
+        OpenJobIndex index = new OpenJobIndex(repository, 0.5);
+        Thread listener = new Thread(() ->
+                index.onJobChanged(new JobChangedEvent(1L, JobChangedEvent.ChangeType.CREATED)));
+        when(repository.findById(1L)).thenReturn(Optional.of(lagos));
+        // The load reads the table before the job commits; its event is delivered while the load runs
+        when(repository.findOpenJobs()).thenAnswer(invocation -> {
+            listener.start();
+            while (listener.getState() != Thread.State.BLOCKED && listener.isAlive()) {
+                Thread.onSpinWait();
+            }
+            return List.of();
+        });
+
+        index.rebuild();
+        listener.join(5000);
+
+        assertThat(index.findNear(6.5244, 3.3792, 10).stream().map(OpenJobIndex.OpenJob::jobId)).containsExactly(1L);
+    }
+
+    private static Job job(Long id, double latitude, double longitude, JobStatus status) {
+        Job job = new Job();
+        job.setId(id);
+        job.setJobType(JobType.INSTALLATION);
+        job.setTitle("Job " + id);
+        job.setStatus(status);
+        job.setLatitude(BigDecimal.valueOf(latitude));
+        job.setLongitude(BigDecimal.valueOf(longitude));
+        return job;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.common.exception.ServiceUnavailableException;
+import com.example.solar.professional.domain.ProfessionalChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ProfessionalChangeRelayTest {
+
+    private static final String NODES =
+            "node-1=http://localhost:8081,node-2=http://localhost:8082,node-3=http://localhost:8083";
+    private static final ProfessionalChangedEvent MOVED =
+            new ProfessionalChangedEvent(7L, ProfessionalChangedEvent.ChangeType.UPDATED);
+
+    private final ShardClient shardClient = mock(ShardClient.class);
+    private final CandidateSnapshotService candidateSnapshotService = mock(CandidateSnapshotService.class);
+    private final ProfessionalGeoIndex professionalGeoIndex = mock(ProfessionalGeoIndex.class);
+    private final MatchRescoringService matchRescoringService = mock(MatchRescoringService.class);
+
+    @Test
+    void relaysEveryChangeToTheOtherNodes() {
+        doThrow(new ServiceUnavailableException("Matching node node-2 is unavailable: refused"))
+                .when(shardClient).relayProfessionalChange(eq("node-2"), any());
+
+        relay(new ShardMap(true, "node-1", NODES, 2.0, 200)).onProfessionalChanged(MOVED);
+
+        // An unreachable node does not keep the others from hearing about it
+        verify(shardClient).relayProfessionalChange("node-2", MOVED);
+        verify(shardClient).relayProfessionalChange("node-3", MOVED);
+        verify(shardClient, never()).relayProfessionalChange(eq("node-1"), any());
+    }
+
+    @Test
+    void singleNodeRelaysNothing() {
+        relay(ShardMap.singleNode()).onProfessionalChanged(MOVED);
+
+        verify(shardClient, never()).relayProfessionalChange(anyString(), any());
+    }
+
+    @Test
+    void relayedChangesRefreshTheSnapshotBeforeTheIndexAndTheMatches() {
+        relay(new ShardMap(true, "node-2", NODES, 2.0, 200)).applyRelayed(MOVED);
+
+        InOrder order = inOrder(candidateSnapshotService, professionalGeoIndex, matchRescoringService);
+        order.verify(candidateSnapshotService).onProfessionalChanged(MOVED);
+        order.verify(professionalGeoIndex).onProfessionalChanged(MOVED);
+        order.verify(matchRescoringService).onProfessionalChanged(MOVED);
+        verify(shardClient, never()).relayProfessionalChange(anyString(), any());
+    }
+
+    private ProfessionalChangeRelay relay(ShardMap shardMap) {
+        return new ProfessionalChangeRelay(shardMap, shardClient, candidateSnapshotService, professionalGeoIndex,
+                matchRescoringService, new SyncTaskExecutor());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.professional.dto.ProfessionalLocationView;
+import com.example.solar.professional.repository.ProfessionalRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProfessionalGeoIndexTest {
+
+    private final ProfessionalRepository repository = mock(ProfessionalRepository.class);
+
+    @Test
+    void returnsOnlyProfessionalsWhoseRadiusCoversTheJob() {
+        when(repository.findAllLocations()).thenReturn(List.of(
+                location(1L, 6.5244, 3.3792, 50, true),     // Lagos
+                location(2L, 6.6000, 3.3500, 5, true),      // ~9km away, radius too small
+                location(3L, 9.0765, 7.3986, 50, true),     // Abuja
+                location(4L, 6.4500, 3.4000, 30, false)));  // unverified, in range
+        ProfessionalGeoIndex index = new ProfessionalGeoIndex(repository, 0.5, 4096);
+
+        long[] verified = index.findCandidateIds(BigDecimal.valueOf(6.5244), BigDecimal.valueOf(3.3792), true);
+        long[] all = index.findCandidateIds(BigDecimal.valueOf(6.5244), BigDecimal.valueOf(3.3792), false);
+
+        assertThat(verified).containsExactly(1L);
+        assertThat(all).containsExactly(1L, 4L);
+    }
+
+    @Test
+    void findsProfessionalsAcrossCellBordersAndTheAntimeridian() {
+        when(repository.findAllLocations()).thenReturn(List.of(
+                location(1L, 0.49, 179.9, 40, true),
+                location(2L, 0.51, -179.95, 40, true)));
+        ProfessionalGeoIndex index = new ProfessionalGeoIndex(repository, 0.5, 4096);
+
+        assertThat(index.findCandidateIds(BigDecimal.valueOf(0.5), BigDecimal.valueOf(-179.9), true))
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    void movingAProfessionalUpdatesTheirCells() {
+        when(repository.findAllLocations()).thenReturn(List.of(location(1L, 6.5244, 3.3792, 20, true)));
+        ProfessionalGeoIndex index = new ProfessionalGeoIndex(repository, 0.5, 4096);
+        index.rebuild();
+
+        index.put(location(1L, 9.0765, 7.3986, 20, true));
+
+        assertThat(index.findCandidateIds(BigDecimal.valueOf(6.5244), BigDecimal.valueOf(3.3792), true)).isEmpty();
+        assertThat(index.findCandidateIds(BigDecimal.valueOf(9.08), BigDecimal.valueOf(7.40), true)).containsExactly(1L);
+    }
+
+    @Test
+    void versionsOnlyChangeWhereTheProfessionalWasOrIs() {
+        when(repository.findAllLocations()).thenReturn(List.of(
+                location(1L, 6.5244, 3.3792, 20, true),
+                location(2L, -1.2921, 36.8219, 20, true)));   // Nairobi, never touched
+        ProfessionalGeoIndex index = new ProfessionalGeoIndex(repository, 0.5, 4096);
+        long lagos = index.versionAt(6.5244, 3.3792);
+        long abuja = index.versionAt(9.0765, 7.3986);
+        long nairobi = index.versionAt(-1.2921, 36.8219);
+
+        index.put(location(1L, 9.0765, 7.3986, 20, true));
+
+        assertThat(index.versionAt(6.5244, 3.3792)).isGreaterThan(lagos);
+        assertThat(index.versionAt(9.0765, 7.3986)).isGreaterThan(abuja);
+        assertThat(index.versionAt(-1.2921, 36.8219)).isEqualTo(nairobi);
+    }
+
+    @Test
+    void agreesWithTheScorersCoverageRuleOnTheRadiusBoundary() {
+        double jobLat = 6.5244;
+        double jobLon = 3.3792;
+        int radiusKm = 25;
+        double boundaryLat = jobLat + Math.toDegrees(radiusKm / 6371.0);
+        List<ProfessionalLocationView> locations = new ArrayList<>();
+        List<CandidateSnapshot.Row> rows = new ArrayList<>();
+        // Enough members for the vector kernel, each well inside its 1 mm tolerance of the radius
+        for (long id = 1; id <= 40; id++) {
+            double lat = boundaryLat + (id - 20) * 1e-10;
+            locations.add(location(id, lat, jobLon, radiusKm, true));
+            rows.add(new CandidateSnapshot.Row(id).profile(BigDecimal.valueOf(lat), BigDecimal.valueOf(jobLon),
+                    radiusKm, null, null, 0, true));
+        }
+        when(repository.findAllLocations()).thenReturn(locations);
+        ProfessionalGeoIndex index = new ProfessionalGeoIndex(repository, 0.5, 4096);
+        CandidateSnapshot snapshot = CandidateSnapshot.build(rows);
+        JobScoringContext job = new JobScoringContext(1L, jobLat, jobLon, null, null, 0L, Double.NaN);
+
+        List<Long> covering = new ArrayList<>();
+        for (int row = 0; row < snapshot.size(); row++) {
+            if (DistanceScorer.covers(snapshot, row, job)) {
+                covering.add(snapshot.id(row));
+            }
+        }
+
+        assertThat(covering).isNotEmpty().hasSizeLessThan(40);
+        assertThat(index.findCandidateIds(BigDecimal.valueOf(jobLat), BigDecimal.valueOf(jobLon), true))
+                .containsExactly(covering.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    private static ProfessionalLocationView location(Long id, double lat, double lon, int radius, boolean verified) {
+        return new ProfessionalLocationView() {
+            public Long getId() { return id; }
+            public BigDecimal getLatitude() { return BigDecimal.valueOf(lat); }
+            public BigDecimal getLongitude() { return BigDecimal.valueOf(lon); }
+            public Integer getServiceRadiusKm() { return radius; }
+            public Boolean getIsVerified() { return verified; }
+        };
+    }
+}
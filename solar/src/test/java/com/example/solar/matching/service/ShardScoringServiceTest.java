@@ -0,0 +1,220 @@
+package com.example.solar.matching.service;
+
+import com.example.solar.common.exception.ServiceUnavailableException;
+import com.example.solar.job.domain.JobType;
+import com.example.solar.matching.domain.MatchCriteria;
+import com.example.solar.matching.dto.ShardCandidateDto;
+import com.example.solar.matching.dto.ShardScoreRequest;
+import com.example.solar.professional.dto.ProfessionalLocationView;
+import com.example.solar.professional.repository.ProfessionalRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ShardScoringServiceTest {
+
+    private static final String NODES = "node-1=http://localhost:8081,node-2=http://localhost:8082";
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void everyCellHasOneOwnerAndANewNodeOnlyTakesCellsOver() {
+        ShardMap two = new ShardMap(true, "node-1", NODES, 2.0, 200);
+        ShardMap three = new ShardMap(true, "node-1", NODES + ",node-3=http://localhost:8083", 2.0, 200);
+
+        int owned = 0;
+        for (double lat = -60; lat <= 60; lat += 2) {
+            for (double lon = -180; lon < 180; lon += 2) {
+                String before = two.ownerOf(lat, lon);
+                String after = three.ownerOf(lat, lon);
+                assertThat(after).isIn(before, "node-3");
+                assertThat(two.nodesReaching(lat, lon)).contains(before);
+                owned += before.equals("node-1") ? 1 : 0;
+            }
+        }
+        assertThat(owned).isBetween(3000, 8000); // Roughly half of the 61 x 180 cells
+    }
+
+    @Test
+    void scatterGatherSelectsWhatASingleNodeWould() {
+        LocalDate today = LocalDate.of(2026, 11, 1);
+        List<CandidateSnapshot.Row> rows = randomRows(3000, today);
+        MatchCriteria criteria = MatchCriteria.builder().maxMatches(15).minimumMatchScore(40.0).build();
+        JobScoringContext job = new JobScoringContext(7L, 7.0, 4.0, JobType.MAINTENANCE,
+                today.plusDays(5), today.plusDays(5).toEpochDay(), 4000.0);
+
+        List<ShardCandidateDto> single = node(ShardMap.singleNode(), rows, null).scatterGather(job, criteria);
+
+        ShardMap map1 = new ShardMap(true, "node-1", NODES, 2.0, 200);
+        ShardMap map2 = new ShardMap(true, "node-2", NODES, 2.0, 200);
+        assertThat(map1.nodesReaching(job.latitude(), job.longitude())).containsExactly("node-1", "node-2");
+        ShardScoringService node2 = node(map2, rows, null);
+        ShardClient client = mock(ShardClient.class);
+        when(client.score(eq("node-2"), any(ShardScoreRequest.class)))
+                .thenAnswer(invocation -> node2.scoreLocal(invocation.getArgument(1, ShardScoreRequest.class)));
+        List<ShardCandidateDto> sharded = node(map1, rows, client).scatterGather(job, criteria);
+
+        assertThat(single).hasSize(15);
+        assertThat(sharded).isEqualTo(single);
+        assertThat(sharded).anyMatch(candidate -> map1.ownerOf(latitude(rows, candidate), longitude(rows, candidate)).equals("node-1"))
+                .anyMatch(candidate -> map1.ownerOf(latitude(rows, candidate), longitude(rows, candidate)).equals("node-2"));
+    }
+
+    @Test
+    void batchesSendEveryShardRequestBeforeAwaitingAny() throws Exception {
+        LocalDate today = LocalDate.of(2026, 11, 1);
+        List<CandidateSnapshot.Row> rows = randomRows(3000, today);
+        MatchCriteria criteria = MatchCriteria.builder().maxMatches(10).minimumMatchScore(40.0).build();
+        List<JobScoringContext> jobs = List.of(
+                new JobScoringContext(1L, 7.0, 4.0, JobType.MAINTENANCE, today.plusDays(5), today.plusDays(5).toEpochDay(), 4000.0),
+                new JobScoringContext(2L, 6.5, 3.5, JobType.INSTALLATION, null, 0L, Double.NaN),
+                new JobScoringContext(3L, 7.5, 4.5, JobType.REPAIR, today.plusDays(2), today.plusDays(2).toEpochDay(), 900.0));
+        ShardScoringService single = node(ShardMap.singleNode(), rows, null);
+
+        ShardMap map1 = new ShardMap(true, "node-1", NODES, 2.0, 200);
+        ShardScoringService node2 = node(new ShardMap(true, "node-2", NODES, 2.0, 200), rows, null);
+        // Each answer waits until all three requests have arrived: serial requests would time out
+        CountDownLatch arrived = new CountDownLatch(jobs.size());
+        ShardClient client = mock(ShardClient.class);
+        when(client.score(eq("node-2"), any(ShardScoreRequest.class))).thenAnswer(invocation -> {
+            arrived.countDown();
+            if (!arrived.await(5, TimeUnit.SECONDS)) {
+                throw new ServiceUnavailableException("Requests were sent one at a time");
+            }
+            return node2.scoreLocal(invocation.getArgument(1, ShardScoreRequest.class));
+        });
+        ExecutorService requests = Executors.newFixedThreadPool(jobs.size());
+        try {
+            Map<Long, List<ShardCandidateDto>> sharded = node(map1, rows, client, requests::execute)
+                    .scatterGatherAll(jobs, criteria);
+
+            for (JobScoringContext job : jobs) {
+                assertThat(map1.nodesReaching(job.latitude(), job.longitude())).contains("node-2");
+                assertThat(sharded.get(job.jobId())).isEqualTo(single.scatterGather(job, criteria));
+            }
+        } finally {
+            requests.shutdownNow();
+        }
+    }
+
+    @Test
+    void serviceRadiiBeyondTheReachAreMatchedWithinIt() {
+        ShardMap map = new ShardMap(true, "node-1", NODES, 2.0, 200);
+        assertThat(map.effectiveRadiusKm(500)).isEqualTo(200);
+        assertThat(map.effectiveRadiusKm(80)).isEqualTo(80);
+        assertThat(map.effectiveRadiusKm(null)).isNull();
+        assertThat(ShardMap.singleNode().effectiveRadiusKm(500)).isEqualTo(500);
+        assertThatThrownBy(() -> new ShardMap(true, "node-1", NODES, 2.0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        double lat = 9.0;
+        double lon = 1.0;
+        while (!map.ownerOf(lat, lon).equals("node-1")) {
+            lon += 2.0;
+        }
+        ProfessionalRepository repository = mock(ProfessionalRepository.class);
+        when(repository.findAllLocations()).thenReturn(List.of(
+                location(1L, BigDecimal.valueOf(lat), BigDecimal.valueOf(lon), 500, true)));
+        ProfessionalGeoIndex index = new ProfessionalGeoIndex(repository, 0.5, 4096, map);
+
+        // Jobs 300 km away are only gathered from nodes within the reach, so the radius stops there
+        double degreesPerKm = 1.0 / 111.195;
+        assertThat(index.findCandidateIds(BigDecimal.valueOf(lat + 150 * degreesPerKm), BigDecimal.valueOf(lon), true))
+                .containsExactly(1L);
+        assertThat(index.findCandidateIds(BigDecimal.valueOf(lat + 300 * degreesPerKm), BigDecimal.valueOf(lon), true))
+                .isEmpty();
+    }
+
+    /*
+      One node: the rows it owns in its snapshot and geo index
+     */
+    private ShardScoringService node(ShardMap shardMap, List<CandidateSnapshot.Row> rows, ShardClient client) {
+        return node(shardMap, rows, client, new SyncTaskExecutor());
+    }
+
+    private ShardScoringService node(ShardMap shardMap, List<CandidateSnapshot.Row> rows, ShardClient client,
+                                     TaskExecutor requests) {
+        List<CandidateSnapshot.Row> local = new ArrayList<>();
+        List<ProfessionalLocationView> locations = new ArrayList<>();
+        for (CandidateSnapshot.Row row : rows) {
+            CandidateSnapshot one = CandidateSnapshot.build(List.of(row));
+            BigDecimal lat = BigDecimal.valueOf(one.latitude(0));
+            BigDecimal lon = BigDecimal.valueOf(one.longitude(0));
+            if (shardMap.ownsProfessional(lat, lon)) {
+                local.add(row);
+            }
+            locations.add(location(row.getId(), lat, lon, one.serviceRadiusKm(0), one.verified(0)));
+        }
+        ProfessionalRepository repository = mock(ProfessionalRepository.class);
+        when(repository.findAllLocations()).thenReturn(locations);
+        CandidateSnapshotService snapshots = mock(CandidateSnapshotService.class);
+        when(snapshots.current()).thenReturn(CandidateSnapshot.build(local));
+
+        MatchingEngine engine = new MatchingEngine();
+        return new ShardScoringService(shardMap, client, snapshots,
+                new ProfessionalGeoIndex(repository, 0.5, 4096, shardMap),
+                new CandidateScorer(engine, pool, false, 1, 64), engine, requests);
+    }
+
+    private static double latitude(List<CandidateSnapshot.Row> rows, ShardCandidateDto candidate) {
+        return CandidateSnapshot.build(List.of(rows.get(candidate.getProfessionalId().intValue() - 1))).latitude(0);
+    }
+
+    private static double longitude(List<CandidateSnapshot.Row> rows, ShardCandidateDto candidate) {
+        return CandidateSnapshot.build(List.of(rows.get(candidate.getProfessionalId().intValue() - 1))).longitude(0);
+    }
+
+    private static List<CandidateSnapshot.Row> randomRows(int count, LocalDate today) {
+        Random random = new Random(7);
+        List<CandidateSnapshot.Row> rows = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            CandidateSnapshot.Row row = new CandidateSnapshot.Row(id).profile(
+                    BigDecimal.valueOf(5.0 + random.nextDouble() * 4), BigDecimal.valueOf(2.0 + random.nextDouble() * 4),
+                    50 + random.nextInt(150), BigDecimal.valueOf(30 + random.nextInt(150)),
+                    BigDecimal.valueOf(random.nextInt(500), 2), random.nextInt(40), random.nextInt(5) > 0);
+            row.addExpertise(JobType.values()[random.nextInt(JobType.values().length)].name(),
+                    random.nextInt(15), random.nextBoolean() ? "cert" : null);
+            for (int s = random.nextInt(6); s > 0; s--) {
+                row.addSlot(today.plusDays(random.nextInt(30)), random.nextInt(4) == 0);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static ProfessionalLocationView location(Long id, BigDecimal latitude, BigDecimal longitude, int radiusKm,
+                                                     boolean verified) {
+        return new ProfessionalLocationView() {
+            public Long getId() { return id; }
+            public BigDecimal getLatitude() { return latitude; }
+            public BigDecimal getLongitude() { return longitude; }
+            public Integer getServiceRadiusKm() { return radiusKm; }
+            public Boolean getIsVerified() { return verified; }
+        };
+    }
+}
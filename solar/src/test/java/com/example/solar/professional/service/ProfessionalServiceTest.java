@@ -0,0 +1,77 @@
+package com.example.solar.professional.service;
+
+import com.example.solar.common.exception.ValidationException;
+import com.example.solar.professional.domain.ExpertiseType;
+import com.example.solar.professional.domain.Professional;
+import com.example.solar.professional.domain.ProfessionalChangedEvent;
+import com.example.solar.professional.domain.ProfessionalExpertise;
+import com.example.solar.professional.dto.AddExpertiseRequest;
+import com.example.solar.professional.dto.ExpertiseDto;
+import com.example.solar.professional.repository.AvailabilitySlotRepository;
+import com.example.solar.professional.repository.ProfessionalExpertiseRepository;
+import com.example.solar.professional.repository.ProfessionalRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProfessionalServiceTest {
+
+    private final ProfessionalRepository professionalRepository = mock(ProfessionalRepository.class);
+    private final ProfessionalExpertiseRepository expertiseRepository = mock(ProfessionalExpertiseRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final ProfessionalService service = new ProfessionalService(professionalRepository, expertiseRepository,
+            mock(AvailabilitySlotRepository.class), eventPublisher);
+
+    @Test
+    void expertiseCodesParseIgnoringCaseAndSurroundingWhitespace() {
+        assertThat(ExpertiseType.fromCode("PANEL_INSTALLATION")).isEqualTo(ExpertiseType.PANEL_INSTALLATION);
+        assertThat(ExpertiseType.fromCode("  battery_setup\t")).isEqualTo(ExpertiseType.BATTERY_SETUP);
+        assertThat(ExpertiseType.fromCode("Inspection")).isEqualTo(ExpertiseType.INSPECTION);
+        assertThat(ExpertiseType.fromCode("panel installation")).isNull();
+        assertThat(ExpertiseType.fromCode("")).isNull();
+        assertThat(ExpertiseType.fromCode(null)).isNull();
+    }
+
+    @Test
+    void addExpertiseStoresTheCanonicalCode() {
+        Professional professional = Professional.builder().id(7L).build();
+        when(professionalRepository.findById(7L)).thenReturn(Optional.of(professional));
+        when(expertiseRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ExpertiseDto added = service.addExpertise(7L, AddExpertiseRequest.builder()
+                .expertiseType(" maintenance ")
+                .yearsExperience(4)
+                .build());
+
+        assertThat(added.getExpertiseType()).isEqualTo("MAINTENANCE");
+        verify(expertiseRepository).save(argThat(
+                (ProfessionalExpertise expertise) -> "MAINTENANCE".equals(expertise.getExpertiseType())));
+        verify(eventPublisher).publishEvent(
+                new ProfessionalChangedEvent(7L, ProfessionalChangedEvent.ChangeType.EXPERTISE_ADDED));
+        // The snapshot watermark only sees child rows through the parent's updated_at
+        assertThat(professional.getUpdatedAt()).isNotNull();
+    }
+
+    @Test
+    void addExpertiseRejectsUnknownCodes() {
+        when(professionalRepository.findById(7L)).thenReturn(Optional.of(Professional.builder().id(7L).build()));
+
+        assertThatThrownBy(() -> service.addExpertise(7L, AddExpertiseRequest.builder()
+                .expertiseType("solar wizardry")
+                .build()))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("PANEL_INSTALLATION");
+        verify(expertiseRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+}